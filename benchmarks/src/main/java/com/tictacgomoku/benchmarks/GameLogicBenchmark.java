@@ -0,0 +1,84 @@
+package com.tictacgomoku.benchmarks;
+
+import com.tictacgomoku.ai.MoveGenerator;
+import com.tictacgomoku.model.GameLogic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 游戏逻辑基准测试
+ * makeMove包含井字棋落子、五子棋落子以及determineNextPosition的下一步计算，
+ * 每次调用后用undoMove回到固定的中局局面
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameLogicBenchmark {
+    
+    /**
+     * 到达基准局面前的随机着法数
+     */
+    @Param({"0", "300"})
+    public int prefix;
+    
+    private final int[] buffer = new int[MoveGenerator.MAX_MOVES];
+    private GameLogic game;
+    private int[] moves;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        game = new GameLogic();
+        for (int i = 0; i < prefix; i++) {
+            int count = MoveGenerator.generate(game, buffer);
+            if (count == 0) {
+                // 无处可下（平局），退回一步结束前缀，保证基准局面还有合法着法
+                game.undoMove();
+                break;
+            }
+            MoveGenerator.apply(game, buffer[random.nextInt(count)]);
+            if (game.isGameOver()) {
+                game.undoMove();
+            }
+        }
+        moves = Arrays.copyOf(buffer, MoveGenerator.generate(game, buffer));
+    }
+    
+    /**
+     * 执行并撤销一步完整着法
+     */
+    @Benchmark
+    public boolean makeMoveUndo() {
+        int code = moves[next];
+        next = next + 1 == moves.length ? 0 : next + 1;
+        boolean moved = MoveGenerator.apply(game, code);
+        game.undoMove();
+        return moved;
+    }
+    
+    /**
+     * 生成当前局面的全部合法着法
+     */
+    @Benchmark
+    public int generateMoves() {
+        return MoveGenerator.generate(game, buffer);
+    }
+}
@@ -0,0 +1,93 @@
+package com.tictacgomoku.benchmarks;
+
+import com.tictacgomoku.model.GomokuBoard;
+import com.tictacgomoku.model.Player;
+import com.tictacgomoku.model.Position;
+import com.tictacgomoku.util.GameConstants;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 五子棋盘基准测试
+ * placeStone包含胜负检测，每次调用后用removeStone撤销，使棋盘保持在固定的中局状态
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GomokuBoardBenchmark {
+    
+    /**
+     * 预先放置的棋子数
+     */
+    @Param({"0", "40", "100"})
+    public int stones;
+    
+    private GomokuBoard board;
+    private Position[] emptyPositions;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        board = new GomokuBoard();
+        SplittableRandom random = new SplittableRandom(42);
+        int size = GameConstants.GOMOKU_BOARD_SIZE;
+        int placed = 0;
+        while (placed < stones) {
+            Position pos = Position.of(random.nextInt(size), random.nextInt(size));
+            Player player = placed % 2 == 0 ? Player.BLACK : Player.WHITE;
+            if (!board.placeStone(pos, player)) {
+                continue;
+            }
+            if (board.isFinished()) {
+                board.removeStone(pos);
+                continue;
+            }
+            placed++;
+        }
+        
+        List<Position> empty = new ArrayList<>();
+        for (int index = 0; index < size * size; index++) {
+            Position pos = Position.ofIndex(index);
+            if (board.getStone(pos) == null) {
+                empty.add(pos);
+            }
+        }
+        emptyPositions = empty.toArray(new Position[0]);
+    }
+    
+    /**
+     * 落子并检测五连，随后撤销
+     */
+    @Benchmark
+    public boolean placeStoneCheckWin() {
+        Position pos = emptyPositions[next];
+        next = next + 1 == emptyPositions.length ? 0 : next + 1;
+        board.placeStone(pos, Player.BLACK);
+        boolean finished = board.isFinished();
+        board.removeStone(pos);
+        return finished;
+    }
+    
+    @Benchmark
+    public List<Position> getAvailablePositions() {
+        return board.getAvailablePositions();
+    }
+}
@@ -0,0 +1,62 @@
+package com.tictacgomoku.benchmarks;
+
+import com.tictacgomoku.ai.MoveGenerator;
+import com.tictacgomoku.model.GameLogic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 随机对局基准测试
+ * 从新游戏开始随机落子直到结束，对应MCTS模拟和自对弈的主要开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayoutBenchmark {
+    private final GameLogic game = new GameLogic();
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private final SplittableRandom random = new SplittableRandom(42);
+    
+    /**
+     * 使用makeMove进行一局完整随机对局
+     * @return 对局步数
+     */
+    @Benchmark
+    public int randomPlayout() {
+        game.newGame();
+        int plies = 0;
+        int count;
+        while ((count = MoveGenerator.generate(game, moves)) > 0) {
+            MoveGenerator.apply(game, moves[random.nextInt(count)]);
+            plies++;
+        }
+        return plies;
+    }
+    
+    /**
+     * 随机对局到结束后逐步悔棋回到开局，衡量搜索中make/unmake的往返开销
+     * @return 对局步数
+     */
+    @Benchmark
+    public int randomPlayoutWithUndo() {
+        int plies = randomPlayout();
+        while (game.undoMove()) {
+            // 回退到开局
+        }
+        return plies;
+    }
+}
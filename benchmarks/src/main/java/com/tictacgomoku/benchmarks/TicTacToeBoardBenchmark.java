@@ -0,0 +1,71 @@
+package com.tictacgomoku.benchmarks;
+
+import com.tictacgomoku.model.Player;
+import com.tictacgomoku.model.Position;
+import com.tictacgomoku.model.TicTacToeBoard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 井字棋盘基准测试
+ * 按预先生成的随机顺序落子，棋局结束后重置，覆盖胜负判定和平局判定
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TicTacToeBoardBenchmark {
+    private static final int SEQUENCES = 1024;
+    
+    private final TicTacToeBoard board = new TicTacToeBoard();
+    private Position[][] sequences;
+    private int sequence;
+    private int step;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        sequences = new Position[SEQUENCES][9];
+        for (int s = 0; s < SEQUENCES; s++) {
+            int[] cells = {0, 1, 2, 3, 4, 5, 6, 7, 8};
+            for (int i = cells.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = cells[i];
+                cells[i] = cells[j];
+                cells[j] = tmp;
+            }
+            for (int i = 0; i < 9; i++) {
+                sequences[s][i] = Position.of(cells[i] / 3, cells[i] % 3);
+            }
+        }
+    }
+    
+    /**
+     * 执行一步井字棋着法
+     */
+    @Benchmark
+    public boolean makeMove() {
+        Player player = (step & 1) == 0 ? Player.BLACK : Player.WHITE;
+        boolean moved = board.makeMove(sequences[sequence][step++], player);
+        if (board.isFinished()) {
+            board.reset();
+            step = 0;
+            sequence = (sequence + 1) & (SEQUENCES - 1);
+        }
+        return moved;
+    }
+}
@@ -5,7 +5,7 @@ REM 创建目标目录
 if not exist "target\classes" mkdir target\classes
 
 REM 编译Java源文件
-javac -d target/classes -cp src/main/java src/main/java/com/tictacgomoku/*.java src/main/java/com/tictacgomoku/model/*.java src/main/java/com/tictacgomoku/view/*.java src/main/java/com/tictacgomoku/util/*.java
+javac -d target/classes -cp src/main/java src/main/java/com/tictacgomoku/*.java src/main/java/com/tictacgomoku/model/*.java src/main/java/com/tictacgomoku/view/*.java src/main/java/com/tictacgomoku/util/*.java src/main/java/com/tictacgomoku/ai/*.java src/main/java/com/tictacgomoku/sim/*.java src/main/java/com/tictacgomoku/io/*.java src/main/java/com/tictacgomoku/tournament/*.java src/main/java/com/tictacgomoku/book/*.java
 
 if %ERRORLEVEL% EQU 0 (
     echo Compilation successful!
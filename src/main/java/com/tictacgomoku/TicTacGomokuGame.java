@@ -1,5 +1,6 @@
 package com.tictacgomoku;
 
+import com.tictacgomoku.view.BoardView;
 import com.tictacgomoku.view.GameWindow;
 import com.tictacgomoku.util.GameConstants;
 
@@ -16,6 +17,9 @@ public class TicTacGomokuGame {
      * @param args 命令行参数
      */
     public static void main(String[] args) {
+        // 解析命令行参数
+        parseArguments(args);
+        
         // 设置系统属性，确保更好的UI显示
         setupSystemProperties();
         
@@ -32,6 +36,24 @@ public class TicTacGomokuGame {
         });
     }
     
+    /**
+     * 解析命令行参数
+     * 支持 --renderer=panels|canvas 选择棋盘渲染方式（等同于 -Dtictacgomoku.renderer）
+     * @param args 命令行参数
+     */
+    private static void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--renderer=")) {
+                System.setProperty(BoardView.RENDERER_PROPERTY, arg.substring("--renderer=".length()));
+            } else if (arg.equals("--renderer") && i + 1 < args.length) {
+                System.setProperty(BoardView.RENDERER_PROPERTY, args[++i]);
+            } else {
+                System.err.println("忽略未知参数: " + arg);
+            }
+        }
+    }
+    
     /**
      * 设置系统属性
      */
@@ -0,0 +1,447 @@
+package com.tictacgomoku.ai;
+
+import com.tictacgomoku.book.OpeningBook;
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.GomokuBoard;
+import com.tictacgomoku.model.Move;
+import com.tictacgomoku.model.Player;
+import com.tictacgomoku.model.Position;
+import com.tictacgomoku.model.Symmetry;
+import com.tictacgomoku.model.TicTacToeBoard;
+import com.tictacgomoku.util.GameConstants;
+
+/**
+ * 基于Alpha-Beta剪枝的搜索AI
+ * 使用负极大值搜索和迭代加深，在给定的每步思考时间内返回已完成的最深一层搜索结果。
+ * 搜索树中的每一步都通过GameLogic.makeMove执行、GameLogic.undoMove回退，因此完整模拟了
+ * 井字棋落子决定对手战场的路由规则，且整个搜索只在根节点复制一次局面。
+ * 自由选择时合法着法可达上千个，因此每个节点只展开排序后得分最高的若干着法（选择性搜索）。
+ * 搜索结果写入置换表，置换表可以在多个搜索器之间共享。
+ * 设置了开局库时，搜索前先查询当前局面，库中有统计可靠的着法就直接采用。
+ * 搜索前先用威胁空间求解器（ThreatSpaceSolver）在一小部分思考时间内尝试证明必胜，证明成功就不再搜索
+ */
+public class AlphaBetaPlayer implements PlayerStrategy {
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 200;
+    
+    private static final int MAX_DEPTH = 32;
+    private static final int ROOT_BRANCHING = 40;
+    private static final int NODE_BRANCHING = 12;
+    private static final int INFINITY = BoardEvaluator.WIN_SCORE + 1;
+    // 每搜索多少个节点检查一次时间
+    private static final int TIME_CHECK_INTERVAL = 32;
+    // 威胁空间求解最多使用的思考时间比例（1/N）
+    private static final int SOLVER_TIME_DIVISOR = 4;
+    
+    // 着法排序分数
+    private static final int ORDER_WIN_BOARD = 10000;
+    private static final int ORDER_BLOCK_BOARD = 5000;
+    private static final int ORDER_GIVE_FREE_CHOICE = -500;
+    private static final int ORDER_SEND_TO_THREAT = -300;
+    
+    private final long timeBudgetMillis;
+    private final TranspositionTable transpositionTable;
+    private final int[][] moveBuffers;
+    private final int[][] scoreBuffers;
+    private final ThreatSpaceSolver threatSolver = new ThreatSpaceSolver();
+    private final long[] symmetryKeys = new long[Symmetry.COUNT];  // 查询规范化开局库时复用
+    private OpeningBook openingBook;
+    private int bookMinGames;
+    
+    private long deadline;
+    private boolean aborted;
+    private long nodeCount;
+    private int completedDepth;
+    private int provenWinDepth;
+    
+    /**
+     * 使用默认思考时间创建AI
+     */
+    public AlphaBetaPlayer() {
+        this(DEFAULT_TIME_BUDGET_MILLIS);
+    }
+    
+    /**
+     * 构造函数
+     * @param timeBudgetMillis 每步思考时间（毫秒）
+     */
+    public AlphaBetaPlayer(long timeBudgetMillis) {
+        this(timeBudgetMillis, new TranspositionTable());
+    }
+    
+    /**
+     * 使用指定置换表创建AI（多个搜索器可以共享同一个置换表）
+     * @param timeBudgetMillis 每步思考时间（毫秒）
+     * @param transpositionTable 置换表
+     */
+    public AlphaBetaPlayer(long timeBudgetMillis, TranspositionTable transpositionTable) {
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("思考时间必须为正数: " + timeBudgetMillis);
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.transpositionTable = transpositionTable;
+        this.moveBuffers = new int[MAX_DEPTH + 1][MoveGenerator.MAX_MOVES];
+        this.scoreBuffers = new int[MAX_DEPTH + 1][MoveGenerator.MAX_MOVES];
+    }
+    
+    /**
+     * 设置开局库（开局库可以在多个搜索器之间共享）
+     * @param openingBook 开局库，为null时不使用
+     * @param minGames 采用库中着法所需的最少对局数
+     */
+    public void setOpeningBook(OpeningBook openingBook, int minGames) {
+        this.openingBook = openingBook;
+        this.bookMinGames = minGames;
+    }
+    
+    @Override
+    public Move chooseMove(GameLogic gameLogic) {
+        int bookMove = probeOpeningBook(gameLogic);
+        provenWinDepth = 0;
+        if (bookMove >= 0) {
+            nodeCount = 0;
+            completedDepth = 0;
+            return MoveGenerator.toMove(bookMove);
+        }
+        
+        GameLogic root = gameLogic.copy();
+        transpositionTable.newSearch();
+        int[] rootMoves = moveBuffers[0];
+        int count = orderMoves(root, rootMoves, scoreBuffers[0], ROOT_BRANCHING, -1);
+        nodeCount = 0;
+        completedDepth = 0;
+        if (count == 0) {
+            return null;
+        }
+        if (count == 1) {
+            return MoveGenerator.toMove(rootMoves[0]);
+        }
+        
+        long start = System.nanoTime();
+        deadline = start + timeBudgetMillis * 1_000_000L;
+        int forcedWin = threatSolver.solve(root, start + timeBudgetMillis * 1_000_000L / SOLVER_TIME_DIVISOR);
+        if (forcedWin >= 0) {
+            provenWinDepth = threatSolver.getProvenDepth();
+            nodeCount = threatSolver.getNodeCount();
+            return MoveGenerator.toMove(forcedWin);
+        }
+        aborted = false;
+        int bestMove = rootMoves[0];
+        
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            int alpha = -INFINITY;
+            int iterationBest = -1;
+            int iterationBestIndex = -1;
+            
+            for (int i = 0; i < count; i++) {
+                MoveGenerator.apply(root, rootMoves[i]);
+                int score = -negamax(root, depth - 1, -INFINITY, -alpha, 1);
+                root.undoMove();
+                if (aborted) {
+                    break;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = rootMoves[i];
+                    iterationBestIndex = i;
+                }
+            }
+            
+            // 上一层的最佳着法总是最先搜索，因此即使本层被中断，已找到的更优着法也可以采用
+            if (iterationBest >= 0) {
+                bestMove = iterationBest;
+                moveToFront(rootMoves, iterationBestIndex);
+            }
+            if (aborted) {
+                break;
+            }
+            completedDepth = depth;
+            if (Math.abs(alpha) >= BoardEvaluator.WIN_SCORE - MAX_DEPTH) {
+                break; // 已找到必胜或必败的结果
+            }
+        }
+        
+        return MoveGenerator.toMove(bestMove);
+    }
+    
+    /**
+     * 查询开局库
+     * 库以64位哈希为键，采用前确认着法在当前局面合法，排除哈希冲突
+     * @param gameLogic 当前游戏
+     * @return 库中的着法编码，没有可用着法时返回-1
+     */
+    private int probeOpeningBook(GameLogic gameLogic) {
+        if (openingBook == null) {
+            return -1;
+        }
+        int bookMove = openingBook.bestMove(gameLogic, bookMinGames, symmetryKeys);
+        if (bookMove < 0) {
+            return -1;
+        }
+        int[] moves = moveBuffers[0];
+        int count = MoveGenerator.generate(gameLogic, moves);
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == bookMove) {
+                return bookMove;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 负极大值搜索
+     * @param node 当前局面（返回时恢复原状）
+     * @param depth 剩余深度
+     * @param alpha 下界
+     * @param beta 上界
+     * @param ply 距根节点的步数
+     * @return 从当前行棋方角度的局面分数
+     */
+    private int negamax(GameLogic node, int depth, int alpha, int beta, int ply) {
+        if ((++nodeCount & (TIME_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        
+        // 游戏只会因上一步连成五子而结束，即当前行棋方已经输了
+        if (node.isGameOver()) {
+            return -(BoardEvaluator.WIN_SCORE - ply);
+        }
+        
+        long key = node.getZobristKey();
+        int originalAlpha = alpha;
+        int tableMove = -1;
+        long entry = transpositionTable.probe(key);
+        if (entry != TranspositionTable.NO_ENTRY) {
+            tableMove = TranspositionTable.moveOf(entry);
+            if (TranspositionTable.depthOf(entry) >= depth) {
+                int score = fromTableScore(TranspositionTable.scoreOf(entry), ply);
+                int bound = TranspositionTable.boundOf(entry);
+                if (bound == TranspositionTable.BOUND_EXACT) {
+                    return score;
+                } else if (bound == TranspositionTable.BOUND_LOWER) {
+                    alpha = Math.max(alpha, score);
+                } else {
+                    beta = Math.min(beta, score);
+                }
+                if (alpha >= beta) {
+                    return score;
+                }
+            }
+        }
+        
+        if (depth == 0 || ply >= MAX_DEPTH) {
+            if (!MoveGenerator.hasMoves(node)) {
+                return 0; // 无处可下，平局
+            }
+            return BoardEvaluator.evaluate(node, node.getGameState().getCurrentPlayer());
+        }
+        
+        int[] moves = moveBuffers[ply];
+        int count = orderMoves(node, moves, scoreBuffers[ply], NODE_BRANCHING, tableMove);
+        if (count == 0) {
+            return 0;
+        }
+        
+        int best = -INFINITY;
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
+            MoveGenerator.apply(node, moves[i]);
+            int score = -negamax(node, depth - 1, -beta, -alpha, ply + 1);
+            node.undoMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = moves[i];
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        
+        int bound = best <= originalAlpha ? TranspositionTable.BOUND_UPPER
+                : best >= beta ? TranspositionTable.BOUND_LOWER : TranspositionTable.BOUND_EXACT;
+        transpositionTable.store(key, toTableScore(best, ply), bestMove, depth, bound);
+        return best;
+    }
+    
+    /**
+     * 将胜负分数转换为相对当前节点的形式后存入置换表，使其与到达该节点的路径长度无关
+     * @param score 相对根节点的分数
+     * @param ply 距根节点的步数
+     * @return 存入置换表的分数
+     */
+    private static int toTableScore(int score, int ply) {
+        if (score >= BoardEvaluator.WIN_SCORE - MAX_DEPTH) {
+            return score + ply;
+        }
+        if (score <= -(BoardEvaluator.WIN_SCORE - MAX_DEPTH)) {
+            return score - ply;
+        }
+        return score;
+    }
+    
+    /**
+     * 将置换表中的分数还原为相对根节点的形式
+     * @param score 置换表中的分数
+     * @param ply 距根节点的步数
+     * @return 相对根节点的分数
+     */
+    private static int fromTableScore(int score, int ply) {
+        if (score >= BoardEvaluator.WIN_SCORE - MAX_DEPTH) {
+            return score - ply;
+        }
+        if (score <= -(BoardEvaluator.WIN_SCORE - MAX_DEPTH)) {
+            return score + ply;
+        }
+        return score;
+    }
+    
+    /**
+     * 生成着法并按启发式分数排序，只保留前limit个
+     * @param node 当前局面
+     * @param moves 着法缓冲区
+     * @param scores 分数缓冲区
+     * @param limit 保留的最大着法数
+     * @param tableMove 置换表中的最佳着法，总是排在最前；没有时为-1
+     * @return 保留的着法数
+     */
+    private int orderMoves(GameLogic node, int[] moves, int[] scores, int limit, int tableMove) {
+        int count = MoveGenerator.generate(node, moves);
+        Player player = node.getGameState().getCurrentPlayer();
+        GomokuBoard board = node.getGomokuBoard();
+        for (int i = 0; i < count; i++) {
+            scores[i] = moves[i] == tableMove ? Integer.MAX_VALUE : orderScore(board, moves[i], player);
+        }
+        
+        // 部分选择排序：只需要前limit个着法有序
+        int kept = Math.min(count, limit);
+        for (int i = 0; i < kept; i++) {
+            int bestIndex = i;
+            for (int j = i + 1; j < count; j++) {
+                if (scores[j] > scores[bestIndex]) {
+                    bestIndex = j;
+                }
+            }
+            swap(moves, i, bestIndex);
+            swap(scores, i, bestIndex);
+        }
+        return kept;
+    }
+    
+    /**
+     * 计算着法的排序分数
+     * 赢下井字棋（获得大棋盘棋子）和阻止对手赢下井字棋的着法优先；
+     * 把对手送到可自由选择或对手能立即赢下的井字棋的着法靠后
+     * @param board 五子棋盘
+     * @param code 着法编码
+     * @param player 行棋方
+     * @return 排序分数
+     */
+    private int orderScore(GomokuBoard board, int code, Player player) {
+        Player opponent = player.getOpponent();
+        Position pos = Position.ofIndex(MoveGenerator.gomokuIndex(code));
+        int cell = MoveGenerator.ticTacToeIndex(code);
+        TicTacToeBoard ticTacToe = board.getTicTacToeBoard(pos);
+        
+        int score = 0;
+        boolean finishesBoard = ticTacToe.getMoveCount() == 8;
+        if (ticTacToe.isWinningMove(cell, player)) {
+            score += ORDER_WIN_BOARD + 100 * BoardEvaluator.cellWeight(board, pos, player);
+            finishesBoard = true;
+        } else if (ticTacToe.isWinningMove(cell, opponent)) {
+            score += ORDER_BLOCK_BOARD + 100 * BoardEvaluator.cellWeight(board, pos, opponent);
+        }
+        
+        int[] direction = GameConstants.TICTACTOE_TO_DIRECTION[cell];
+        Position target = pos.offset(direction[0], direction[1]);
+        if (!board.isValidPosition(target) || !board.canStartTicTacToe(target)
+                || (finishesBoard && target.equals(pos))) {
+            score += ORDER_GIVE_FREE_CHOICE;
+        } else if (hasWinningCell(board.getTicTacToeBoard(target), opponent)) {
+            score += ORDER_SEND_TO_THREAT * BoardEvaluator.cellWeight(board, target, opponent);
+        }
+        return score;
+    }
+    
+    /**
+     * 检查玩家能否在井字棋上一步获胜
+     * @param ticTacToe 井字棋盘
+     * @param player 玩家
+     * @return 如果存在直接获胜的格子返回true
+     */
+    private static boolean hasWinningCell(TicTacToeBoard ticTacToe, Player player) {
+        int legal = ticTacToe.getLegalMoveMask();
+        while (legal != 0) {
+            int cell = Integer.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            if (ticTacToe.isWinningMove(cell, player)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static void moveToFront(int[] values, int index) {
+        int value = values[index];
+        System.arraycopy(values, 0, values, 1, index);
+        values[0] = value;
+    }
+    
+    private static void swap(int[] values, int i, int j) {
+        int tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+    
+    /**
+     * 获取每步思考时间
+     * @return 思考时间（毫秒）
+     */
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+    
+    /**
+     * 获取置换表
+     * @return 搜索使用的置换表
+     */
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+    
+    /**
+     * 获取上一次搜索完成的深度
+     * @return 完整搜索完成的最大深度
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+    
+    /**
+     * 获取上一次搜索中威胁空间求解器证明必胜所用的己方步数
+     * @return 步数，未证明必胜时为0
+     */
+    public int getProvenWinDepth() {
+        return provenWinDepth;
+    }
+    
+    /**
+     * 获取上一次搜索的节点数
+     * @return 节点数
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+    
+    @Override
+    public String getName() {
+        return "AlphaBeta(" + timeBudgetMillis + "ms)";
+    }
+}
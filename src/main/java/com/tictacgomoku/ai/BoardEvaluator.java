@@ -0,0 +1,157 @@
+package com.tictacgomoku.ai;
+
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.GomokuBoard;
+import com.tictacgomoku.model.Player;
+import com.tictacgomoku.model.Position;
+import com.tictacgomoku.model.TicTacToeBoard;
+import com.tictacgomoku.model.TicTacToeSolver;
+import com.tictacgomoku.util.GameConstants;
+
+/**
+ * 局面评估器
+ * 同时评估五子棋大棋盘（连子窗口）和每个仍在进行的井字棋小棋盘
+ */
+public class BoardEvaluator {
+    // 获胜分数，远大于任何启发式评估值
+    public static final int WIN_SCORE = 1_000_000;
+    
+    // 只含一方棋子的五格窗口按棋子数计分（下标为棋子数）
+    private static final int[] WINDOW_SCORES = {0, 2, 20, 200, 4000, WIN_SCORE};
+    // 井字棋中已有两子、一子的潜在连线得分
+    private static final int LOCAL_TWO_SCORE = 6;
+    private static final int LOCAL_ONE_SCORE = 1;
+    // 井字棋理论上先走必胜、以及后走也必胜时各加的分数
+    private static final int LOCAL_FORCED_SCORE = 8;
+    
+    // 四条连线方向：横、竖、主对角线、副对角线
+    private static final int[][] LINE_DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private BoardEvaluator() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 从指定玩家的角度评估局面
+     * @param gameLogic 游戏
+     * @param player 评估视角的玩家
+     * @return 评估分数，正数表示对该玩家有利
+     */
+    public static int evaluate(GameLogic gameLogic, Player player) {
+        GomokuBoard board = gameLogic.getGomokuBoard();
+        return evaluateMacro(board, player) + evaluateMicro(board, player);
+    }
+    
+    /**
+     * 评估五子棋大棋盘：只含一方棋子的五格窗口按棋子数计分
+     * 包含平局井字棋（永久空位）的窗口无法连成五子，不计分
+     * 活三、活四会同时出现在多个窗口中，因此自然获得更高的分数。
+     * 窗口计数由GomokuBoard增量维护，评估只需读取每种棋子数的计数
+     * @param board 五子棋盘
+     * @param player 评估视角的玩家
+     * @return 大棋盘评估分数
+     */
+    private static int evaluateMacro(GomokuBoard board, Player player) {
+        Player opponent = player.getOpponent();
+        int score = 0;
+        for (int stones = 1; stones <= GameConstants.WIN_CONDITION; stones++) {
+            score += (board.getOpenWindowCount(player, stones) - board.getOpenWindowCount(opponent, stones))
+                    * WINDOW_SCORES[stones];
+        }
+        return score;
+    }
+    
+    /**
+     * 评估所有仍在进行的井字棋：潜在连线越多，越有机会赢下该格；
+     * 按求解表轮到自己走就能赢下的井字棋额外加分，轮到对手走也能赢下的再加一次
+     * 井字棋的价值按其在大棋盘上对双方的重要程度加权
+     * @param board 五子棋盘
+     * @param player 评估视角的玩家
+     * @return 小棋盘评估分数
+     */
+    private static int evaluateMicro(GomokuBoard board, Player player) {
+        Player opponent = player.getOpponent();
+        int score = 0;
+        
+        for (int row = 0; row < GameConstants.GOMOKU_BOARD_SIZE; row++) {
+            for (int col = 0; col < GameConstants.GOMOKU_BOARD_SIZE; col++) {
+                Position pos = Position.of(row, col);
+                TicTacToeBoard ticTacToe = board.getTicTacToeBoard(pos);
+                if (ticTacToe.isFinished() || ticTacToe.getMoveCount() == 0) {
+                    continue;
+                }
+                int code = ticTacToe.getPositionCode();
+                int ownLocal = ticTacToe.countOpenLines(player, 2) * LOCAL_TWO_SCORE
+                        + ticTacToe.countOpenLines(player, 1) * LOCAL_ONE_SCORE
+                        + forcedScore(code, player);
+                int opponentLocal = ticTacToe.countOpenLines(opponent, 2) * LOCAL_TWO_SCORE
+                        + ticTacToe.countOpenLines(opponent, 1) * LOCAL_ONE_SCORE
+                        + forcedScore(code, opponent);
+                score += ownLocal * cellWeight(board, pos, player)
+                        - opponentLocal * cellWeight(board, pos, opponent);
+            }
+        }
+        return score;
+    }
+    
+    /**
+     * 按求解表计算玩家能强制赢下井字棋的程度
+     * @param code 井字棋局面编号
+     * @param player 玩家
+     * @return 轮到该玩家走时必胜、轮到对手走时也必胜各得LOCAL_FORCED_SCORE
+     */
+    private static int forcedScore(int code, Player player) {
+        int score = 0;
+        if (TicTacToeSolver.result(code, player) == TicTacToeSolver.WIN) {
+            score += LOCAL_FORCED_SCORE;
+        }
+        if (TicTacToeSolver.result(code, player.getOpponent()) == TicTacToeSolver.LOSS) {
+            score += LOCAL_FORCED_SCORE;
+        }
+        return score;
+    }
+    
+    /**
+     * 计算某个五子棋格子对指定玩家的重要程度
+     * 以在该格落子后四个方向上能连成的最长连子数衡量
+     * @param board 五子棋盘
+     * @param pos 格子位置
+     * @param player 玩家
+     * @return 权重，至少为1
+     */
+    public static int cellWeight(GomokuBoard board, Position pos, Player player) {
+        int best = 1;
+        for (int[] direction : LINE_DIRECTIONS) {
+            int run = 1 + countRun(board, pos, direction[0], direction[1], player)
+                    + countRun(board, pos, -direction[0], -direction[1], player);
+            best = Math.max(best, run);
+        }
+        return best * best;
+    }
+    
+    /**
+     * 统计从指定位置沿某方向连续的己方棋子数（不含起点）
+     * @param board 五子棋盘
+     * @param pos 起点
+     * @param dRow 行方向
+     * @param dCol 列方向
+     * @param player 玩家
+     * @return 连续棋子数
+     */
+    private static int countRun(GomokuBoard board, Position pos, int dRow, int dCol, Player player) {
+        int count = 0;
+        int row = pos.getRow() + dRow;
+        int col = pos.getCol() + dCol;
+        while (row >= 0 && row < GameConstants.GOMOKU_BOARD_SIZE
+                && col >= 0 && col < GameConstants.GOMOKU_BOARD_SIZE
+                && board.getStone(Position.of(row, col)) == player) {
+            count++;
+            row += dRow;
+            col += dCol;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,389 @@
+package com.tictacgomoku.ai;
+
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.Move;
+import com.tictacgomoku.model.Player;
+import com.tictacgomoku.model.Position;
+import com.tictacgomoku.model.TicTacToeSolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 蒙特卡洛树搜索AI
+ * 采用根并行：每个工作线程在自己的局面副本上独立建树并进行随机模拟（每次迭代结束后用undoMove回退），
+ * 线程之间除模拟计数外不共享任何可变状态，因此模拟速度随线程数近似线性增长。
+ * 时间用完后合并所有线程根节点的访问次数，选择访问次数最多的着法。
+ * 模拟中被路由到某个井字棋时，从求解表给出的该井字棋最佳着法中随机选择，自由选择时完全随机
+ */
+public class MctsPlayer implements PlayerStrategy {
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 1000;
+    
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final long REPORT_INTERVAL_MILLIS = 100;
+    
+    private final long timeBudgetMillis;
+    private final int threadCount;
+    private final ExecutorService executor;
+    private final AtomicInteger seedSequence;
+    
+    private volatile Consumer<Statistics> progressListener;
+    private volatile Statistics lastStatistics;
+    
+    /**
+     * 使用默认思考时间和全部CPU核心创建AI
+     */
+    public MctsPlayer() {
+        this(DEFAULT_TIME_BUDGET_MILLIS, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * 构造函数
+     * @param timeBudgetMillis 每步思考时间（毫秒）
+     * @param threadCount 搜索线程数
+     */
+    public MctsPlayer(long timeBudgetMillis, int threadCount) {
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("思考时间必须为正数: " + timeBudgetMillis);
+        }
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("线程数必须为正数: " + threadCount);
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.threadCount = threadCount;
+        this.seedSequence = new AtomicInteger();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public Move chooseMove(GameLogic gameLogic) {
+        GameLogic root = gameLogic.copy();
+        int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generate(root, rootMoves);
+        if (count == 0) {
+            return null;
+        }
+        if (count == 1) {
+            return MoveGenerator.toMove(rootMoves[0]);
+        }
+        
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetMillis * 1_000_000L;
+        LongAdder simulations = new LongAdder();
+        
+        List<Future<int[]>> futures = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            long seed = System.nanoTime() ^ ((long) seedSequence.incrementAndGet() << 32);
+            futures.add(executor.submit(new Worker(root.copy(), deadline, simulations, seed)));
+        }
+        
+        int[] visits = new int[MoveGenerator.MAX_MOVES];
+        for (Future<int[]> future : futures) {
+            int[] workerVisits = awaitWorker(future, start, simulations);
+            for (int i = 0; i < visits.length; i++) {
+                visits[i] += workerVisits[i];
+            }
+        }
+        lastStatistics = new Statistics(simulations.sum(), System.nanoTime() - start, threadCount);
+        reportProgress(lastStatistics);
+        
+        int best = rootMoves[0];
+        for (int i = 1; i < count; i++) {
+            if (visits[rootMoves[i]] > visits[best]) {
+                best = rootMoves[i];
+            }
+        }
+        return MoveGenerator.toMove(best);
+    }
+    
+    /**
+     * 等待工作线程结束，等待期间定期报告模拟速度
+     * @param future 工作线程结果
+     * @param start 搜索开始时间
+     * @param simulations 全局模拟计数
+     * @return 该线程根节点各着法的访问次数
+     */
+    private int[] awaitWorker(Future<int[]> future, long start, LongAdder simulations) {
+        while (true) {
+            try {
+                return future.get(REPORT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                reportProgress(new Statistics(simulations.sum(), System.nanoTime() - start, threadCount));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("MCTS搜索被中断", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("MCTS工作线程失败", e.getCause());
+            }
+        }
+    }
+    
+    private void reportProgress(Statistics statistics) {
+        Consumer<Statistics> listener = progressListener;
+        if (listener != null) {
+            listener.accept(statistics);
+        }
+    }
+    
+    /**
+     * 设置搜索进度监听器，搜索期间大约每100毫秒回调一次
+     * @param listener 监听器，为null时不报告
+     */
+    public void setProgressListener(Consumer<Statistics> listener) {
+        this.progressListener = listener;
+    }
+    
+    /**
+     * 获取上一次搜索的统计信息
+     * @return 统计信息，尚未搜索时返回null
+     */
+    public Statistics getLastStatistics() {
+        return lastStatistics;
+    }
+    
+    /**
+     * 关闭搜索线程池，之后不能再调用chooseMove
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+    
+    @Override
+    public String getName() {
+        return "MCTS(" + timeBudgetMillis + "ms," + threadCount + "t)";
+    }
+    
+    /**
+     * 搜索统计信息
+     */
+    public static class Statistics {
+        private final long simulations;
+        private final long elapsedNanos;
+        private final int threads;
+        
+        Statistics(long simulations, long elapsedNanos, int threads) {
+            this.simulations = simulations;
+            this.elapsedNanos = elapsedNanos;
+            this.threads = threads;
+        }
+        
+        public long getSimulations() {
+            return simulations;
+        }
+        
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+        
+        public int getThreads() {
+            return threads;
+        }
+        
+        /**
+         * 获取每秒模拟次数
+         * @return 每秒模拟次数
+         */
+        public double getSimulationsPerSecond() {
+            return elapsedNanos == 0 ? 0 : simulations * 1e9 / elapsedNanos;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("MCTS: %d 次模拟, %.0f 次/秒, %d 线程", simulations, getSimulationsPerSecond(), threads);
+        }
+    }
+    
+    /**
+     * 搜索树节点
+     */
+    private static final class Node {
+        final int move;           // 进入该节点的着法编码，根节点为-1
+        final Node parent;
+        final Player mover;       // 走出该着法的玩家
+        int[] untriedMoves;       // 延迟生成
+        int untriedCount;
+        Node[] children;
+        int childCount;
+        int visits;
+        double wins;              // 从mover角度累计的胜利（平局记0.5）
+        
+        Node(int move, Node parent, Player mover) {
+            this.move = move;
+            this.parent = parent;
+            this.mover = mover;
+        }
+        
+        boolean isExpanded() {
+            return untriedMoves != null;
+        }
+        
+        /**
+         * 生成未尝试的着法
+         * @param state 该节点的局面
+         * @param scratch 工作线程的临时着法缓冲区，只复制实际生成的着法
+         */
+        void expand(GameLogic state, int[] scratch) {
+            untriedCount = MoveGenerator.generate(state, scratch);
+            untriedMoves = Arrays.copyOf(scratch, untriedCount);
+            children = new Node[untriedCount];
+        }
+        
+        Node selectChild() {
+            double logVisits = Math.log(visits);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < childCount; i++) {
+                Node child = children[i];
+                double value = child.wins / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+    
+    /**
+     * 工作线程：在独立的局面副本上建树和模拟
+     */
+    private static final class Worker implements Callable<int[]> {
+        private final GameLogic rootState;
+        private final long deadline;
+        private final LongAdder simulations;
+        private final SplittableRandom random;
+        private final int[] playoutMoves = new int[MoveGenerator.MAX_MOVES];
+        private final int[] expandMoves = new int[MoveGenerator.MAX_MOVES];
+        
+        Worker(GameLogic rootState, long deadline, LongAdder simulations, long seed) {
+            this.rootState = rootState;
+            this.deadline = deadline;
+            this.simulations = simulations;
+            this.random = new SplittableRandom(seed);
+        }
+        
+        @Override
+        public int[] call() {
+            Node root = new Node(-1, null, rootState.getGameState().getCurrentPlayer().getOpponent());
+            root.expand(rootState, expandMoves);
+            
+            // 至少完成一次模拟，保证每个线程都有结果
+            do {
+                runIteration(root);
+                simulations.increment();
+            } while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted());
+            
+            int[] visits = new int[MoveGenerator.MAX_MOVES];
+            for (int i = 0; i < root.childCount; i++) {
+                visits[root.children[i].move] = root.children[i].visits;
+            }
+            return visits;
+        }
+        
+        /**
+         * 一次完整的选择-扩展-模拟-回传
+         * @param root 根节点
+         */
+        private void runIteration(Node root) {
+            GameLogic state = rootState;
+            int historySize = state.getMoveHistorySize();
+            Node node = root;
+            
+            // 选择
+            while (node.isExpanded() && node.untriedCount == 0 && node.childCount > 0) {
+                node = node.selectChild();
+                MoveGenerator.apply(state, node.move);
+            }
+            
+            // 扩展
+            if (!node.isExpanded()) {
+                node.expand(state, expandMoves);
+            }
+            if (node.untriedCount > 0) {
+                int pick = random.nextInt(node.untriedCount);
+                int move = node.untriedMoves[pick];
+                node.untriedMoves[pick] = node.untriedMoves[--node.untriedCount];
+                Player mover = state.getGameState().getCurrentPlayer();
+                MoveGenerator.apply(state, move);
+                Node child = new Node(move, node, mover);
+                node.children[node.childCount++] = child;
+                node = child;
+            }
+            
+            // 模拟
+            Player winner = playout(state);
+            
+            // 回退到根局面
+            while (state.getMoveHistorySize() > historySize) {
+                state.undoMove();
+            }
+            
+            // 回传
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                if (winner == null) {
+                    n.wins += 0.5;
+                } else if (winner == n.mover) {
+                    n.wins += 1.0;
+                }
+            }
+        }
+        
+        /**
+         * 模拟直到游戏结束
+         * @param state 模拟起点局面（会被修改）
+         * @return 获胜者，平局返回null
+         */
+        private Player playout(GameLogic state) {
+            while (!state.isGameOver()) {
+                int count = MoveGenerator.generate(state, playoutMoves);
+                if (count == 0) {
+                    return null;
+                }
+                int move = playoutMoves[random.nextInt(count)];
+                if (!state.getGameState().canChooseFreely()) {
+                    move = pickSolvedMove(state, move);
+                }
+                MoveGenerator.apply(state, move);
+            }
+            return state.getWinner();
+        }
+        
+        /**
+         * 在活跃井字棋的最佳着法中随机选择一个
+         * @param state 当前局面（不能自由选择）
+         * @param fallback 求解表没有给出着法时使用的着法
+         * @return 着法编码
+         */
+        private int pickSolvedMove(GameLogic state, int fallback) {
+            Position active = state.getGameState().getActiveGomokuPosition();
+            int best = TicTacToeSolver.bestMoveMask(state.getGomokuBoard().getTicTacToeBoard(active),
+                                                    state.getGameState().getCurrentPlayer());
+            if (best == 0) {
+                return fallback;
+            }
+            for (int skip = random.nextInt(Integer.bitCount(best)); skip > 0; skip--) {
+                best &= best - 1;
+            }
+            return active.getIndex() * 9 + Integer.numberOfTrailingZeros(best);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.tictacgomoku.ai;
+
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.GameState;
+import com.tictacgomoku.model.GomokuBoard;
+import com.tictacgomoku.model.Move;
+import com.tictacgomoku.model.Position;
+import com.tictacgomoku.model.TicTacToeBoard;
+import com.tictacgomoku.util.GameConstants;
+
+/**
+ * 着法生成器
+ * 按照路由规则生成当前局面下所有合法着法，着法以整数编码以避免创建对象：
+ * 编码 = 五子棋格子序号 * 9 + 井字棋格子序号
+ */
+public class MoveGenerator {
+    // 单个局面最多的合法着法数（225个井字棋 x 9格）
+    public static final int MAX_MOVES = GameConstants.GOMOKU_BOARD_SIZE * GameConstants.GOMOKU_BOARD_SIZE * 9;
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private MoveGenerator() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 生成所有合法着法
+     * 可以自由选择时包含所有可用井字棋的空格，否则只包含活跃井字棋的空格
+     * @param gameLogic 游戏
+     * @param moves 输出缓冲区，长度至少为MAX_MOVES
+     * @return 着法数量
+     */
+    public static int generate(GameLogic gameLogic, int[] moves) {
+        GomokuBoard board = gameLogic.getGomokuBoard();
+        if (board.isFinished()) {
+            return 0;
+        }
+        
+        GameState state = gameLogic.getGameState();
+        if (!state.canChooseFreely()) {
+            Position active = state.getActiveGomokuPosition();
+            if (active == null || !board.canStartTicTacToe(active)) {
+                return 0;
+            }
+            return addBoardMoves(board, active, moves, 0);
+        }
+        
+        int count = 0;
+        int cells = GameConstants.GOMOKU_BOARD_SIZE * GameConstants.GOMOKU_BOARD_SIZE;
+        for (int index = 0; index < cells; index++) {
+            Position pos = Position.ofIndex(index);
+            if (board.canStartTicTacToe(pos)) {
+                count = addBoardMoves(board, pos, moves, count);
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * 检查是否存在合法着法，不生成着法
+     * 非自由选择时活跃井字棋总是可用的，自由选择时只需查看可用位置计数，因此是O(1)的
+     * @param gameLogic 游戏
+     * @return 如果至少有一个合法着法返回true
+     */
+    public static boolean hasMoves(GameLogic gameLogic) {
+        GomokuBoard board = gameLogic.getGomokuBoard();
+        if (board.isFinished()) {
+            return false;
+        }
+        GameState state = gameLogic.getGameState();
+        if (!state.canChooseFreely()) {
+            Position active = state.getActiveGomokuPosition();
+            return active != null && board.canStartTicTacToe(active);
+        }
+        return board.getAvailableCount() > 0;
+    }
+    
+    /**
+     * 添加一个井字棋盘上的所有空格着法
+     * @param board 五子棋盘
+     * @param pos 井字棋所在的五子棋位置
+     * @param moves 输出缓冲区
+     * @param count 当前着法数
+     * @return 添加后的着法数
+     */
+    private static int addBoardMoves(GomokuBoard board, Position pos, int[] moves, int count) {
+        TicTacToeBoard ticTacToe = board.getTicTacToeBoard(pos);
+        int legal = ticTacToe.getLegalMoveMask();
+        int base = pos.getIndex() * 9;
+        while (legal != 0) {
+            int cell = Integer.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            moves[count++] = base + cell;
+        }
+        return count;
+    }
+    
+    /**
+     * 获取编码着法的五子棋格子序号
+     * @param code 着法编码
+     * @return 五子棋格子序号
+     */
+    public static int gomokuIndex(int code) {
+        return code / 9;
+    }
+    
+    /**
+     * 获取编码着法的井字棋格子序号
+     * @param code 着法编码
+     * @return 井字棋格子序号
+     */
+    public static int ticTacToeIndex(int code) {
+        return code % 9;
+    }
+    
+    /**
+     * 将编码着法转换为着法对象
+     * @param code 着法编码
+     * @return 着法对象
+     */
+    public static Move toMove(int code) {
+        return Move.of(gomokuIndex(code), ticTacToeIndex(code));
+    }
+    
+    /**
+     * 在游戏上执行编码着法
+     * @param gameLogic 游戏
+     * @param code 着法编码
+     * @return 如果执行成功返回true
+     */
+    public static boolean apply(GameLogic gameLogic, int code) {
+        int cell = ticTacToeIndex(code);
+        return gameLogic.makeMove(Position.ofIndex(gomokuIndex(code)), Position.of(cell / 3, cell % 3));
+    }
+}
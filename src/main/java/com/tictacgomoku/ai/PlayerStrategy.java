@@ -0,0 +1,32 @@
+package com.tictacgomoku.ai;
+
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.Move;
+
+/**
+ * 玩家策略接口
+ * 所有电脑玩家（搜索AI、随机玩家等）都通过该接口给出下一步着法
+ */
+public interface PlayerStrategy {
+    
+    /**
+     * 为当前轮到的玩家选择一步着法
+     * 实现不得修改传入的游戏对象，需要推演时应使用其副本
+     * @param gameLogic 当前游戏
+     * @return 选择的着法，如果没有合法着法返回null
+     */
+    Move chooseMove(GameLogic gameLogic);
+    
+    /**
+     * 获取策略名称
+     * @return 用于日志和统计的名称
+     */
+    String getName();
+    
+    /**
+     * 释放策略占用的资源（如搜索线程池），默认不做任何事
+     * 创建策略的一方在不再使用策略时负责调用
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,44 @@
+package com.tictacgomoku.ai;
+
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.Move;
+
+import java.util.SplittableRandom;
+
+/**
+ * 随机玩家
+ * 在所有合法着法中均匀随机选择，用作基准对手和快速自对弈
+ */
+public class RandomPlayer implements PlayerStrategy {
+    private final SplittableRandom random;
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    
+    /**
+     * 使用随机种子创建随机玩家
+     */
+    public RandomPlayer() {
+        this(System.nanoTime());
+    }
+    
+    /**
+     * 构造函数
+     * @param seed 随机种子
+     */
+    public RandomPlayer(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+    
+    @Override
+    public Move chooseMove(GameLogic gameLogic) {
+        int count = MoveGenerator.generate(gameLogic, moves);
+        if (count == 0) {
+            return null;
+        }
+        return MoveGenerator.toMove(moves[random.nextInt(count)]);
+    }
+    
+    @Override
+    public String getName() {
+        return "Random";
+    }
+}
@@ -0,0 +1,72 @@
+package com.tictacgomoku.ai;
+
+import com.tictacgomoku.book.OpeningBook;
+import com.tictacgomoku.book.OpeningBookBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * 玩家策略工厂
+ * 根据文本描述创建策略，供命令行工具使用。支持的描述格式：
+ * random、alphabeta[:毫秒[:开局库文件]]、mcts[:毫秒[:线程数]]
+ */
+public class StrategyFactory {
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private StrategyFactory() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 解析策略描述，返回创建策略实例的工厂
+     * 策略实例不是线程安全的，每个线程应通过工厂创建自己的实例；开局库只打开一次，由所有实例共享
+     * @param spec 策略描述
+     * @return 策略工厂
+     * @throws IllegalArgumentException 如果描述无法识别或开局库无法打开
+     */
+    public static Supplier<PlayerStrategy> parse(String spec) {
+        // 最多分成三段，开局库路径中可以含有冒号
+        String[] parts = spec.trim().split(":", 3);
+        switch (parts[0].toLowerCase(Locale.ROOT)) {
+            case "random":
+                return RandomPlayer::new;
+            case "alphabeta": {
+                long budget = parts.length > 1 ? parseNumber(parts[1], spec) : AlphaBetaPlayer.DEFAULT_TIME_BUDGET_MILLIS;
+                OpeningBook book = parts.length > 2 ? openBook(parts[2]) : null;
+                return () -> {
+                    AlphaBetaPlayer player = new AlphaBetaPlayer(budget);
+                    player.setOpeningBook(book, OpeningBookBuilder.DEFAULT_MIN_GAMES);
+                    return player;
+                };
+            }
+            case "mcts": {
+                long budget = parts.length > 1 ? parseNumber(parts[1], spec) : MctsPlayer.DEFAULT_TIME_BUDGET_MILLIS;
+                int threads = parts.length > 2 ? (int) parseNumber(parts[2], spec) : 1;
+                return () -> new MctsPlayer(budget, threads);
+            }
+            default:
+                throw new IllegalArgumentException("未知的策略: " + spec);
+        }
+    }
+    
+    private static OpeningBook openBook(String path) {
+        try {
+            return new OpeningBook(new File(path));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("无法打开开局库: " + path, e);
+        }
+    }
+    
+    private static long parseNumber(String text, String spec) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("策略参数不是数字: " + spec, e);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.tictacgomoku.ai;
+
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.GomokuBoard;
+import com.tictacgomoku.model.Player;
+import com.tictacgomoku.model.Position;
+import com.tictacgomoku.util.GameConstants;
+
+import java.util.Arrays;
+
+/**
+ * 威胁空间求解器
+ * 在有限步数内证明当前行棋方（进攻方）必胜。进攻方只走威胁空间内的着法，防守方的每个合法应对都要检查，
+ * 因此找到的结果是严格的必胜证明；找不到只表示在限制内未能证明。
+ * 剪枝依据大棋盘的棋子布局和井字棋状态：进攻方每一步最多让一个井字棋离获胜近一步，
+ * 所以对每个五格窗口，把其中各格还需的步数相加（己方棋子为0，对手棋子、平局或已无连线的井字棋视为不可达），
+ * 最小的和就是连成五子所需步数的下界，下界超过剩余步数的局面直接放弃。
+ * 进攻方可以自由选择时只考虑位于可达窗口中的井字棋；防守方可自由选择且着法过多时视为无法证明。
+ * 已证明失败的局面记录在一个直接映射的缓存中，可在多次求解之间复用。求解器不是线程安全的
+ */
+public class ThreatSpaceSolver {
+    public static final int DEFAULT_MAX_DEPTH = 4;
+    public static final long DEFAULT_NODE_LIMIT = 200_000;
+    
+    private static final int SIZE = GameConstants.GOMOKU_BOARD_SIZE;
+    private static final int CELLS = SIZE * SIZE;
+    // 不可达格子的步数，大于任何窗口可能的剩余步数
+    private static final int UNREACHABLE = 100;
+    // 防守方着法超过这个数（自由选择）时不再尝试证明
+    private static final int MAX_DEFENDER_MOVES = 27;
+    // 每搜索多少个节点检查一次时间
+    private static final int TIME_CHECK_INTERVAL = 256;
+    private static final int CACHE_BITS = 16;
+    
+    // 所有五格窗口的格子序号
+    private static final int[][] WINDOWS;
+    
+    static {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        int span = GameConstants.WIN_CONDITION - 1;
+        int[][] windows = new int[directions.length * CELLS][];
+        int count = 0;
+        for (int[] direction : directions) {
+            for (int row = 0; row < SIZE; row++) {
+                for (int col = 0; col < SIZE; col++) {
+                    int endRow = row + span * direction[0];
+                    int endCol = col + span * direction[1];
+                    if (endRow >= SIZE || endCol < 0 || endCol >= SIZE) {
+                        continue;
+                    }
+                    int[] window = new int[GameConstants.WIN_CONDITION];
+                    for (int k = 0; k < window.length; k++) {
+                        window[k] = (row + k * direction[0]) * SIZE + col + k * direction[1];
+                    }
+                    windows[count++] = window;
+                }
+            }
+        }
+        WINDOWS = new int[count][];
+        System.arraycopy(windows, 0, WINDOWS, 0, count);
+    }
+    
+    private final int maxDepth;
+    private final long nodeLimit;
+    private final int[][] moveBuffers;
+    private final int[][] distanceBuffers;
+    private final boolean[][] relevantBuffers;
+    private final long[] cacheKeys = new long[1 << CACHE_BITS];
+    private final byte[] cacheDepths = new byte[1 << CACHE_BITS];
+    
+    private Player attacker;
+    private long deadline;
+    private boolean aborted;
+    private long nodeCount;
+    private int provenDepth;
+    
+    /**
+     * 使用默认限制创建求解器
+     */
+    public ThreatSpaceSolver() {
+        this(DEFAULT_MAX_DEPTH, DEFAULT_NODE_LIMIT);
+    }
+    
+    /**
+     * 构造函数
+     * @param maxDepth 进攻方最多的步数
+     * @param nodeLimit 每次求解最多搜索的节点数
+     */
+    public ThreatSpaceSolver(int maxDepth, long nodeLimit) {
+        if (maxDepth <= 0 || maxDepth > Byte.MAX_VALUE || nodeLimit <= 0) {
+            throw new IllegalArgumentException("求解深度或节点数无效: " + maxDepth + ", " + nodeLimit);
+        }
+        this.maxDepth = maxDepth;
+        this.nodeLimit = nodeLimit;
+        int plies = maxDepth * 2 + 1;
+        this.moveBuffers = new int[plies][MoveGenerator.MAX_MOVES];
+        this.distanceBuffers = new int[plies][CELLS];
+        this.relevantBuffers = new boolean[plies][CELLS];
+    }
+    
+    /**
+     * 求解当前行棋方的必胜着法，按进攻步数从少到多逐层加深
+     * @param gameLogic 游戏（搜索时通过下棋和撤销临时改变，返回时恢复原状；应传入没有监听器的副本）
+     * @param deadlineNanos 截止时间（System.nanoTime()）
+     * @return 必胜着法编码，未能证明时返回-1
+     */
+    public int solve(GameLogic gameLogic, long deadlineNanos) {
+        attacker = gameLogic.getGameState().getCurrentPlayer();
+        deadline = deadlineNanos;
+        aborted = false;
+        nodeCount = 0;
+        provenDepth = 0;
+        if (gameLogic.isGameOver()) {
+            return -1;
+        }
+        for (int depth = 1; depth <= maxDepth && !aborted; depth++) {
+            int move = attack(gameLogic, depth, 0);
+            if (move >= 0) {
+                provenDepth = depth;
+                return move;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 进攻方节点：是否存在一步使得进攻方在depth步内必胜
+     * @return 必胜着法编码，没有时返回-1
+     */
+    private int attack(GameLogic node, int depth, int ply) {
+        if (++nodeCount > nodeLimit
+                || ((nodeCount & (TIME_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadline)) {
+            aborted = true;
+        }
+        if (aborted) {
+            return -1;
+        }
+        long key = node.getZobristKey();
+        int slot = (int) (key ^ (key >>> 32)) & ((1 << CACHE_BITS) - 1);
+        if (cacheKeys[slot] == key && cacheDepths[slot] >= depth) {
+            return -1;
+        }
+        
+        GomokuBoard board = node.getGomokuBoard();
+        int[] distance = distanceBuffers[ply];
+        if (lowerBound(board, distance) > depth) {
+            storeFailure(slot, key, depth);
+            return -1;
+        }
+        
+        int[] moves = moveBuffers[ply];
+        int count = MoveGenerator.generate(node, moves);
+        if (node.getGameState().canChooseFreely()) {
+            count = keepRelevant(moves, count, distance, relevantBuffers[ply], depth);
+        }
+        count = partitionBoardWins(board, moves, count, attacker);
+        
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            MoveGenerator.apply(node, move);
+            boolean won = node.isGameOver();
+            if (!won && depth > 1 && lowerBound(board, distanceBuffers[ply + 1]) <= depth - 1) {
+                won = defend(node, depth - 1, ply + 1);
+            }
+            node.undoMove();
+            if (aborted) {
+                return -1;
+            }
+            if (won) {
+                return move;
+            }
+        }
+        storeFailure(slot, key, depth);
+        return -1;
+    }
+    
+    /**
+     * 防守方节点：是否防守方的每个应对之后进攻方都能在depth步内取胜
+     */
+    private boolean defend(GameLogic node, int depth, int ply) {
+        int[] moves = moveBuffers[ply];
+        int count = MoveGenerator.generate(node, moves);
+        if (count == 0 || count > MAX_DEFENDER_MOVES) {
+            return false;
+        }
+        // 防守方赢下井字棋的应对最可能化解威胁，先检查
+        count = partitionBoardWins(node.getGomokuBoard(), moves, count, attacker.getOpponent());
+        for (int i = 0; i < count; i++) {
+            MoveGenerator.apply(node, moves[i]);
+            boolean refuted = node.isGameOver() || attack(node, depth, ply + 1) < 0;
+            node.undoMove();
+            if (refuted || aborted) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 计算进攻方在每个格子获得棋子还需的步数，并返回连成五子所需步数的下界
+     * @param board 五子棋盘
+     * @param distance 输出每个格子的步数
+     * @return 所有五格窗口中步数和的最小值
+     */
+    private int lowerBound(GomokuBoard board, int[] distance) {
+        for (int index = 0; index < CELLS; index++) {
+            Position pos = Position.ofIndex(index);
+            Player stone = board.getStone(pos);
+            if (stone != null) {
+                distance[index] = stone == attacker ? 0 : UNREACHABLE;
+            } else {
+                int moves = board.getTicTacToeBoard(pos).movesToWin(attacker);
+                distance[index] = moves < 0 ? UNREACHABLE : moves;
+            }
+        }
+        int bound = UNREACHABLE;
+        for (int[] window : WINDOWS) {
+            int sum = 0;
+            for (int index : window) {
+                sum += distance[index];
+            }
+            bound = Math.min(bound, sum);
+        }
+        return bound;
+    }
+    
+    /**
+     * 自由选择时只保留位于可达窗口（步数和不超过depth）中、尚未获得棋子的井字棋上的着法
+     * @return 保留的着法数
+     */
+    private static int keepRelevant(int[] moves, int count, int[] distance, boolean[] relevant, int depth) {
+        Arrays.fill(relevant, false);
+        for (int[] window : WINDOWS) {
+            int sum = 0;
+            for (int index : window) {
+                sum += distance[index];
+            }
+            if (sum <= depth) {
+                for (int index : window) {
+                    relevant[index] = distance[index] > 0;
+                }
+            }
+        }
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (relevant[MoveGenerator.gomokuIndex(moves[i])]) {
+                moves[kept++] = moves[i];
+            }
+        }
+        return kept;
+    }
+    
+    /**
+     * 把赢下井字棋的着法移到前面
+     * @return 着法数（不变）
+     */
+    private static int partitionBoardWins(GomokuBoard board, int[] moves, int count, Player player) {
+        int front = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (board.getTicTacToeBoard(Position.ofIndex(MoveGenerator.gomokuIndex(move)))
+                    .isWinningMove(MoveGenerator.ticTacToeIndex(move), player)) {
+                moves[i] = moves[front];
+                moves[front++] = move;
+            }
+        }
+        return count;
+    }
+    
+    private void storeFailure(int slot, long key, int depth) {
+        if (!aborted) {
+            cacheKeys[slot] = key;
+            cacheDepths[slot] = (byte) depth;
+        }
+    }
+    
+    /**
+     * 获取上一次求解证明必胜所用的进攻步数
+     * @return 进攻步数，未能证明时为0
+     */
+    public int getProvenDepth() {
+        return provenDepth;
+    }
+    
+    /**
+     * 获取上一次求解的节点数
+     * @return 节点数
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+    
+    /**
+     * 检查上一次求解是否因节点数或时间限制而中断
+     * @return 如果中断返回true
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+}
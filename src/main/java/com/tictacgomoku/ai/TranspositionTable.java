@@ -0,0 +1,210 @@
+package com.tictacgomoku.ai;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 置换表
+ * 以局面的64位哈希为键缓存搜索结果，可由多个搜索线程无锁共享。
+ * 表由一个long[]构成，每个条目占两个long：(键 ^ 数据, 数据)。读取时用异或校验，
+ * 被并发写入撕裂的条目无法通过校验，只会被当作未命中，因此不需要加锁。
+ * 每个桶包含两个条目：第一个按深度优先替换，第二个总是替换。探测和写入都不分配任何对象
+ */
+public class TranspositionTable {
+    public static final int DEFAULT_SIZE_MB = 8;
+    
+    // 边界类型
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+    
+    // 探测未命中时的返回值（有效数据的边界类型不为0，因此不会等于0）
+    public static final long NO_ENTRY = 0L;
+    
+    // 数据编码：低32位分数，32-43位着法编码+1，44-51位深度，52-53位边界类型，54-61位搜索代数
+    private static final int MOVE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 44;
+    private static final int BOUND_SHIFT = 52;
+    private static final int GENERATION_SHIFT = 54;
+    private static final long MOVE_MASK = 0xFFFL;
+    private static final long BYTE_MASK = 0xFFL;
+    
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int ENTRIES_PER_BUCKET = 2;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_ENTRY * ENTRIES_PER_BUCKET * Long.BYTES;
+    
+    private final long[] table;
+    private final long bucketMask;
+    private volatile int generation;
+    
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    
+    /**
+     * 使用默认大小创建置换表
+     */
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_MB);
+    }
+    
+    /**
+     * 构造函数
+     * @param sizeMb 表大小（MB），实际桶数取不超过该大小的2的幂
+     */
+    public TranspositionTable(int sizeMb) {
+        if (sizeMb <= 0) {
+            throw new IllegalArgumentException("置换表大小必须为正数: " + sizeMb);
+        }
+        long buckets = Long.highestOneBit(((long) sizeMb << 20) / BYTES_PER_BUCKET);
+        long longs = buckets * ENTRIES_PER_BUCKET * LONGS_PER_ENTRY;
+        if (longs > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("置换表过大: " + sizeMb + "MB");
+        }
+        this.table = new long[(int) longs];
+        this.bucketMask = buckets - 1;
+    }
+    
+    /**
+     * 探测置换表
+     * @param key 局面哈希
+     * @return 条目数据，未命中时返回NO_ENTRY
+     */
+    public long probe(long key) {
+        probes.increment();
+        int base = bucketBase(key);
+        boolean occupied = false;
+        for (int slot = 0; slot < ENTRIES_PER_BUCKET; slot++) {
+            int index = base + slot * LONGS_PER_ENTRY;
+            long data = table[index + 1];
+            long check = table[index];
+            if (data != NO_ENTRY && (check ^ data) == key) {
+                hits.increment();
+                return data;
+            }
+            occupied |= data != NO_ENTRY;
+        }
+        misses.increment();
+        if (occupied) {
+            collisions.increment();
+        }
+        return NO_ENTRY;
+    }
+    
+    /**
+     * 写入搜索结果
+     * 深度优先槽在键相同、新结果更深或旧条目来自之前的搜索时被替换，否则写入总是替换槽
+     * @param key 局面哈希
+     * @param score 分数
+     * @param move 最佳着法编码，没有时为-1
+     * @param depth 搜索深度（0-255）
+     * @param bound 边界类型
+     */
+    public void store(long key, int score, int move, int depth, int bound) {
+        stores.increment();
+        int base = bucketBase(key);
+        int currentGeneration = generation;
+        long data = (score & 0xFFFFFFFFL)
+                | ((long) (move + 1) & MOVE_MASK) << MOVE_SHIFT
+                | ((long) Math.min(depth, 255) & BYTE_MASK) << DEPTH_SHIFT
+                | ((long) bound) << BOUND_SHIFT
+                | ((long) currentGeneration & BYTE_MASK) << GENERATION_SHIFT;
+        
+        long existingData = table[base + 1];
+        long existingKey = table[base] ^ existingData;
+        int index = base + LONGS_PER_ENTRY;
+        if (existingData == NO_ENTRY || existingKey == key
+                || depth >= depthOf(existingData)
+                || generationOf(existingData) != (currentGeneration & BYTE_MASK)) {
+            index = base;
+        }
+        table[index] = key ^ data;
+        table[index + 1] = data;
+    }
+    
+    private int bucketBase(long key) {
+        return (int) (key & bucketMask) * ENTRIES_PER_BUCKET * LONGS_PER_ENTRY;
+    }
+    
+    /**
+     * 开始新的一次搜索，使之前搜索写入的深度优先条目可以被替换
+     */
+    public void newSearch() {
+        generation++;
+    }
+    
+    /**
+     * 清空置换表和统计计数
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        probes.reset();
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+        stores.reset();
+    }
+    
+    public static int scoreOf(long data) {
+        return (int) data;
+    }
+    
+    public static int moveOf(long data) {
+        return (int) ((data >>> MOVE_SHIFT) & MOVE_MASK) - 1;
+    }
+    
+    public static int depthOf(long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & BYTE_MASK);
+    }
+    
+    public static int boundOf(long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 0x3L);
+    }
+    
+    private static long generationOf(long data) {
+        return (data >>> GENERATION_SHIFT) & BYTE_MASK;
+    }
+    
+    /**
+     * 获取表中的条目总数
+     * @return 条目数
+     */
+    public int getCapacity() {
+        return table.length / LONGS_PER_ENTRY;
+    }
+    
+    public long getProbes() {
+        return probes.sum();
+    }
+    
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    /**
+     * 获取冲突次数：探测未命中但桶中已有其他局面的条目
+     * @return 冲突次数
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+    
+    public long getStores() {
+        return stores.sum();
+    }
+    
+    @Override
+    public String toString() {
+        long probeCount = getProbes();
+        return String.format("置换表: %d 条目, 探测 %d, 命中 %d (%.1f%%), 未命中 %d, 冲突 %d, 写入 %d",
+            getCapacity(), probeCount, getHits(),
+            probeCount == 0 ? 0.0 : getHits() * 100.0 / probeCount,
+            getMisses(), getCollisions(), getStores());
+    }
+}
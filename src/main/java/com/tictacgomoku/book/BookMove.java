@@ -0,0 +1,57 @@
+package com.tictacgomoku.book;
+
+import java.util.Locale;
+
+/**
+ * 开局库中某个局面下一步着法的统计
+ * 胜局和平局都从在该局面走这步棋的一方的角度统计
+ */
+public final class BookMove {
+    private final int moveCode;
+    private final long games;
+    private final long wins;
+    private final long draws;
+    
+    /**
+     * 构造函数
+     * @param moveCode 着法编码（五子棋格子序号 * 9 + 井字棋格子序号）
+     * @param games 对局数
+     * @param wins 走这步棋一方的胜局数
+     * @param draws 平局数
+     */
+    public BookMove(int moveCode, long games, long wins, long draws) {
+        this.moveCode = moveCode;
+        this.games = games;
+        this.wins = wins;
+        this.draws = draws;
+    }
+    
+    public int getMoveCode() {
+        return moveCode;
+    }
+    
+    public long getGames() {
+        return games;
+    }
+    
+    public long getWins() {
+        return wins;
+    }
+    
+    public long getDraws() {
+        return draws;
+    }
+    
+    /**
+     * 获取得分率（平局计半分）
+     * @return 得分率
+     */
+    public double getScore() {
+        return games == 0 ? 0.0 : (wins + 0.5 * draws) / games;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "BookMove{move=%d, games=%d, score=%.3f}", moveCode, games, getScore());
+    }
+}
@@ -0,0 +1,230 @@
+package com.tictacgomoku.book;
+
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.Symmetry;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 开局库
+ * <pre>
+ * 文件头（16字节）：魔数 "TTOB"（4字节）、版本（1字节）、标志（1字节）、保留（2字节）、条目数（8字节）
+ * 条目（每条24字节，按局面哈希的有符号顺序、再按着法编码排序）：
+ *   局面Zobrist哈希（8字节）、着法编码（2字节）、保留（2字节）、对局数（4字节）、胜局数（4字节）、平局数（4字节）
+ * </pre>
+ * 标志第0位表示局面按对称变换规范化（见Symmetry）：哈希是规范哈希，着法是规范局面中的着法，
+ * 8个对称等价的局面共用同一组条目；按GameLogic查询时自动变换回当前局面。
+ * 整个文件以只读方式映射到内存，查询是对定长条目的二分查找，不读入也不解析整个文件。
+ * 只使用绝对位置读取，多个线程可以共享同一个开局库
+ */
+public class OpeningBook implements Closeable {
+    public static final int MAGIC = 0x54544F42;  // "TTOB"
+    public static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_SIZE = 24;
+    static final int FLAG_CANONICAL = 1;
+    
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private final int entryCount;
+    private final boolean canonical;
+    
+    /**
+     * 打开开局库
+     * @param path 开局库文件
+     * @throws IOException 如果文件无法打开或格式不正确
+     */
+    public OpeningBook(File path) throws IOException {
+        this.file = new RandomAccessFile(path, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("开局库文件大小无效: " + size);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("不是开局库文件");
+            }
+            if ((buffer.get(4) & 0xFF) > VERSION) {
+                throw new IOException("不支持的开局库版本: " + (buffer.get(4) & 0xFF));
+            }
+            long count = buffer.getLong(8);
+            if (count < 0 || HEADER_SIZE + count * ENTRY_SIZE != size) {
+                throw new IOException("开局库文件不完整");
+            }
+            this.entryCount = (int) count;
+            this.canonical = (buffer.get(5) & FLAG_CANONICAL) != 0;
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * 获取条目数（局面与着法的组合数）
+     * @return 条目数
+     */
+    public int size() {
+        return entryCount;
+    }
+    
+    /**
+     * 检查局面是否按对称变换规范化
+     * @return 如果哈希和着法都是规范形式返回true
+     */
+    public boolean isCanonical() {
+        return canonical;
+    }
+    
+    /**
+     * 查找局面的第一个条目
+     * @param key 局面Zobrist哈希
+     * @return 条目序号，局面不在库中时返回-1
+     */
+    private int firstEntry(long key) {
+        int low = 0;
+        int high = entryCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyAt(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < entryCount && keyAt(low) == key ? low : -1;
+    }
+    
+    private long keyAt(int index) {
+        return buffer.getLong(HEADER_SIZE + index * ENTRY_SIZE);
+    }
+    
+    /**
+     * 检查局面是否在库中
+     * @param key 局面Zobrist哈希
+     * @return 如果在库中返回true
+     */
+    public boolean contains(long key) {
+        return firstEntry(key) >= 0;
+    }
+    
+    /**
+     * 查询局面下所有着法的统计
+     * @param key 局面Zobrist哈希
+     * @return 着法统计，按着法编码排序；局面不在库中时为空列表
+     */
+    public List<BookMove> lookup(long key) {
+        int index = firstEntry(key);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        List<BookMove> moves = new ArrayList<>();
+        for (; index < entryCount && keyAt(index) == key; index++) {
+            int base = HEADER_SIZE + index * ENTRY_SIZE;
+            moves.add(new BookMove(buffer.getChar(base + 8), buffer.getInt(base + 12) & 0xFFFFFFFFL,
+                                   buffer.getInt(base + 16) & 0xFFFFFFFFL, buffer.getInt(base + 20) & 0xFFFFFFFFL));
+        }
+        return moves;
+    }
+    
+    /**
+     * 查询当前局面下所有着法的统计，规范化的开局库会把着法变换回当前局面
+     * @param gameLogic 游戏
+     * @return 着法统计
+     */
+    public List<BookMove> lookup(GameLogic gameLogic) {
+        if (!canonical) {
+            return lookup(gameLogic.getZobristKey());
+        }
+        long[] keys = new long[Symmetry.COUNT];
+        int t = Symmetry.canonicalTransform(gameLogic, keys);
+        int back = Symmetry.inverse(t);
+        List<BookMove> moves = new ArrayList<>();
+        for (BookMove move : lookup(keys[t])) {
+            moves.add(new BookMove(Symmetry.transformMove(back, move.getMoveCode()),
+                                   move.getGames(), move.getWins(), move.getDraws()));
+        }
+        return moves;
+    }
+    
+    /**
+     * 选择得分率最高的着法，不分配对象
+     * @param key 局面Zobrist哈希
+     * @param minGames 着法至少要有的对局数，样本太少的统计不可靠
+     * @return 着法编码，没有满足条件的着法时返回-1
+     */
+    public int bestMove(long key, int minGames) {
+        int index = firstEntry(key);
+        if (index < 0) {
+            return -1;
+        }
+        int best = -1;
+        double bestScore = -1.0;
+        for (; index < entryCount && keyAt(index) == key; index++) {
+            int base = HEADER_SIZE + index * ENTRY_SIZE;
+            long games = buffer.getInt(base + 12) & 0xFFFFFFFFL;
+            if (games < minGames || games == 0) {
+                continue;
+            }
+            double score = ((buffer.getInt(base + 16) & 0xFFFFFFFFL) + 0.5 * (buffer.getInt(base + 20) & 0xFFFFFFFFL)) / games;
+            if (score > bestScore) {
+                bestScore = score;
+                best = buffer.getChar(base + 8);
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * 为当前局面选择得分率最高的着法，规范化的开局库会把着法变换回当前局面
+     * @param gameLogic 游戏
+     * @param minGames 着法至少要有的对局数
+     * @return 着法编码，没有满足条件的着法时返回-1
+     */
+    public int bestMove(GameLogic gameLogic, int minGames) {
+        return bestMove(gameLogic, minGames, canonical ? new long[Symmetry.COUNT] : null);
+    }
+    
+    /**
+     * 为当前局面选择得分率最高的着法，使用调用方提供的缓冲区计算对称哈希，不分配对象
+     * @param gameLogic 游戏
+     * @param minGames 着法至少要有的对局数
+     * @param keys 对称哈希缓冲区，长度至少为Symmetry.COUNT；开局库未规范化时不使用，可以为null
+     * @return 着法编码，没有满足条件的着法时返回-1
+     */
+    public int bestMove(GameLogic gameLogic, int minGames, long[] keys) {
+        if (!canonical) {
+            return bestMove(gameLogic.getZobristKey(), minGames);
+        }
+        int t = Symmetry.canonicalTransform(gameLogic, keys);
+        int move = bestMove(keys[t], minGames);
+        return move < 0 ? -1 : Symmetry.transformMove(Symmetry.inverse(t), move);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+    
+    /**
+     * 把条目写入缓冲区（供OpeningBookBuilder使用，保证两边格式一致）
+     */
+    static void putEntry(ByteBuffer out, long key, int moveCode, long games, long wins, long draws) {
+        out.putLong(key);
+        out.putChar((char) moveCode);
+        out.putShort((short) 0);
+        out.putInt((int) games);
+        out.putInt((int) wins);
+        out.putInt((int) draws);
+    }
+}
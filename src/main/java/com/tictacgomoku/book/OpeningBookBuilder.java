@@ -0,0 +1,239 @@
+package com.tictacgomoku.book;
+
+import com.tictacgomoku.ai.MoveGenerator;
+import com.tictacgomoku.io.GameRecord;
+import com.tictacgomoku.io.GameRecordReader;
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.Player;
+import com.tictacgomoku.model.Symmetry;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 开局库生成器
+ * 重放自对弈记录的前若干步，按局面Zobrist哈希汇总每步着法的对局数和结果，最后写出排序后的定长条目表。
+ * 局面和着法先变换到规范形式（见Symmetry），对称等价的开局合并统计，条目数最多减少到1/8。
+ * 汇总在内存中进行，不是线程安全的。
+ * 用法：
+ * java -cp out com.tictacgomoku.book.OpeningBookBuilder 开局库.ttob 记录1.ttgr [记录2.ttgr ...]
+ *      [--plies N] [--min-games N]
+ */
+public class OpeningBookBuilder {
+    public static final int DEFAULT_MAX_PLIES = 16;
+    public static final int DEFAULT_MIN_GAMES = 2;
+    private static final long MAX_COUNT = 0xFFFFFFFFL;
+    
+    /**
+     * 一个局面下各着法的统计，数组按需扩容
+     */
+    private static final class PositionStats {
+        int count;
+        int[] moves = new int[2];
+        long[] games = new long[2];
+        long[] wins = new long[2];
+        long[] draws = new long[2];
+        
+        void add(int moveCode, boolean win, boolean draw) {
+            int i = 0;
+            while (i < count && moves[i] != moveCode) {
+                i++;
+            }
+            if (i == count) {
+                if (count == moves.length) {
+                    moves = Arrays.copyOf(moves, count * 2);
+                    games = Arrays.copyOf(games, count * 2);
+                    wins = Arrays.copyOf(wins, count * 2);
+                    draws = Arrays.copyOf(draws, count * 2);
+                }
+                moves[count++] = moveCode;
+            }
+            games[i]++;
+            if (win) {
+                wins[i]++;
+            } else if (draw) {
+                draws[i]++;
+            }
+        }
+    }
+    
+    private final int maxPlies;
+    private final Map<Long, PositionStats> positions = new HashMap<>();
+    private final GameLogic game = new GameLogic();
+    private final long[] symmetryKeys = new long[Symmetry.COUNT];
+    private long gamesAdded;
+    
+    /**
+     * 构造函数
+     * @param maxPlies 每局收录的最大步数
+     */
+    public OpeningBookBuilder(int maxPlies) {
+        if (maxPlies <= 0) {
+            throw new IllegalArgumentException("收录步数必须为正数: " + maxPlies);
+        }
+        this.maxPlies = maxPlies;
+    }
+    
+    /**
+     * 收录一局的前maxPlies步
+     * @param record 对局记录
+     * @throws IllegalStateException 如果记录中有不合法的着法
+     */
+    public void add(GameRecord record) {
+        Player winner = record.getOutcome().getWinner();
+        boolean draw = record.getOutcome() == GameRecord.Outcome.DRAW;
+        if (record.getOutcome() == GameRecord.Outcome.UNFINISHED) {
+            return; // 未下完的对局没有结果可统计
+        }
+        game.newGame();
+        int plies = Math.min(maxPlies, record.getMoveCount());
+        for (int ply = 0; ply < plies; ply++) {
+            int moveCode = record.getMove(ply);
+            int t = Symmetry.canonicalTransform(game, symmetryKeys);
+            long key = symmetryKeys[t];
+            Player mover = game.getGameState().getCurrentPlayer();
+            if (!MoveGenerator.apply(game, moveCode)) {
+                throw new IllegalStateException("第" + (ply + 1) + "步着法不合法: " + moveCode);
+            }
+            positions.computeIfAbsent(key, k -> new PositionStats()).add(Symmetry.transformMove(t, moveCode), mover == winner, draw);
+        }
+        gamesAdded++;
+    }
+    
+    /**
+     * 收录对局记录文件中的全部对局
+     * @param file 对局记录文件
+     * @throws IOException 如果读取失败或文件已损坏
+     */
+    public void addAll(File file) throws IOException {
+        try (GameRecordReader reader = GameRecordReader.open(file)) {
+            GameRecord record;
+            while ((record = reader.read()) != null) {
+                add(record);
+            }
+        }
+    }
+    
+    public long getGamesAdded() {
+        return gamesAdded;
+    }
+    
+    public int getPositionCount() {
+        return positions.size();
+    }
+    
+    /**
+     * 写出开局库（覆盖已有文件）
+     * @param path 开局库文件
+     * @param minGames 着法至少要有的对局数，不足的不写入
+     * @return 写入的条目数
+     * @throws IOException 如果写入失败
+     */
+    public long write(File path, int minGames) throws IOException {
+        long[] keys = new long[positions.size()];
+        int n = 0;
+        for (Long key : positions.keySet()) {
+            keys[n++] = key;
+        }
+        Arrays.sort(keys);
+        
+        long entries = 0;
+        try (FileOutputStream stream = new FileOutputStream(path)) {
+            FileChannel channel = stream.getChannel();
+            ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+            out.putInt(OpeningBook.MAGIC);
+            out.put((byte) OpeningBook.VERSION);
+            out.put((byte) OpeningBook.FLAG_CANONICAL);
+            out.put(new byte[2]);
+            out.putLong(0L);  // 条目数在最后回填
+            for (long key : keys) {
+                PositionStats stats = positions.get(key);
+                int[] order = sortedMoveIndices(stats);
+                for (int i : order) {
+                    if (stats.games[i] < minGames) {
+                        continue;
+                    }
+                    if (out.remaining() < OpeningBook.ENTRY_SIZE) {
+                        drain(channel, out);
+                    }
+                    OpeningBook.putEntry(out, key, stats.moves[i], Math.min(stats.games[i], MAX_COUNT),
+                                         Math.min(stats.wins[i], MAX_COUNT), Math.min(stats.draws[i], MAX_COUNT));
+                    entries++;
+                }
+            }
+            drain(channel, out);
+            
+            ByteBuffer count = ByteBuffer.allocate(8);
+            count.putLong(entries);
+            count.flip();
+            while (count.hasRemaining()) {
+                channel.write(count, 8 + count.position());
+            }
+        }
+        return entries;
+    }
+    
+    private static int[] sortedMoveIndices(PositionStats stats) {
+        Integer[] boxed = new Integer[stats.count];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, (a, b) -> Integer.compare(stats.moves[a], stats.moves[b]));
+        int[] order = new int[boxed.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = boxed[i];
+        }
+        return order;
+    }
+    
+    private static void drain(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+    
+    /**
+     * 命令行入口
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) throws IOException {
+        int maxPlies = DEFAULT_MAX_PLIES;
+        int minGames = DEFAULT_MIN_GAMES;
+        String output = null;
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--plies".equals(args[i]) && i + 1 < args.length) {
+                maxPlies = Integer.parseInt(args[++i]);
+            } else if ("--min-games".equals(args[i]) && i + 1 < args.length) {
+                minGames = Integer.parseInt(args[++i]);
+            } else if (output == null) {
+                output = args[i];
+            } else {
+                inputs.add(args[i]);
+            }
+        }
+        if (output == null || inputs.isEmpty()) {
+            System.err.println("用法: OpeningBookBuilder 开局库.ttob 记录.ttgr... [--plies N] [--min-games N]");
+            System.exit(2);
+        }
+        
+        long start = System.nanoTime();
+        OpeningBookBuilder builder = new OpeningBookBuilder(maxPlies);
+        for (String input : inputs) {
+            builder.addAll(new File(input));
+        }
+        long entries = builder.write(new File(output), minGames);
+        System.out.printf(Locale.ROOT, "已收录 %d 局, %d 个局面, 写入 %d 条, 耗时 %.2f 秒%n",
+                          builder.getGamesAdded(), builder.getPositionCount(), entries,
+                          (System.nanoTime() - start) / 1e9);
+    }
+}
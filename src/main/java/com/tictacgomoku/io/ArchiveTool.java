@@ -0,0 +1,116 @@
+package com.tictacgomoku.io;
+
+import com.tictacgomoku.model.GameLogic;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * 对局档案命令行工具
+ * 用法：
+ * java -cp out com.tictacgomoku.io.ArchiveTool pack 档案.ttga 记录1.ttgr [记录2.ttgr ...]
+ * java -cp out com.tictacgomoku.io.ArchiveTool scan 档案.ttga [--replay] [--verify]
+ */
+public final class ArchiveTool {
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ArchiveTool() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 命令行入口
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && "pack".equals(args[0])) {
+            pack(args);
+        } else if (args.length >= 2 && "scan".equals(args[0])) {
+            scan(args);
+        } else {
+            System.err.println("用法: ArchiveTool pack 档案.ttga 记录.ttgr...");
+            System.err.println("      ArchiveTool scan 档案.ttga [--replay] [--verify]");
+            System.exit(2);
+        }
+    }
+    
+    /**
+     * 把一个或多个对局记录文件合并为档案
+     */
+    private static void pack(String[] args) throws IOException {
+        try (GameArchiveWriter writer = new GameArchiveWriter(new File(args[1]))) {
+            for (int i = 2; i < args.length; i++) {
+                try (GameRecordReader reader = GameRecordReader.open(new File(args[i]))) {
+                    GameRecord record;
+                    while ((record = reader.read()) != null) {
+                        writer.append(record);
+                    }
+                }
+            }
+            System.out.println("已写入 " + writer.getGameCount() + " 局");
+        }
+    }
+    
+    /**
+     * 扫描整个档案，统计结果和着法数，可选重放和校验
+     */
+    private static void scan(String[] args) throws IOException {
+        boolean replay = false;
+        boolean verify = false;
+        for (int i = 2; i < args.length; i++) {
+            if ("--replay".equals(args[i])) {
+                replay = true;
+            } else if ("--verify".equals(args[i])) {
+                verify = true;
+            } else {
+                throw new IllegalArgumentException("未知参数: " + args[i]);
+            }
+        }
+        
+        File file = new File(args[1]);
+        try (GameArchive archive = new GameArchive(file)) {
+            long start = System.nanoTime();
+            long[] outcomes = new long[GameRecord.Outcome.values().length];
+            long[] moves = new long[1];
+            long corrupted = 0;
+            GameLogic game = new GameLogic();
+            MoveVisitor counter = new MoveVisitor() {
+                @Override
+                public void beginGame(long gameIndex, GameRecord.Outcome outcome, int moveCount) {
+                    outcomes[outcome.ordinal()]++;
+                    moves[0] += moveCount;
+                }
+                
+                @Override
+                public void visitMove(int ply, int moveCode) {
+                }
+            };
+            for (long n = 0; n < archive.size(); n++) {
+                if (verify && !archive.verify(n)) {
+                    corrupted++;
+                    continue;
+                }
+                if (replay) {
+                    archive.replay(n, game);
+                    moves[0] += game.getMoveHistorySize();
+                    outcomes[GameRecord.Outcome.of(game).ordinal()]++;
+                } else {
+                    archive.visit(n, counter);
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            
+            System.out.printf(Locale.ROOT, "对局: %d, 着法: %d, 耗时: %.2f 秒, %.1f MB/秒, %.0f 局/秒%n",
+                archive.size(), moves[0], seconds, file.length() / 1e6 / seconds, archive.size() / seconds);
+            for (GameRecord.Outcome outcome : GameRecord.Outcome.values()) {
+                System.out.println(outcome + ": " + outcomes[outcome.ordinal()]);
+            }
+            if (verify) {
+                System.out.println("校验失败: " + corrupted);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tictacgomoku.io;
+
+import com.tictacgomoku.model.GameEvent;
+import com.tictacgomoku.model.GameEventListener;
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.GameSnapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 自动存档
+ * 每步棋、悔棋和新游戏之后在事件线程上取快照（只复制基本类型数组），文件写入交给一个后台线程。
+ * 后台线程来不及写时只保留最新的快照，中间状态直接丢弃，因此连续快速下棋也不会积压写入任务
+ */
+public class AutoSaver implements GameEventListener {
+    private final GameLogic gameLogic;
+    private final File file;
+    private final AtomicReference<GameSnapshot> pending = new AtomicReference<>();
+    private final ExecutorService writer;
+    private volatile boolean failureReported;
+    
+    /**
+     * 构造函数，创建后需要调用start()才开始监听
+     * @param gameLogic 游戏
+     * @param file 存档文件
+     */
+    public AutoSaver(GameLogic gameLogic, File file) {
+        this.gameLogic = gameLogic;
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autosave-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 获取默认存档文件（用户目录下的 .tictacgomoku/autosave.ttgs）
+     * @return 存档文件
+     */
+    public static File defaultFile() {
+        return new File(new File(System.getProperty("user.home"), ".tictacgomoku"), "autosave.ttgs");
+    }
+    
+    /**
+     * 开始监听游戏事件
+     */
+    public void start() {
+        gameLogic.addGameEventListener(this);
+    }
+    
+    /**
+     * 获取存档文件
+     * @return 存档文件
+     */
+    public File getFile() {
+        return file;
+    }
+    
+    @Override
+    public void onGameEvent(GameEvent event) {
+        switch (event.getType()) {
+            case MOVE_MADE:
+            case MOVE_UNDONE:
+            case GAME_RESET:
+                save(gameLogic.snapshot());
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * 安排写入快照；已有未写出的快照时直接替换它
+     * @param snapshot 快照
+     */
+    public void save(GameSnapshot snapshot) {
+        if (pending.getAndSet(snapshot) == null) {
+            writer.execute(this::writePending);
+        }
+    }
+    
+    private void writePending() {
+        GameSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            SnapshotFile.save(file, snapshot);
+        } catch (IOException e) {
+            if (!failureReported) {
+                failureReported = true;
+                System.err.println("自动存档失败: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 停止监听并写出最后一个快照
+     * @param timeoutMillis 等待写出的最长时间
+     * @throws InterruptedException 如果等待时被中断
+     */
+    public void close(long timeoutMillis) throws InterruptedException {
+        gameLogic.removeGameEventListener(this);
+        writer.shutdown();
+        writer.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+}
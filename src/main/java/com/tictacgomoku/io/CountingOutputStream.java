@@ -0,0 +1,40 @@
+package com.tictacgomoku.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 统计写出字节数的输出流
+ */
+class CountingOutputStream extends FilterOutputStream {
+    private long count;
+    
+    /**
+     * 构造函数
+     * @param out 底层输出流
+     */
+    CountingOutputStream(OutputStream out) {
+        super(out);
+    }
+    
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        count++;
+    }
+    
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        count += len;
+    }
+    
+    /**
+     * 获取已写出的字节数
+     * @return 字节数
+     */
+    long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,282 @@
+package com.tictacgomoku.io;
+
+import com.tictacgomoku.model.GameLogic;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * 对局档案
+ * <pre>
+ * 档案头（32字节）：魔数 "TTGA"（4字节）、版本（1字节）、保留（3字节）、
+ *                   对局数（8字节）、索引偏移（8字节）、记录数据偏移（8字节）
+ * 记录数据：一个完整的对局记录流（GameRecordFormat描述的文件头 + 记录）
+ * 索引：每局一个8字节的记录起始偏移
+ * </pre>
+ * 整个文件以只读方式映射到内存，按序号定位对局是O(1)的。映射按块进行，相邻块重叠一条记录的最大长度，
+ * 因此任何记录都完整地落在某一块内，解码时只需普通的绝对位置读取。
+ * 只使用绝对位置读取，多个线程可以同时读取同一档案
+ */
+public class GameArchive implements Closeable {
+    public static final int MAGIC = 0x54544741;  // "TTGA"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    private static final long DEFAULT_CHUNK_SIZE = 1L << 30;
+    private static final GameRecord.Outcome[] OUTCOMES = GameRecord.Outcome.values();
+    
+    private final RandomAccessFile file;
+    private final MappedByteBuffer[] chunks;
+    private final long stride;  // 相邻块起点的距离
+    private final long gameCount;
+    private final long indexOffset;
+    
+    /**
+     * 打开档案
+     * @param path 档案文件
+     * @throws IOException 如果文件无法打开或格式不正确
+     */
+    public GameArchive(File path) throws IOException {
+        this(path, DEFAULT_CHUNK_SIZE);
+    }
+    
+    /**
+     * 按指定映射块大小打开档案
+     * @param path 档案文件
+     * @param chunkSize 映射块大小，必须大于一条记录的最大长度
+     * @throws IOException 如果文件无法打开或格式不正确
+     */
+    GameArchive(File path, long chunkSize) throws IOException {
+        if (chunkSize <= GameRecordFormat.MAX_RECORD_SIZE || chunkSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("映射块大小无效: " + chunkSize);
+        }
+        this.file = new RandomAccessFile(path, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // 读满档案头
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt(0) != MAGIC) {
+                throw new IOException("不是对局档案文件");
+            }
+            if ((header.get(4) & 0xFF) > VERSION) {
+                throw new IOException("不支持的对局档案版本: " + (header.get(4) & 0xFF));
+            }
+            this.gameCount = header.getLong(8);
+            this.indexOffset = header.getLong(16);
+            long dataOffset = header.getLong(24);
+            if (gameCount < 0 || indexOffset < dataOffset || indexOffset + gameCount * 8 != size) {
+                throw new IOException("对局档案不完整（写入器可能未正常关闭）");
+            }
+            
+            this.stride = chunkSize - GameRecordFormat.MAX_RECORD_SIZE;
+            int chunkCount = (int) Math.max(1, (size + stride - 1) / stride);
+            this.chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long start = i * stride;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(chunkSize, size - start));
+            }
+            checkRecordHeader(dataOffset);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * 检查记录数据的文件头与当前棋盘参数一致
+     */
+    private void checkRecordHeader(long dataOffset) throws IOException {
+        ByteBuffer chunk = chunk(dataOffset);
+        int base = offsetInChunk(dataOffset);
+        if (chunk.getInt(base) != GameRecordFormat.MAGIC || (chunk.get(base + 4) & 0xFF) > GameRecordFormat.VERSION) {
+            throw new IOException("对局档案中的记录数据格式不正确");
+        }
+        if (!GameRecordFormat.isCompatible(chunk.get(base + 5) & 0xFF, chunk.get(base + 6) & 0xFF,
+                                           chunk.get(base + 7) & 0xFF)) {
+            throw new IOException("棋盘参数不一致");
+        }
+    }
+    
+    /**
+     * 获取对局数
+     * @return 对局数
+     */
+    public long size() {
+        return gameCount;
+    }
+    
+    /**
+     * 获取第n局记录的起始偏移
+     * @param n 对局序号
+     * @return 文件偏移
+     * @throws IndexOutOfBoundsException 如果序号超出范围
+     */
+    public long getOffset(long n) {
+        if (n < 0 || n >= gameCount) {
+            throw new IndexOutOfBoundsException("对局序号超出范围: " + n);
+        }
+        long position = indexOffset + n * 8;
+        return chunk(position).getLong(offsetInChunk(position));
+    }
+    
+    /**
+     * 获取第n局的结果
+     * @param n 对局序号
+     * @return 对局结果
+     */
+    public GameRecord.Outcome getOutcome(long n) {
+        long offset = getOffset(n);
+        return outcome(chunk(offset).get(offsetInChunk(offset)));
+    }
+    
+    /**
+     * 访问第n局的全部着法，直接从映射内存解码，不创建对象
+     * @param n 对局序号
+     * @param visitor 着法访问器
+     */
+    public void visit(long n, MoveVisitor visitor) {
+        long offset = getOffset(n);
+        ByteBuffer chunk = chunk(offset);
+        int position = offsetInChunk(offset);
+        GameRecord.Outcome outcome = outcome(chunk.get(position));
+        position = skipName(chunk, skipName(chunk, position + 1));
+        int moveCount = chunk.getShort(position) & 0xFFFF;
+        position += 2;
+        
+        visitor.beginGame(n, outcome, moveCount);
+        for (int ply = 0; ply < moveCount; ply++) {
+            visitor.visitMove(ply, chunk.getShort(position) & 0xFFFF);
+            position += 2;
+        }
+        visitor.endGame(n);
+    }
+    
+    /**
+     * 按顺序访问[from, to)范围内的对局，可把整个档案分段交给多个线程扫描
+     * @param from 起始序号（含）
+     * @param to 结束序号（不含）
+     * @param visitor 着法访问器
+     */
+    public void visit(long from, long to, MoveVisitor visitor) {
+        for (long n = from; n < to; n++) {
+            visit(n, visitor);
+        }
+    }
+    
+    /**
+     * 按顺序访问全部对局
+     * @param visitor 着法访问器
+     */
+    public void forEach(MoveVisitor visitor) {
+        visit(0, gameCount, visitor);
+    }
+    
+    /**
+     * 在游戏上重放第n局
+     * @param n 对局序号
+     * @param gameLogic 游戏，重放前会开始新游戏
+     * @throws IllegalStateException 如果记录中有不合法的着法
+     */
+    public void replay(long n, GameLogic gameLogic) {
+        gameLogic.newGame();
+        visit(n, (ply, moveCode) -> {
+            if (!GameRecord.applyMove(gameLogic, moveCode)) {
+                throw new IllegalStateException("第" + n + "局第" + (ply + 1) + "步着法不合法: " + moveCode);
+            }
+        });
+    }
+    
+    /**
+     * 读取第n局的完整记录（包括双方名称）
+     * @param n 对局序号
+     * @return 对局记录
+     */
+    public GameRecord read(long n) {
+        long offset = getOffset(n);
+        ByteBuffer chunk = chunk(offset);
+        int position = offsetInChunk(offset);
+        GameRecord.Outcome outcome = outcome(chunk.get(position));
+        String blackName = readName(chunk, position + 1);
+        position = skipName(chunk, position + 1);
+        String whiteName = readName(chunk, position);
+        position = skipName(chunk, position);
+        int[] moves = new int[chunk.getShort(position) & 0xFFFF];
+        position += 2;
+        for (int i = 0; i < moves.length; i++, position += 2) {
+            moves[i] = chunk.getShort(position) & 0xFFFF;
+        }
+        return new GameRecord(blackName, whiteName, outcome, moves);
+    }
+    
+    /**
+     * 校验第n局记录的CRC32
+     * @param n 对局序号
+     * @return 如果校验通过返回true
+     */
+    public boolean verify(long n) {
+        long offset = getOffset(n);
+        ByteBuffer chunk = chunk(offset);
+        int start = offsetInChunk(offset);
+        int position = skipName(chunk, skipName(chunk, start + 1));
+        int end = position + 2 + 2 * (chunk.getShort(position) & 0xFFFF);
+        
+        ByteBuffer body = chunk.duplicate();
+        body.limit(end);
+        body.position(start);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return chunk.getInt(end) == (int) crc.getValue();
+    }
+    
+    private ByteBuffer chunk(long position) {
+        return chunks[(int) (position / stride)];
+    }
+    
+    private int offsetInChunk(long position) {
+        return (int) (position % stride);
+    }
+    
+    private static GameRecord.Outcome outcome(byte value) {
+        if (value < 0 || value >= OUTCOMES.length) {
+            throw new IllegalStateException("对局结果无效: " + value);
+        }
+        return OUTCOMES[value];
+    }
+    
+    private static int skipName(ByteBuffer chunk, int position) {
+        return position + 2 + (chunk.getShort(position) & 0xFFFF);
+    }
+    
+    /**
+     * 读取名称；名称由DataOutput.writeUTF按修改版UTF-8写出，因此用同一套解码（与GameRecordReader一致），
+     * 空字符和增补字符的编码都与标准UTF-8不同
+     */
+    private static String readName(ByteBuffer chunk, int position) {
+        ByteBuffer slice = chunk.duplicate();
+        slice.limit(position + 2 + (chunk.getShort(position) & 0xFFFF));
+        slice.position(position);
+        byte[] bytes = new byte[slice.remaining()];
+        slice.get(bytes);
+        try {
+            return DataInputStream.readUTF(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new IllegalStateException("对局名称编码无效", e);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,111 @@
+package com.tictacgomoku.io;
+
+import com.tictacgomoku.model.GameLogic;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * 对局档案写入器
+ * 先顺序追加对局记录（格式与GameRecordWriter相同），关闭时写出定长偏移索引并回填档案头。
+ * 写入过程中只在内存中保留每局8字节的偏移。不是线程安全的
+ */
+public class GameArchiveWriter implements Closeable {
+    private final FileOutputStream file;
+    private final GameRecordWriter records;
+    private long[] offsets = new long[1024];
+    private int gameCount;
+    private boolean closed;
+    
+    /**
+     * 创建档案文件（覆盖已有文件）
+     * @param path 文件
+     * @throws IOException 如果文件无法创建
+     */
+    public GameArchiveWriter(File path) throws IOException {
+        this.file = new FileOutputStream(path);
+        try {
+            // 档案头在关闭时回填，这里先占位
+            file.write(new byte[GameArchive.HEADER_SIZE]);
+            this.records = new GameRecordWriter(file);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * 追加一局
+     * @param record 对局记录
+     * @throws IOException 如果写入失败
+     * @throws IllegalStateException 如果对局数超过索引上限
+     */
+    public void append(GameRecord record) throws IOException {
+        if (gameCount == Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("档案对局数已达上限");
+        }
+        if (gameCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, (int) Math.min(Integer.MAX_VALUE - 8L, offsets.length * 2L));
+        }
+        offsets[gameCount++] = GameArchive.HEADER_SIZE + records.getPosition();
+        records.write(record);
+    }
+    
+    /**
+     * 把游戏的着法历史追加为一局
+     * @param gameLogic 游戏
+     * @param blackName 黑方名称
+     * @param whiteName 白方名称
+     * @throws IOException 如果写入失败
+     */
+    public void append(GameLogic gameLogic, String blackName, String whiteName) throws IOException {
+        append(GameRecord.of(gameLogic, blackName, whiteName));
+    }
+    
+    /**
+     * 获取已追加的对局数
+     * @return 对局数
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+    
+    /**
+     * 写出索引、回填档案头并关闭文件
+     * @throws IOException 如果写入失败
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            records.flush();
+            long indexOffset = GameArchive.HEADER_SIZE + records.getPosition();
+            
+            DataOutputStream index = new DataOutputStream(new BufferedOutputStream(file));
+            for (int i = 0; i < gameCount; i++) {
+                index.writeLong(offsets[i]);
+            }
+            index.flush();
+            
+            ByteBuffer header = ByteBuffer.allocate(GameArchive.HEADER_SIZE);
+            header.putInt(GameArchive.MAGIC);
+            header.put((byte) GameArchive.VERSION);
+            header.position(8);
+            header.putLong(gameCount);
+            header.putLong(indexOffset);
+            header.putLong(GameArchive.HEADER_SIZE);
+            header.flip();
+            FileChannel channel = file.getChannel();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        } finally {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.tictacgomoku.io;
+
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.Player;
+import com.tictacgomoku.model.Position;
+import com.tictacgomoku.util.GameConstants;
+
+import java.util.Arrays;
+
+/**
+ * 对局记录
+ * 一局棋的双方名称、结果和按顺序排列的着法编码（五子棋格子序号 * 9 + 井字棋格子序号）
+ */
+public class GameRecord {
+    
+    /**
+     * 对局结果
+     */
+    public enum Outcome {
+        UNFINISHED,  // 未结束（中途保存）
+        BLACK_WIN,
+        WHITE_WIN,
+        DRAW;
+        
+        /**
+         * 根据游戏当前状态得到结果
+         * @param gameLogic 游戏
+         * @return 对局结果
+         */
+        public static Outcome of(GameLogic gameLogic) {
+            if (!gameLogic.isGameOver()) {
+                return UNFINISHED;
+            }
+            Player winner = gameLogic.getWinner();
+            if (winner == null) {
+                return DRAW;
+            }
+            return winner == Player.BLACK ? BLACK_WIN : WHITE_WIN;
+        }
+        
+        /**
+         * 获取获胜方
+         * @return 获胜方，平局或未结束时为null
+         */
+        public Player getWinner() {
+            return this == BLACK_WIN ? Player.BLACK : this == WHITE_WIN ? Player.WHITE : null;
+        }
+    }
+    
+    private final String blackName;
+    private final String whiteName;
+    private final Outcome outcome;
+    private final int[] moves;
+    
+    /**
+     * 构造函数
+     * @param blackName 黑方名称
+     * @param whiteName 白方名称
+     * @param outcome 对局结果
+     * @param moves 着法编码（会被复制）
+     * @throws IllegalArgumentException 如果名称编码后过长或着法编码超出范围
+     */
+    public GameRecord(String blackName, String whiteName, Outcome outcome, int[] moves) {
+        if (blackName == null || whiteName == null || outcome == null) {
+            throw new IllegalArgumentException("对局记录的名称和结果不能为空");
+        }
+        // 写入时名称过长会在结果字节之后才失败，留下半条记录，因此在这里提前检查
+        if (GameRecordFormat.utfLength(blackName) > GameRecordFormat.MAX_NAME_BYTES
+                || GameRecordFormat.utfLength(whiteName) > GameRecordFormat.MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("对局记录的名称过长");
+        }
+        for (int move : moves) {
+            if (move < 0 || move >= GameRecordFormat.MOVE_CODE_LIMIT) {
+                throw new IllegalArgumentException("着法编码超出范围: " + move);
+            }
+        }
+        this.blackName = blackName;
+        this.whiteName = whiteName;
+        this.outcome = outcome;
+        this.moves = moves.clone();
+    }
+    
+    /**
+     * 从游戏的着法历史创建对局记录
+     * @param gameLogic 游戏
+     * @param blackName 黑方名称
+     * @param whiteName 白方名称
+     * @return 对局记录
+     */
+    public static GameRecord of(GameLogic gameLogic, String blackName, String whiteName) {
+        int[] moves = new int[gameLogic.getMoveHistorySize()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = gameLogic.getHistoryMove(i);
+        }
+        return new GameRecord(blackName, whiteName, Outcome.of(gameLogic), moves);
+    }
+    
+    /**
+     * 在游戏上依次重放全部着法
+     * @param gameLogic 游戏（应处于新开局状态）
+     * @throws IllegalStateException 如果某一步着法不合法
+     */
+    public void replay(GameLogic gameLogic) {
+        for (int i = 0; i < moves.length; i++) {
+            if (!applyMove(gameLogic, moves[i])) {
+                throw new IllegalStateException("第" + (i + 1) + "步着法不合法: " + moves[i]);
+            }
+        }
+    }
+    
+    /**
+     * 在游戏上执行一步编码着法
+     * @param gameLogic 游戏
+     * @param code 着法编码
+     * @return 如果执行成功返回true
+     */
+    static boolean applyMove(GameLogic gameLogic, int code) {
+        int cell = code % 9;
+        return gameLogic.makeMove(Position.ofIndex(code / 9),
+            Position.of(cell / GameConstants.TICTACTOE_BOARD_SIZE, cell % GameConstants.TICTACTOE_BOARD_SIZE));
+    }
+    
+    public String getBlackName() {
+        return blackName;
+    }
+    
+    public String getWhiteName() {
+        return whiteName;
+    }
+    
+    public Outcome getOutcome() {
+        return outcome;
+    }
+    
+    public int getMoveCount() {
+        return moves.length;
+    }
+    
+    /**
+     * 获取第index步着法编码
+     * @param index 着法序号
+     * @return 着法编码
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+    
+    /**
+     * 获取全部着法编码
+     * @return 着法编码的副本
+     */
+    public int[] getMoves() {
+        return moves.clone();
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        GameRecord other = (GameRecord) obj;
+        return blackName.equals(other.blackName) && whiteName.equals(other.whiteName)
+            && outcome == other.outcome && Arrays.equals(moves, other.moves);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * blackName.hashCode() + whiteName.hashCode()) + outcome.hashCode())
+            + Arrays.hashCode(moves);
+    }
+    
+    @Override
+    public String toString() {
+        return blackName + " vs " + whiteName + ": " + outcome + ", " + moves.length + " 步";
+    }
+}
@@ -0,0 +1,70 @@
+package com.tictacgomoku.io;
+
+import com.tictacgomoku.util.GameConstants;
+
+/**
+ * 二进制对局记录格式
+ * <pre>
+ * 文件头（8字节）：
+ *   魔数 "TTGR"（4字节）、版本（1字节）、五子棋盘边长（1字节）、井字棋盘边长（1字节）、获胜连子数（1字节）
+ * 之后是任意多条对局记录，每条：
+ *   结果（1字节，GameRecord.Outcome的序号）
+ *   黑方名称、白方名称（各为2字节长度 + 修改版UTF-8，同DataOutput.writeUTF）
+ *   着法数（2字节无符号）
+ *   着法（每步2字节无符号，五子棋格子序号 * 9 + 井字棋格子序号）
+ *   CRC32校验值（4字节，覆盖本条记录从结果到最后一步的全部字节）
+ * </pre>
+ * 所有多字节整数均为大端序
+ */
+public final class GameRecordFormat {
+    public static final int MAGIC = 0x54544752;  // "TTGR"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 8;
+    public static final int MOVE_CODE_LIMIT = GameConstants.GOMOKU_BOARD_SIZE * GameConstants.GOMOKU_BOARD_SIZE
+                                              * GameConstants.TICTACTOE_BOARD_SIZE * GameConstants.TICTACTOE_BOARD_SIZE;
+    public static final int MAX_MOVES = 0xFFFF;
+    // 名称编码后的最大字节数（writeUTF的长度前缀为2字节）
+    public static final int MAX_NAME_BYTES = 0xFFFF;
+    // 单条记录的最大字节数：结果 + 两个名称 + 着法数 + 着法 + 校验值
+    public static final int MAX_RECORD_SIZE = 1 + 2 * (2 + MAX_NAME_BYTES) + 2 + 2 * MAX_MOVES + 4;
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private GameRecordFormat() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 计算字符串按修改版UTF-8（DataOutput.writeUTF）编码后的字节数
+     * @param text 字符串
+     * @return 字节数
+     */
+    static int utfLength(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                length++;
+            } else if (c <= 0x07FF) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+    
+    /**
+     * 检查文件头中的棋盘参数是否与当前游戏一致
+     * @param gomokuSize 五子棋盘边长
+     * @param ticTacToeSize 井字棋盘边长
+     * @param winCondition 获胜连子数
+     * @return 如果一致返回true
+     */
+    static boolean isCompatible(int gomokuSize, int ticTacToeSize, int winCondition) {
+        return gomokuSize == GameConstants.GOMOKU_BOARD_SIZE
+            && ticTacToeSize == GameConstants.TICTACTOE_BOARD_SIZE
+            && winCondition == GameConstants.WIN_CONDITION;
+    }
+}
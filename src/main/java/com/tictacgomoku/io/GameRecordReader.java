@@ -0,0 +1,137 @@
+package com.tictacgomoku.io;
+
+import com.tictacgomoku.model.GameLogic;
+
+import java.io.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * 对局记录读取器
+ * 逐条读取GameRecordWriter写出的记录并校验CRC32，任意时刻只在内存中保留当前一局
+ */
+public class GameRecordReader implements Closeable {
+    private final InputStream in;
+    private final CRC32 crc = new CRC32();
+    private final CheckedInputStream checkedStream;
+    private final DataInputStream checked;  // 读取的字节计入校验值
+    private final DataInputStream raw;      // 读校验值本身
+    private final int version;
+    private long gamesRead;
+    
+    /**
+     * 构造函数，立即读取并检查文件头
+     * @param in 输入流（内部会加缓冲）
+     * @throws IOException 如果读取失败、不是对局记录文件或棋盘参数不一致
+     */
+    public GameRecordReader(InputStream in) throws IOException {
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+        this.checkedStream = new CheckedInputStream(this.in, crc);
+        this.checked = new DataInputStream(checkedStream);
+        this.raw = new DataInputStream(this.in);
+        this.version = readHeader();
+    }
+    
+    /**
+     * 打开对局记录文件
+     * @param file 文件
+     * @return 读取器
+     * @throws IOException 如果文件无法打开或格式不正确
+     */
+    public static GameRecordReader open(File file) throws IOException {
+        InputStream stream = new FileInputStream(file);
+        try {
+            return new GameRecordReader(stream);
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+    }
+    
+    private int readHeader() throws IOException {
+        if (raw.readInt() != GameRecordFormat.MAGIC) {
+            throw new IOException("不是对局记录文件");
+        }
+        int fileVersion = raw.readUnsignedByte();
+        if (fileVersion > GameRecordFormat.VERSION) {
+            throw new IOException("不支持的对局记录版本: " + fileVersion);
+        }
+        int gomokuSize = raw.readUnsignedByte();
+        int ticTacToeSize = raw.readUnsignedByte();
+        int winCondition = raw.readUnsignedByte();
+        if (!GameRecordFormat.isCompatible(gomokuSize, ticTacToeSize, winCondition)) {
+            throw new IOException("棋盘参数不一致: " + gomokuSize + "x" + gomokuSize
+                + ", 井字棋 " + ticTacToeSize + "x" + ticTacToeSize + ", 连" + winCondition);
+        }
+        return fileVersion;
+    }
+    
+    /**
+     * 读取下一条对局记录
+     * @return 对局记录，已到文件末尾时返回null
+     * @throws IOException 如果读取失败、记录被截断或校验失败
+     */
+    public GameRecord read() throws IOException {
+        crc.reset();
+        int outcomeOrdinal = checkedStream.read();
+        if (outcomeOrdinal < 0) {
+            return null;
+        }
+        GameRecord.Outcome[] outcomes = GameRecord.Outcome.values();
+        if (outcomeOrdinal >= outcomes.length) {
+            throw new IOException("第" + (gamesRead + 1) + "局的结果无效: " + outcomeOrdinal);
+        }
+        String blackName = checked.readUTF();
+        String whiteName = checked.readUTF();
+        int[] moves = new int[checked.readUnsignedShort()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = checked.readUnsignedShort();
+            if (moves[i] >= GameRecordFormat.MOVE_CODE_LIMIT) {
+                throw new IOException("第" + (gamesRead + 1) + "局的着法编码无效: " + moves[i]);
+            }
+        }
+        int expected = (int) crc.getValue();
+        if (raw.readInt() != expected) {
+            throw new IOException("第" + (gamesRead + 1) + "局校验失败");
+        }
+        gamesRead++;
+        return new GameRecord(blackName, whiteName, outcomes[outcomeOrdinal], moves);
+    }
+    
+    /**
+     * 读取下一局并在游戏上重放
+     * @param gameLogic 游戏，重放前会开始新游戏
+     * @return 对局记录，已到文件末尾时返回null
+     * @throws IOException 如果读取失败
+     * @throws IllegalStateException 如果记录中有不合法的着法
+     */
+    public GameRecord replayNext(GameLogic gameLogic) throws IOException {
+        GameRecord record = read();
+        if (record != null) {
+            gameLogic.newGame();
+            record.replay(gameLogic);
+        }
+        return record;
+    }
+    
+    /**
+     * 获取文件格式版本
+     * @return 版本号
+     */
+    public int getVersion() {
+        return version;
+    }
+    
+    /**
+     * 获取已读取的对局数
+     * @return 对局数
+     */
+    public long getGamesRead() {
+        return gamesRead;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,113 @@
+package com.tictacgomoku.io;
+
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.util.GameConstants;
+
+import java.io.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 对局记录写入器
+ * 创建时写出文件头，之后每局结束追加一条记录；只缓冲当前写出的字节，可以连续写入任意多局。
+ * 不是线程安全的，多个线程共用时需要外部同步
+ */
+public class GameRecordWriter implements Closeable, Flushable {
+    private final OutputStream out;
+    private final CountingOutputStream counter;
+    private final CRC32 crc = new CRC32();
+    private final DataOutputStream checked;  // 写入的字节计入校验值
+    private final DataOutputStream raw;      // 写校验值本身
+    private long gamesWritten;
+    
+    /**
+     * 构造函数，立即写出文件头
+     * @param out 输出流（内部会加缓冲）
+     * @throws IOException 如果写入失败
+     */
+    public GameRecordWriter(OutputStream out) throws IOException {
+        this.out = out instanceof BufferedOutputStream ? out : new BufferedOutputStream(out);
+        this.counter = new CountingOutputStream(this.out);
+        this.checked = new DataOutputStream(new CheckedOutputStream(counter, crc));
+        this.raw = new DataOutputStream(counter);
+        writeHeader();
+    }
+    
+    /**
+     * 创建写入文件的写入器（覆盖已有文件）
+     * @param file 文件
+     * @return 写入器
+     * @throws IOException 如果文件无法创建
+     */
+    public static GameRecordWriter create(File file) throws IOException {
+        return new GameRecordWriter(new FileOutputStream(file));
+    }
+    
+    private void writeHeader() throws IOException {
+        raw.writeInt(GameRecordFormat.MAGIC);
+        raw.writeByte(GameRecordFormat.VERSION);
+        raw.writeByte(GameConstants.GOMOKU_BOARD_SIZE);
+        raw.writeByte(GameConstants.TICTACTOE_BOARD_SIZE);
+        raw.writeByte(GameConstants.WIN_CONDITION);
+    }
+    
+    /**
+     * 写入一条对局记录
+     * @param record 对局记录
+     * @throws IOException 如果写入失败
+     * @throws IllegalArgumentException 如果着法数超过格式上限
+     */
+    public void write(GameRecord record) throws IOException {
+        int moveCount = record.getMoveCount();
+        if (moveCount > GameRecordFormat.MAX_MOVES) {
+            throw new IllegalArgumentException("着法数超过格式上限: " + moveCount);
+        }
+        crc.reset();
+        checked.writeByte(record.getOutcome().ordinal());
+        checked.writeUTF(record.getBlackName());
+        checked.writeUTF(record.getWhiteName());
+        checked.writeShort(moveCount);
+        for (int i = 0; i < moveCount; i++) {
+            checked.writeShort(record.getMove(i));
+        }
+        raw.writeInt((int) crc.getValue());
+        gamesWritten++;
+    }
+    
+    /**
+     * 把游戏的着法历史写为一条对局记录
+     * @param gameLogic 游戏
+     * @param blackName 黑方名称
+     * @param whiteName 白方名称
+     * @throws IOException 如果写入失败
+     */
+    public void write(GameLogic gameLogic, String blackName, String whiteName) throws IOException {
+        write(GameRecord.of(gameLogic, blackName, whiteName));
+    }
+    
+    /**
+     * 获取已写出的字节数（含文件头），即下一条记录相对写入器起点的偏移
+     * @return 字节数
+     */
+    public long getPosition() {
+        return counter.getCount();
+    }
+    
+    /**
+     * 获取已写入的对局数
+     * @return 对局数
+     */
+    public long getGamesWritten() {
+        return gamesWritten;
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,31 @@
+package com.tictacgomoku.io;
+
+/**
+ * 着法访问器
+ * GameArchive遍历对局时直接从映射内存中解码着法并回调，不创建任何对象
+ */
+public interface MoveVisitor {
+    
+    /**
+     * 开始访问一局
+     * @param gameIndex 对局序号
+     * @param outcome 对局结果
+     * @param moveCount 着法数
+     */
+    default void beginGame(long gameIndex, GameRecord.Outcome outcome, int moveCount) {
+    }
+    
+    /**
+     * 访问一步着法
+     * @param ply 着法序号，从0开始
+     * @param moveCode 着法编码（五子棋格子序号 * 9 + 井字棋格子序号）
+     */
+    void visitMove(int ply, int moveCode);
+    
+    /**
+     * 结束访问一局
+     * @param gameIndex 对局序号
+     */
+    default void endGame(long gameIndex) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.tictacgomoku.io;
+
+import com.tictacgomoku.model.GameSnapshot;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * 存档文件
+ * <pre>
+ * 魔数 "TTGS"（4字节）、快照长度（4字节）、GameSnapshot.toByteArray()的内容、CRC32（4字节，只覆盖快照内容）
+ * </pre>
+ * 保存时先写临时文件再替换目标文件，写到一半被中断也不会破坏已有存档
+ */
+public final class SnapshotFile {
+    public static final int MAGIC = 0x54544753;  // "TTGS"
+    private static final int MAX_SNAPSHOT_SIZE = 1 << 20;
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private SnapshotFile() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 保存快照
+     * @param file 目标文件，所在目录不存在时会创建
+     * @param snapshot 快照
+     * @throws IOException 如果写入失败
+     */
+    public static void save(File file, GameSnapshot snapshot) throws IOException {
+        byte[] bytes = snapshot.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("无法创建目录: " + directory);
+        }
+        File temp = new File(directory, file.getName() + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temp)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(MAGIC);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            stream.getFD().sync();
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * 读取快照
+     * @param file 存档文件
+     * @return 快照
+     * @throws IOException 如果读取失败、不是存档文件或内容已损坏
+     */
+    public static GameSnapshot load(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("不是存档文件");
+            }
+            int length = in.readInt();
+            if (length <= 0 || length > MAX_SNAPSHOT_SIZE) {
+                throw new IOException("存档长度无效: " + length);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length);
+            if (in.readInt() != (int) crc.getValue()) {
+                throw new IOException("存档校验失败");
+            }
+            return GameSnapshot.fromByteArray(bytes);
+        } catch (EOFException e) {
+            throw new IOException("存档文件不完整", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("存档内容无效: " + e.getMessage(), e);
+        }
+    }
+}
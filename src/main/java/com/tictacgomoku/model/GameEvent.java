@@ -0,0 +1,70 @@
+package com.tictacgomoku.model;
+
+/**
+ * 游戏事件
+ * 由GameLogic在状态改变时发出，界面据此只刷新受影响的部分
+ */
+public class GameEvent {
+    
+    /**
+     * 事件类型
+     */
+    public enum Type {
+        MOVE_MADE,             // 下了一步井字棋
+        STONE_PLACED,          // 赢得井字棋，在五子棋盘上落子
+        ACTIVE_BOARD_CHANGED,  // 活跃井字棋或自由选择状态改变
+        GAME_OVER,             // 游戏结束
+        MOVE_UNDONE,           // 撤销了一步井字棋
+        GAME_RESET             // 开始新游戏
+    }
+    
+    private final Type type;
+    private final Position gomokuPosition;
+    private final Position ticTacToePosition;
+    private final Player player;
+    
+    /**
+     * 构造函数
+     * @param type 事件类型
+     * @param gomokuPosition 相关的五子棋位置，可以为null
+     * @param ticTacToePosition 相关的井字棋位置，可以为null
+     * @param player 相关的玩家，可以为null
+     */
+    public GameEvent(Type type, Position gomokuPosition, Position ticTacToePosition, Player player) {
+        this.type = type;
+        this.gomokuPosition = gomokuPosition;
+        this.ticTacToePosition = ticTacToePosition;
+        this.player = player;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    /**
+     * 获取相关的五子棋位置
+     * MOVE_MADE/MOVE_UNDONE/STONE_PLACED为发生变化的位置，ACTIVE_BOARD_CHANGED为新的活跃位置（自由选择时为null）
+     * @return 五子棋位置
+     */
+    public Position getGomokuPosition() {
+        return gomokuPosition;
+    }
+    
+    public Position getTicTacToePosition() {
+        return ticTacToePosition;
+    }
+    
+    /**
+     * 获取相关的玩家
+     * MOVE_MADE/MOVE_UNDONE为走棋方，STONE_PLACED为棋子所属方，GAME_OVER为获胜者（平局为null）
+     * @return 玩家
+     */
+    public Player getPlayer() {
+        return player;
+    }
+    
+    @Override
+    public String toString() {
+        return "GameEvent{" + type + ", " + gomokuPosition + ", " + ticTacToePosition + ", " + player + "}";
+    }
+}
@@ -0,0 +1,13 @@
+package com.tictacgomoku.model;
+
+/**
+ * 游戏事件监听器
+ */
+public interface GameEventListener {
+    
+    /**
+     * 游戏状态改变时调用，在执行改变的线程上同步回调
+     * @param event 游戏事件
+     */
+    void onGameEvent(GameEvent event);
+}
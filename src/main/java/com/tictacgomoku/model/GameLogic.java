@@ -2,6 +2,7 @@ package com.tictacgomoku.model;
 
 import com.tictacgomoku.util.GameConstants;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -9,8 +10,30 @@ import java.util.List;
  * 管理整个井字五子棋游戏的逻辑
  */
 public class GameLogic {
+    // Zobrist校验模式：开启后每步棋之后都从头重算哈希并与增量结果比对（用于测试，开销较大）
+    private static boolean zobristVerification = Boolean.getBoolean("tictacgomoku.verifyZobrist");
+    
+    // 着法栈条目编码（每步一个int）：
+    // 0-7位五子棋格子序号，8-11位井字棋格子序号，12位是否放置了五子棋棋子，
+    // 13-20位之前的活跃位置序号+1（0表示无），21位之前的自由选择标志，
+    // 22位之前的游戏已开始标志，23-26位之前的井字棋位置序号+1（0表示无）
+    private static final int STACK_TTT_SHIFT = 8;
+    private static final int STACK_MOVE_MASK = (1 << 12) - 1;  // 五子棋格子序号和井字棋格子序号
+    private static final int STACK_STONE_FLAG = 1 << 12;
+    private static final int STACK_ACTIVE_SHIFT = 13;
+    private static final int STACK_FREE_FLAG = 1 << 21;
+    private static final int STACK_STARTED_FLAG = 1 << 22;
+    private static final int STACK_LAST_TTT_SHIFT = 23;
+    private static final int INITIAL_STACK_CAPACITY = 256;
+    
     private GomokuBoard gomokuBoard;
     private GameState gameState;
+    private long ticTacToeKey;  // 所有井字棋格子棋子的Zobrist哈希
+    private int[] moveStack;
+    private int moveStackSize;
+    private int redoLimit;  // 着法栈中[moveStackSize, redoLimit)是撤销后仍可重做的着法
+    private boolean selectionPending;  // 自由选择时已手动选定位置但尚未落子，撤销时应恢复为自由选择
+    private final List<GameEventListener> listeners = new ArrayList<>(1);  // 副本不继承监听器
     
     /**
      * 构造函数，初始化游戏
@@ -18,6 +41,92 @@ public class GameLogic {
     public GameLogic() {
         gomokuBoard = new GomokuBoard();
         gameState = new GameState();
+        moveStack = new int[INITIAL_STACK_CAPACITY];
+        moveStackSize = 0;
+    }
+    
+    /**
+     * 使用现有棋盘和状态构造游戏（用于复制）
+     * @param gomokuBoard 五子棋盘
+     * @param gameState 游戏状态
+     * @param ticTacToeKey 井字棋格子的Zobrist哈希
+     * @param moveStack 着法栈
+     * @param moveStackSize 着法栈大小
+     */
+    private GameLogic(GomokuBoard gomokuBoard, GameState gameState, long ticTacToeKey,
+                      int[] moveStack, int moveStackSize) {
+        this.gomokuBoard = gomokuBoard;
+        this.gameState = gameState;
+        this.ticTacToeKey = ticTacToeKey;
+        this.moveStack = moveStack;
+        this.moveStackSize = moveStackSize;
+        this.redoLimit = moveStackSize;
+    }
+    
+    /**
+     * 创建游戏的副本，供AI等需要独立推演的场景使用（不复制事件监听器和重做序列）
+     * @return 包含棋盘、状态和着法栈深拷贝的游戏对象
+     */
+    public GameLogic copy() {
+        GameLogic copy = new GameLogic(gomokuBoard.copy(), gameState.copy(), ticTacToeKey,
+            Arrays.copyOf(moveStack, Math.max(moveStackSize, INITIAL_STACK_CAPACITY)), moveStackSize);
+        copy.selectionPending = selectionPending;
+        return copy;
+    }
+    
+    /**
+     * 保存当前完整状态的快照，只复制基本类型数组，不复制棋盘对象
+     * @return 快照（包含可撤销的着法栈）
+     */
+    public GameSnapshot snapshot() {
+        return GameSnapshot.of(gomokuBoard, gameState, moveStack, moveStackSize);
+    }
+    
+    /**
+     * 恢复到快照保存的状态，恢复后仍可逐步撤销快照中的着法
+     * 五子棋棋子按井字棋盘的胜负重新放置，Zobrist哈希随之重建；完成后发出GAME_RESET事件
+     * @param snapshot 快照
+     */
+    public void restore(GameSnapshot snapshot) {
+        gomokuBoard.reset();
+        ticTacToeKey = 0L;
+        for (int index = 0; index < GameConstants.GOMOKU_BOARD_SIZE * GameConstants.GOMOKU_BOARD_SIZE; index++) {
+            Position pos = Position.ofIndex(index);
+            TicTacToeBoard ticTacToeBoard = gomokuBoard.getTicTacToeBoard(pos);
+            ticTacToeBoard.setPositionCode(snapshot.getBoardCode(index));
+            for (Player player : Player.values()) {
+                int mask = ticTacToeBoard.getPlayerMask(player);
+                while (mask != 0) {
+                    int cell = Integer.numberOfTrailingZeros(mask);
+                    mask &= mask - 1;
+                    ticTacToeKey ^= ZobristKeys.ticTacToe(player, index, cell);
+                }
+            }
+            Player winner = ticTacToeBoard.getWinner();
+            if (winner != null) {
+                gomokuBoard.placeStone(pos, winner);
+            } else {
+                gomokuBoard.updateDrawnState(pos);
+            }
+        }
+        
+        gameState.reset();
+        gameState.setCurrentPlayer(snapshot.getCurrentPlayer());
+        gameState.setActiveGomokuPosition(snapshot.getActiveGomokuPosition());
+        gameState.setCanChooseFreely(snapshot.canChooseFreely());
+        gameState.setLastTicTacToeMove(snapshot.getLastTicTacToeMove());
+        gameState.setGameStarted(snapshot.isGameStarted());
+        
+        int[] history = snapshot.history();
+        moveStack = Arrays.copyOf(history, Math.max(history.length, INITIAL_STACK_CAPACITY));
+        moveStackSize = history.length;
+        redoLimit = moveStackSize;
+        selectionPending = false;
+        
+        if (zobristVerification) {
+            verifyZobristKey();
+        }
+        fireEvent(GameEvent.Type.GAME_RESET, null, null, null);
     }
     
     /**
@@ -26,6 +135,11 @@ public class GameLogic {
     public void newGame() {
         gomokuBoard.reset();
         gameState.reset();
+        ticTacToeKey = 0L;
+        moveStackSize = 0;
+        redoLimit = 0;
+        selectionPending = false;
+        fireEvent(GameEvent.Type.GAME_RESET, null, null, null);
     }
     
     /**
@@ -46,10 +160,15 @@ public class GameLogic {
         }
         
         // 在井字棋盘上下棋
-        if (!ticTacToeBoard.makeMove(ticTacToePosition, gameState.getCurrentPlayer())) {
+        Player player = gameState.getCurrentPlayer();
+        if (!ticTacToeBoard.makeMove(ticTacToePosition, player)) {
             return false;
         }
-          gameState.setGameStarted(true);
+        int ticTacToeIndex = ticTacToePosition.getRow() * GameConstants.TICTACTOE_BOARD_SIZE + ticTacToePosition.getCol();
+        ticTacToeKey ^= ZobristKeys.ticTacToe(player, gomokuPosition.getIndex(), ticTacToeIndex);
+        int entry = encodeStackEntry(gomokuPosition.getIndex(), ticTacToeIndex);
+        selectionPending = false;
+        gameState.setGameStarted(true);
         gameState.setLastTicTacToeMove(ticTacToePosition);
         
         // 检查井字棋是否结束
@@ -57,15 +176,190 @@ public class GameLogic {
             if (ticTacToeBoard.getWinner() != null) {
                 // 有获胜者，在五子棋盘上放置棋子
                 gomokuBoard.placeStone(gomokuPosition, ticTacToeBoard.getWinner());
+                entry |= STACK_STONE_FLAG;
+            } else {
+                gomokuBoard.updateDrawnState(gomokuPosition);
             }
         }
+        // 与下一步可重做的着法相同时保留重做序列，否则新着法使其失效
+        boolean redo = moveStackSize < redoLimit && ((moveStack[moveStackSize] ^ entry) & STACK_MOVE_MASK) == 0;
+        pushStackEntry(entry);
+        if (!redo) {
+            redoLimit = moveStackSize;
+        }
         
         // 每一步棋都要根据落子位置决定下一个战场
         determineNextPosition(gomokuPosition, ticTacToePosition);
         
+        if (zobristVerification) {
+            verifyZobristKey();
+        }
+        if (!listeners.isEmpty()) {
+            fireMoveEvents(gomokuPosition, ticTacToePosition, player, (entry & STACK_STONE_FLAG) != 0);
+        }
         return true;
     }
     
+    /**
+     * 发出一步棋产生的事件：着法、落子（如有）、活跃位置变化、游戏结束（如有）
+     */
+    private void fireMoveEvents(Position gomokuPosition, Position ticTacToePosition, Player player, boolean stonePlaced) {
+        fireEvent(GameEvent.Type.MOVE_MADE, gomokuPosition, ticTacToePosition, player);
+        if (stonePlaced) {
+            fireEvent(GameEvent.Type.STONE_PLACED, gomokuPosition, null, player);
+        }
+        fireEvent(GameEvent.Type.ACTIVE_BOARD_CHANGED, currentActivePosition(), null, null);
+        if (gomokuBoard.isFinished() || gomokuBoard.isDraw()) {
+            fireEvent(GameEvent.Type.GAME_OVER, null, null, gomokuBoard.getWinner());
+        }
+    }
+    
+    /**
+     * 撤销最后一步棋，恢复井字棋格子、五子棋棋子以及下棋前的路由状态
+     * 所需信息全部来自基本类型的着法栈，撤销过程不分配任何对象
+     * 被撤销的条目留在着法栈中，可以用redoMove()重做
+     * @return 如果有可撤销的着法返回true
+     */
+    public boolean undoMove() {
+        if (moveStackSize == 0) {
+            return false;
+        }
+        
+        int entry = moveStack[--moveStackSize];
+        int gomokuIndex = entry & 0xFF;
+        int ticTacToeIndex = (entry >>> STACK_TTT_SHIFT) & 0xF;
+        Position gomokuPosition = Position.ofIndex(gomokuIndex);
+        
+        // 每步棋之后都会切换玩家，切换回来即为走这步棋的玩家
+        gameState.switchPlayer();
+        Player player = gameState.getCurrentPlayer();
+        
+        if ((entry & STACK_STONE_FLAG) != 0) {
+            gomokuBoard.removeStone(gomokuPosition);
+        }
+        gomokuBoard.getTicTacToeBoard(gomokuPosition).undoMove(
+            Position.of(ticTacToeIndex / GameConstants.TICTACTOE_BOARD_SIZE, ticTacToeIndex % GameConstants.TICTACTOE_BOARD_SIZE));
+        gomokuBoard.updateDrawnState(gomokuPosition);
+        ticTacToeKey ^= ZobristKeys.ticTacToe(player, gomokuIndex, ticTacToeIndex);
+        
+        int activeIndex = ((entry >>> STACK_ACTIVE_SHIFT) & 0xFF) - 1;
+        gameState.setActiveGomokuPosition(activeIndex < 0 ? null : Position.ofIndex(activeIndex));
+        gameState.setCanChooseFreely((entry & STACK_FREE_FLAG) != 0);
+        gameState.setGameStarted((entry & STACK_STARTED_FLAG) != 0);
+        selectionPending = false;
+        int lastIndex = ((entry >>> STACK_LAST_TTT_SHIFT) & 0xF) - 1;
+        gameState.setLastTicTacToeMove(lastIndex < 0 ? null : 
+            Position.of(lastIndex / GameConstants.TICTACTOE_BOARD_SIZE, lastIndex % GameConstants.TICTACTOE_BOARD_SIZE));
+        
+        if (zobristVerification) {
+            verifyZobristKey();
+        }
+        if (!listeners.isEmpty()) {
+            Position ticTacToePosition = Position.of(ticTacToeIndex / GameConstants.TICTACTOE_BOARD_SIZE,
+                                                     ticTacToeIndex % GameConstants.TICTACTOE_BOARD_SIZE);
+            fireEvent(GameEvent.Type.MOVE_UNDONE, gomokuPosition, ticTacToePosition, player);
+            fireEvent(GameEvent.Type.ACTIVE_BOARD_CHANGED, currentActivePosition(), null, null);
+        }
+        return true;
+    }
+    
+    /**
+     * 重做最近一次撤销的着法
+     * 被撤销的条目仍留在着法栈中，重做只是按原来的位置再走一次，同样是O(1)的
+     * @return 如果有可重做的着法返回true
+     */
+    public boolean redoMove() {
+        if (moveStackSize >= redoLimit) {
+            return false;
+        }
+        int entry = moveStack[moveStackSize];
+        int ticTacToeIndex = (entry >>> STACK_TTT_SHIFT) & 0xF;
+        return makeMove(Position.ofIndex(entry & 0xFF),
+            Position.of(ticTacToeIndex / GameConstants.TICTACTOE_BOARD_SIZE, ticTacToeIndex % GameConstants.TICTACTOE_BOARD_SIZE));
+    }
+    
+    /**
+     * 获取可重做的着法数
+     * @return 撤销后尚未被新着法覆盖的着法数
+     */
+    public int getRedoCount() {
+        return redoLimit - moveStackSize;
+    }
+    
+    /**
+     * 获取已执行且可撤销的着法数
+     * @return 着法栈大小
+     */
+    public int getMoveHistorySize() {
+        return moveStackSize;
+    }
+    
+    /**
+     * 获取已执行的第index步着法，编码与MoveGenerator一致（五子棋格子序号 * 9 + 井字棋格子序号）
+     * @param index 着法序号，从0开始
+     * @return 着法编码
+     * @throws IndexOutOfBoundsException 如果序号超出着法历史范围
+     */
+    public int getHistoryMove(int index) {
+        if (index < 0 || index >= moveStackSize) {
+            throw new IndexOutOfBoundsException("着法序号超出范围: " + index);
+        }
+        int entry = moveStack[index];
+        return (entry & 0xFF) * 9 + ((entry >>> STACK_TTT_SHIFT) & 0xF);
+    }
+    
+    /**
+     * 按下棋前的状态编码着法栈条目
+     * 如果这步棋之前手动选择了位置，记录的是选择之前的自由选择状态，这样撤销后仍可自由选择
+     * @param gomokuIndex 五子棋格子序号
+     * @param ticTacToeIndex 井字棋格子序号
+     * @return 着法栈条目（不含放置棋子标志）
+     */
+    private int encodeStackEntry(int gomokuIndex, int ticTacToeIndex) {
+        Position activePos = selectionPending ? null : gameState.getActiveGomokuPosition();
+        Position lastMove = gameState.getLastTicTacToeMove();
+        int entry = gomokuIndex | (ticTacToeIndex << STACK_TTT_SHIFT);
+        entry |= (activePos == null ? 0 : activePos.getIndex() + 1) << STACK_ACTIVE_SHIFT;
+        if (selectionPending || gameState.canChooseFreely()) {
+            entry |= STACK_FREE_FLAG;
+        }
+        if (gameState.isGameStarted()) {
+            entry |= STACK_STARTED_FLAG;
+        }
+        int lastIndex = lastMove == null ? 0 
+            : lastMove.getRow() * GameConstants.TICTACTOE_BOARD_SIZE + lastMove.getCol() + 1;
+        return entry | (lastIndex << STACK_LAST_TTT_SHIFT);
+    }
+    
+    /**
+     * 按格子映射表变换着法栈条目中的全部坐标（供Symmetry变换快照使用）
+     * @param entry 着法栈条目
+     * @param gomokuMap 五子棋格子映射表
+     * @param ticTacToeMap 井字棋格子映射表
+     * @return 变换后的条目
+     */
+    static int transformStackEntry(int entry, int[] gomokuMap, int[] ticTacToeMap) {
+        int gomokuIndex = gomokuMap[entry & 0xFF];
+        int ticTacToeIndex = ticTacToeMap[(entry >>> STACK_TTT_SHIFT) & 0xF];
+        int activeIndex = ((entry >>> STACK_ACTIVE_SHIFT) & 0xFF) - 1;
+        int lastIndex = ((entry >>> STACK_LAST_TTT_SHIFT) & 0xF) - 1;
+        int flags = entry & (STACK_STONE_FLAG | STACK_FREE_FLAG | STACK_STARTED_FLAG);
+        return flags | gomokuIndex | (ticTacToeIndex << STACK_TTT_SHIFT)
+            | ((activeIndex < 0 ? 0 : gomokuMap[activeIndex] + 1) << STACK_ACTIVE_SHIFT)
+            | ((lastIndex < 0 ? 0 : ticTacToeMap[lastIndex] + 1) << STACK_LAST_TTT_SHIFT);
+    }
+    
+    /**
+     * 压入着法栈，容量不足时倍增
+     * @param entry 着法栈条目
+     */
+    private void pushStackEntry(int entry) {
+        if (moveStackSize == moveStack.length) {
+            moveStack = Arrays.copyOf(moveStack, moveStack.length * 2);
+        }
+        moveStack[moveStackSize++] = entry;
+    }
+    
     /**
      * 检查是否可以在指定五子棋位置进行井字棋游戏
      * @param gomokuPosition 五子棋位置
@@ -149,9 +443,48 @@ public class GameLogic {
         }
         
         gameState.setActiveGomokuPosition(gomokuPosition);
+        selectionPending = true;
+        fireEvent(GameEvent.Type.ACTIVE_BOARD_CHANGED, gomokuPosition, null, null);
         return true;
     }
     
+    /**
+     * 获取当前必须下棋的活跃位置
+     * @return 活跃位置，可以自由选择时为null
+     */
+    private Position currentActivePosition() {
+        return gameState.canChooseFreely() ? null : gameState.getActiveGomokuPosition();
+    }
+    
+    /**
+     * 添加游戏事件监听器
+     * @param listener 监听器
+     */
+    public void addGameEventListener(GameEventListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * 移除游戏事件监听器
+     * @param listener 监听器
+     */
+    public void removeGameEventListener(GameEventListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * 向所有监听器发出事件，没有监听器时不创建事件对象
+     */
+    private void fireEvent(GameEvent.Type type, Position gomokuPosition, Position ticTacToePosition, Player player) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        GameEvent event = new GameEvent(type, gomokuPosition, ticTacToePosition, player);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onGameEvent(event);
+        }
+    }
+    
     /**
      * 获取五子棋盘
      * @return 五子棋盘对象
@@ -201,6 +534,71 @@ public class GameLogic {
         return gomokuBoard.getTicTacToeBoard(gomokuPosition);
     }
     
+    /**
+     * 获取整个局面的Zobrist哈希（增量维护，O(1)）
+     * 包括五子棋棋子、所有井字棋格子、当前玩家、活跃位置和自由选择标志
+     * @return 64位哈希值
+     */
+    public long getZobristKey() {
+        return gomokuBoard.getZobristKey() ^ ticTacToeKey ^ gameState.getZobristKey();
+    }
+    
+    /**
+     * 从头计算整个局面的Zobrist哈希
+     * @return 64位哈希值
+     */
+    public long computeZobristKey() {
+        long key = gameState.computeZobristKey();
+        for (int index = 0; index < GameConstants.GOMOKU_BOARD_SIZE * GameConstants.GOMOKU_BOARD_SIZE; index++) {
+            Position pos = Position.ofIndex(index);
+            Player stone = gomokuBoard.getStone(pos);
+            if (stone != null) {
+                key ^= ZobristKeys.stone(stone, index);
+            }
+            TicTacToeBoard ticTacToeBoard = gomokuBoard.getTicTacToeBoard(pos);
+            for (Player player : Player.values()) {
+                int mask = ticTacToeBoard.getPlayerMask(player);
+                while (mask != 0) {
+                    int cell = Integer.numberOfTrailingZeros(mask);
+                    mask &= mask - 1;
+                    key ^= ZobristKeys.ticTacToe(player, index, cell);
+                }
+            }
+        }
+        return key;
+    }
+    
+    /**
+     * 校验增量维护的Zobrist哈希与从头计算的结果一致
+     * @throws IllegalStateException 如果两者不一致
+     */
+    public void verifyZobristKey() {
+        long incremental = getZobristKey();
+        long computed = computeZobristKey();
+        if (incremental != computed) {
+            throw new IllegalStateException(String.format(
+                "Zobrist哈希不一致: 增量=%016x, 重算=%016x", incremental, computed));
+        }
+    }
+    
+    /**
+     * 开启或关闭Zobrist校验模式
+     * 开启后每次makeMove之后都会调用verifyZobristKey()
+     * 也可以通过系统属性 -Dtictacgomoku.verifyZobrist=true 开启
+     * @param enabled 是否开启
+     */
+    public static void setZobristVerification(boolean enabled) {
+        zobristVerification = enabled;
+    }
+    
+    /**
+     * 检查Zobrist校验模式是否开启
+     * @return 如果开启返回true
+     */
+    public static boolean isZobristVerification() {
+        return zobristVerification;
+    }
+    
     /**
      * 检查指定五子棋位置是否为当前活跃位置
      * @param gomokuPosition 五子棋位置
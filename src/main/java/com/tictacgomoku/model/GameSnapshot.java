@@ -0,0 +1,242 @@
+package com.tictacgomoku.model;
+
+import com.tictacgomoku.util.GameConstants;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 游戏快照
+ * 以基本类型数组保存某一时刻的完整游戏状态：225个井字棋盘的局面编号、路由状态和可撤销的着法栈。
+ * 五子棋棋子由井字棋盘的胜负推导，不单独保存。快照是不可变的，可以交给其他线程写入文件。
+ * <pre>
+ * 字节编码（大端序）：
+ * 版本（1字节）、225个井字棋局面编号（各2字节）、
+ * 标志（1字节：第0位当前为白方，第1位游戏已开始，第2位可自由选择）、
+ * 活跃位置序号 + 1（1字节，0表示无）、上一步井字棋格子序号 + 1（1字节，0表示无）、
+ * 着法栈条目数（2字节）、着法栈条目（各4字节）
+ * </pre>
+ */
+public final class GameSnapshot {
+    public static final int VERSION = 1;
+    
+    private static final int BOARD_COUNT = GameConstants.GOMOKU_BOARD_SIZE * GameConstants.GOMOKU_BOARD_SIZE;
+    private static final int CELL_COUNT = GameConstants.TICTACTOE_BOARD_SIZE * GameConstants.TICTACTOE_BOARD_SIZE;
+    private static final int FIXED_SIZE = 1 + BOARD_COUNT * 2 + 3 + 2;
+    private static final int MAX_HISTORY = 0xFFFF;
+    static final int FLAG_WHITE_TO_MOVE = 1;
+    static final int FLAG_STARTED = 1 << 1;
+    static final int FLAG_FREE_CHOICE = 1 << 2;
+    
+    private final char[] boardCodes;
+    private final int flags;
+    private final int activeIndex;
+    private final int lastTicTacToeIndex;
+    private final int[] history;
+    
+    /**
+     * 构造快照（由GameLogic.snapshot()调用，数组不再复制）
+     * @param boardCodes 各井字棋盘的局面编号，按五子棋格子序号排列
+     * @param flags 标志位
+     * @param activeIndex 活跃位置序号，无则为-1
+     * @param lastTicTacToeIndex 上一步井字棋格子序号，无则为-1
+     * @param history 着法栈条目
+     */
+    GameSnapshot(char[] boardCodes, int flags, int activeIndex, int lastTicTacToeIndex, int[] history) {
+        if (history.length > MAX_HISTORY) {
+            throw new IllegalArgumentException("着法历史过长: " + history.length);
+        }
+        this.boardCodes = boardCodes;
+        this.flags = flags;
+        this.activeIndex = activeIndex;
+        this.lastTicTacToeIndex = lastTicTacToeIndex;
+        this.history = history;
+    }
+    
+    /**
+     * 按游戏状态构造快照
+     */
+    static GameSnapshot of(GomokuBoard gomokuBoard, GameState gameState, int[] moveStack, int moveStackSize) {
+        char[] boardCodes = new char[BOARD_COUNT];
+        for (int index = 0; index < BOARD_COUNT; index++) {
+            boardCodes[index] = (char) gomokuBoard.getTicTacToeBoard(Position.ofIndex(index)).getPositionCode();
+        }
+        int flags = 0;
+        if (gameState.getCurrentPlayer() == Player.WHITE) {
+            flags |= FLAG_WHITE_TO_MOVE;
+        }
+        if (gameState.isGameStarted()) {
+            flags |= FLAG_STARTED;
+        }
+        if (gameState.canChooseFreely()) {
+            flags |= FLAG_FREE_CHOICE;
+        }
+        Position active = gameState.getActiveGomokuPosition();
+        Position last = gameState.getLastTicTacToeMove();
+        return new GameSnapshot(boardCodes, flags,
+            active == null ? -1 : active.getIndex(),
+            last == null ? -1 : last.getRow() * GameConstants.TICTACTOE_BOARD_SIZE + last.getCol(),
+            Arrays.copyOf(moveStack, moveStackSize));
+    }
+    
+    /**
+     * 获取指定五子棋格子上井字棋盘的局面编号
+     * @param gomokuIndex 五子棋格子序号
+     * @return 局面编号
+     */
+    public int getBoardCode(int gomokuIndex) {
+        return boardCodes[gomokuIndex];
+    }
+    
+    /**
+     * 获取轮到下棋的玩家
+     * @return 当前玩家
+     */
+    public Player getCurrentPlayer() {
+        return (flags & FLAG_WHITE_TO_MOVE) != 0 ? Player.WHITE : Player.BLACK;
+    }
+    
+    /**
+     * 检查游戏是否已开始
+     * @return 如果已开始返回true
+     */
+    public boolean isGameStarted() {
+        return (flags & FLAG_STARTED) != 0;
+    }
+    
+    /**
+     * 检查是否可以自由选择位置
+     * @return 如果可以返回true
+     */
+    public boolean canChooseFreely() {
+        return (flags & FLAG_FREE_CHOICE) != 0;
+    }
+    
+    /**
+     * 获取活跃位置
+     * @return 活跃位置，无则为null
+     */
+    public Position getActiveGomokuPosition() {
+        return activeIndex < 0 ? null : Position.ofIndex(activeIndex);
+    }
+    
+    /**
+     * 获取上一步井字棋位置
+     * @return 上一步井字棋位置，无则为null
+     */
+    public Position getLastTicTacToeMove() {
+        return lastTicTacToeIndex < 0 ? null : Position.of(lastTicTacToeIndex / GameConstants.TICTACTOE_BOARD_SIZE,
+                                                            lastTicTacToeIndex % GameConstants.TICTACTOE_BOARD_SIZE);
+    }
+    
+    /**
+     * 获取快照中保存的着法数
+     * @return 着法栈大小
+     */
+    public int getMoveHistorySize() {
+        return history.length;
+    }
+    
+    /**
+     * 获取着法栈条目（供GameLogic.restore使用）
+     */
+    int[] history() {
+        return history;
+    }
+    
+    /**
+     * 编码为字节数组
+     * @return 字节数组，长度为 456 + 4 * 着法数
+     */
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_SIZE + history.length * 4);
+        buffer.put((byte) VERSION);
+        for (char code : boardCodes) {
+            buffer.putChar(code);
+        }
+        buffer.put((byte) flags);
+        buffer.put((byte) (activeIndex + 1));
+        buffer.put((byte) (lastTicTacToeIndex + 1));
+        buffer.putShort((short) history.length);
+        for (int entry : history) {
+            buffer.putInt(entry);
+        }
+        return buffer.array();
+    }
+    
+    /**
+     * 从字节数组解码
+     * @param bytes toByteArray()产生的字节数组
+     * @return 快照
+     * @throws IllegalArgumentException 如果数据格式不正确
+     */
+    public static GameSnapshot fromByteArray(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            int version = buffer.get() & 0xFF;
+            if (version != VERSION) {
+                throw new IllegalArgumentException("不支持的快照版本: " + version);
+            }
+            char[] boardCodes = new char[BOARD_COUNT];
+            for (int index = 0; index < BOARD_COUNT; index++) {
+                boardCodes[index] = buffer.getChar();
+                if (boardCodes[index] >= TicTacToeBoard.POSITION_CODE_COUNT) {
+                    throw new IllegalArgumentException("井字棋局面编号无效: " + (int) boardCodes[index]);
+                }
+            }
+            int flags = buffer.get() & 0xFF;
+            int activeIndex = (buffer.get() & 0xFF) - 1;
+            int lastTicTacToeIndex = (buffer.get() & 0xFF) - 1;
+            if (flags > (FLAG_WHITE_TO_MOVE | FLAG_STARTED | FLAG_FREE_CHOICE)
+                    || activeIndex >= BOARD_COUNT || lastTicTacToeIndex >= CELL_COUNT) {
+                throw new IllegalArgumentException("快照状态字段无效");
+            }
+            int[] history = new int[buffer.getShort() & 0xFFFF];
+            for (int i = 0; i < history.length; i++) {
+                history[i] = buffer.getInt();
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("快照末尾有多余数据");
+            }
+            // 每步着法恰好在井字棋盘上留下一枚棋子
+            TicTacToeBoard scratch = new TicTacToeBoard();
+            int pieces = 0;
+            for (char code : boardCodes) {
+                scratch.setPositionCode(code);
+                pieces += scratch.getMoveCount();
+            }
+            if (pieces != history.length) {
+                throw new IllegalArgumentException("快照的棋子数与着法历史不一致");
+            }
+            return new GameSnapshot(boardCodes, flags, activeIndex, lastTicTacToeIndex, history);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("快照数据不完整", e);
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GameSnapshot)) {
+            return false;
+        }
+        GameSnapshot other = (GameSnapshot) obj;
+        return flags == other.flags && activeIndex == other.activeIndex
+            && lastTicTacToeIndex == other.lastTicTacToeIndex
+            && Arrays.equals(boardCodes, other.boardCodes) && Arrays.equals(history, other.history);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(boardCodes) + Arrays.hashCode(history);
+    }
+    
+    @Override
+    public String toString() {
+        return "GameSnapshot{moves=" + history.length + ", currentPlayer=" + getCurrentPlayer()
+            + ", activeIndex=" + activeIndex + ", freeChoice=" + canChooseFreely() + "}";
+    }
+}
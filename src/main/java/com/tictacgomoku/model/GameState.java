@@ -10,6 +10,7 @@ public class GameState {
     private boolean canChooseFreely;        // 是否可以自由选择位置
     private Position lastTicTacToeMove;     // 上一步井字棋的位置
     private boolean gameStarted;
+    private long zobristKey;                // 当前玩家、活跃位置和自由选择标志的Zobrist哈希
     
     /**
      * 构造函数，初始化游戏状态
@@ -20,6 +21,7 @@ public class GameState {
         canChooseFreely = true;        // 游戏开始时可以自由选择
         lastTicTacToeMove = null;
         gameStarted = false;
+        zobristKey = computeZobristKey();
     }
     
     /**
@@ -35,6 +37,7 @@ public class GameState {
      * @param player 要设置的玩家
      */
     public void setCurrentPlayer(Player player) {
+        zobristKey ^= ZobristKeys.sideToMove(currentPlayer) ^ ZobristKeys.sideToMove(player);
         this.currentPlayer = player;
     }
     
@@ -42,7 +45,7 @@ public class GameState {
      * 切换到下一个玩家
      */
     public void switchPlayer() {
-        currentPlayer = currentPlayer.getOpponent();
+        setCurrentPlayer(currentPlayer.getOpponent());
     }
     
     /**
@@ -58,6 +61,7 @@ public class GameState {
      * @param position 要设置的位置
      */
     public void setActiveGomokuPosition(Position position) {
+        updateActiveKey(position, position == null);
         this.activeGomokuPosition = position;
         this.canChooseFreely = (position == null);
     }
@@ -75,12 +79,28 @@ public class GameState {
      * @param canChooseFreely 是否可以自由选择
      */
     public void setCanChooseFreely(boolean canChooseFreely) {
+        updateActiveKey(canChooseFreely ? null : activeGomokuPosition, canChooseFreely);
         this.canChooseFreely = canChooseFreely;
         if (canChooseFreely) {
             this.activeGomokuPosition = null;
         }
     }
     
+    /**
+     * 在活跃位置和自由选择标志变化前增量更新Zobrist哈希
+     * @param newPosition 新的活跃位置
+     * @param newCanChooseFreely 新的自由选择标志
+     */
+    private void updateActiveKey(Position newPosition, boolean newCanChooseFreely) {
+        if (activeGomokuPosition != null) {
+            zobristKey ^= ZobristKeys.active(activeGomokuPosition.getIndex());
+        }
+        if (newPosition != null) {
+            zobristKey ^= ZobristKeys.active(newPosition.getIndex());
+        }
+        zobristKey ^= ZobristKeys.freeChoice(canChooseFreely) ^ ZobristKeys.freeChoice(newCanChooseFreely);
+    }
+    
     /**
      * 获取上一步井字棋的位置
      * @return 上一步井字棋的位置
@@ -122,6 +142,27 @@ public class GameState {
         canChooseFreely = true;
         lastTicTacToeMove = null;
         gameStarted = false;
+        zobristKey = computeZobristKey();
+    }
+    
+    /**
+     * 获取当前玩家、活跃位置和自由选择标志的Zobrist哈希（增量维护）
+     * @return 哈希值
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+    
+    /**
+     * 根据当前字段从头计算Zobrist哈希，用于校验增量维护的结果
+     * @return 哈希值
+     */
+    public long computeZobristKey() {
+        long key = ZobristKeys.sideToMove(currentPlayer) ^ ZobristKeys.freeChoice(canChooseFreely);
+        if (activeGomokuPosition != null) {
+            key ^= ZobristKeys.active(activeGomokuPosition.getIndex());
+        }
+        return key;
     }
     
     /**
@@ -135,6 +176,7 @@ public class GameState {
         copy.canChooseFreely = this.canChooseFreely;
         copy.lastTicTacToeMove = this.lastTicTacToeMove;
         copy.gameStarted = this.gameStarted;
+        copy.zobristKey = this.zobristKey;
         return copy;
     }
     
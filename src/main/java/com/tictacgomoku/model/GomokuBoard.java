@@ -2,24 +2,107 @@ package com.tictacgomoku.model;
 
 import com.tictacgomoku.util.GameConstants;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * 五子棋盘类
  * 表示一个15x15的五子棋盘，每个位置对应一个井字棋盘
+ * 棋子以每个玩家一组long[]位棋盘存储，每行占16位（第16位为空白隔离列），
+ * 获胜检测通过沿四条轴线的移位与运算完成。
+ * 棋盘同时增量维护所有五格窗口的编码：每个格子沿四个方向各有一个以它为起点的窗口，
+ * 编码为窗口内5个格子的状态（空、黑、白、平局井字棋）各占2位。落子、提子时只更新经过该格的至多20个窗口，
+ * 再按预先算好的分类表维护"只含一方棋子且未被平局井字棋阻断"的窗口按棋子数的计数，评估时直接读取计数。
+ * 井字棋平局不经过本类，由GameLogic在井字棋落子和撤销后调用updateDrawnState同步
  */
 public class GomokuBoard {
-    private Player[][] board;
+    // 位棋盘每行的位宽（15列 + 1列隔离位，防止横向和斜向连线跨行）
+    private static final int BITBOARD_STRIDE = 16;
+    // 15行 x 16位 = 240位，需要4个long
+    private static final int BITBOARD_WORDS = 4;
+    // 四条轴线对应的移位量：横、竖、主对角线、副对角线
+    private static final int[] AXIS_SHIFTS = {1, BITBOARD_STRIDE, BITBOARD_STRIDE + 1, BITBOARD_STRIDE - 1};
+    
+    private static final int SIZE = GameConstants.GOMOKU_BOARD_SIZE;
+    private static final int CELLS = SIZE * SIZE;
+    // 窗口中格子的状态
+    private static final int CELL_EMPTY = 0;
+    private static final int CELL_BLACK = 1;
+    private static final int CELL_WHITE = 2;
+    private static final int CELL_DRAWN = 3;
+    // 窗口分类：0表示空窗口、双方混合或含平局井字棋，黑方k子为k，白方k子为WHITE_CLASS_OFFSET + k
+    private static final int WHITE_CLASS_OFFSET = 8;
+    private static final byte[] WINDOW_CLASS = new byte[1 << (2 * GameConstants.WIN_CONDITION)];
+    // 每个格子所在的全部窗口：窗口序号（方向 * 225 + 起点序号）<< 4 | 该格在编码中的位移
+    private static final int[][] CELL_WINDOWS = new int[CELLS][];
+    private static final int WINDOW_COUNT;
+    
+    static {
+        for (int code = 0; code < WINDOW_CLASS.length; code++) {
+            int black = 0;
+            int white = 0;
+            boolean drawn = false;
+            for (int k = 0; k < GameConstants.WIN_CONDITION; k++) {
+                int state = (code >>> (2 * k)) & 3;
+                black += state == CELL_BLACK ? 1 : 0;
+                white += state == CELL_WHITE ? 1 : 0;
+                drawn |= state == CELL_DRAWN;
+            }
+            if (!drawn && (black == 0) != (white == 0)) {
+                WINDOW_CLASS[code] = (byte) (black > 0 ? black : WHITE_CLASS_OFFSET + white);
+            }
+        }
+        
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        int span = GameConstants.WIN_CONDITION - 1;
+        int[] perCell = new int[CELLS];
+        int[][] entries = new int[CELLS][directions.length * GameConstants.WIN_CONDITION];
+        int windows = 0;
+        for (int d = 0; d < directions.length; d++) {
+            for (int row = 0; row < SIZE; row++) {
+                for (int col = 0; col < SIZE; col++) {
+                    int endRow = row + span * directions[d][0];
+                    int endCol = col + span * directions[d][1];
+                    if (endRow >= SIZE || endCol < 0 || endCol >= SIZE) {
+                        continue;
+                    }
+                    windows++;
+                    int window = d * CELLS + row * SIZE + col;
+                    for (int k = 0; k < GameConstants.WIN_CONDITION; k++) {
+                        int cell = (row + k * directions[d][0]) * SIZE + col + k * directions[d][1];
+                        entries[cell][perCell[cell]++] = window << 4 | (2 * k);
+                    }
+                }
+            }
+        }
+        for (int cell = 0; cell < CELLS; cell++) {
+            CELL_WINDOWS[cell] = Arrays.copyOf(entries[cell], perCell[cell]);
+        }
+        WINDOW_COUNT = windows;
+    }
+    
+    private long[] blackStones;
+    private long[] whiteStones;
+    private final long[] runScratch;
+    private final long[] shiftScratch;
     private TicTacToeBoard[][] ticTacToeBoards;
     private Player winner;
     private boolean isFinished;
     private int moveCount;
+    private long zobristKey;  // 五子棋棋子的Zobrist哈希
+    private byte[] cellStates;
+    private short[] windowCodes;
+    private int[] windowCounts;  // 按窗口分类计数
+    private int drawnCount;  // 平局井字棋的数量
     
     /**
      * 构造函数，创建一个空的五子棋盘
      */
     public GomokuBoard() {
-        board = new Player[GameConstants.GOMOKU_BOARD_SIZE][GameConstants.GOMOKU_BOARD_SIZE];
+        blackStones = new long[BITBOARD_WORDS];
+        whiteStones = new long[BITBOARD_WORDS];
+        runScratch = new long[BITBOARD_WORDS];
+        shiftScratch = new long[BITBOARD_WORDS];
         ticTacToeBoards = new TicTacToeBoard[GameConstants.GOMOKU_BOARD_SIZE][GameConstants.GOMOKU_BOARD_SIZE];
         
         // 初始化所有井字棋盘
@@ -32,6 +115,35 @@ public class GomokuBoard {
         winner = null;
         isFinished = false;
         moveCount = 0;
+        cellStates = new byte[CELLS];
+        windowCodes = new short[AXIS_SHIFTS.length * CELLS];
+        windowCounts = new int[2 * WHITE_CLASS_OFFSET];
+        windowCounts[0] = WINDOW_COUNT;
+    }
+    
+    /**
+     * 拷贝构造函数
+     * @param other 被复制的棋盘
+     */
+    private GomokuBoard(GomokuBoard other) {
+        blackStones = other.blackStones.clone();
+        whiteStones = other.whiteStones.clone();
+        runScratch = new long[BITBOARD_WORDS];
+        shiftScratch = new long[BITBOARD_WORDS];
+        ticTacToeBoards = new TicTacToeBoard[GameConstants.GOMOKU_BOARD_SIZE][GameConstants.GOMOKU_BOARD_SIZE];
+        for (int i = 0; i < GameConstants.GOMOKU_BOARD_SIZE; i++) {
+            for (int j = 0; j < GameConstants.GOMOKU_BOARD_SIZE; j++) {
+                ticTacToeBoards[i][j] = other.ticTacToeBoards[i][j].copy();
+            }
+        }
+        winner = other.winner;
+        isFinished = other.isFinished;
+        moveCount = other.moveCount;
+        zobristKey = other.zobristKey;
+        cellStates = other.cellStates.clone();
+        windowCodes = other.windowCodes.clone();
+        windowCounts = other.windowCounts.clone();
+        drawnCount = other.drawnCount;
     }
     
     /**
@@ -41,15 +153,23 @@ public class GomokuBoard {
      * @return 如果成功放置返回true
      */
     public boolean placeStone(Position position, Player player) {
-        if (!isValidPosition(position) || board[position.getRow()][position.getCol()] != null) {
+        if (!isValidPosition(position)) {
+            return false;
+        }
+        
+        int bit = bitIndex(position.getRow(), position.getCol());
+        if (isOccupied(bit)) {
             return false;
         }
         
-        board[position.getRow()][position.getCol()] = player;
+        long[] stones = stonesOf(player);
+        stones[bit >>> 6] |= 1L << bit;
         moveCount++;
+        zobristKey ^= ZobristKeys.stone(player, position.getIndex());
+        setCellState(position.getIndex(), player == Player.BLACK ? CELL_BLACK : CELL_WHITE);
         
-        // 检查是否获胜
-        if (checkWin(position, player)) {
+        // 只需检查刚落子一方的位棋盘
+        if (checkWin(stones)) {
             winner = player;
             isFinished = true;
         }
@@ -57,6 +177,95 @@ public class GomokuBoard {
         return true;
     }
     
+    /**
+     * 移除指定位置的五子棋棋子（用于悔棋和搜索回退）
+     * 如果移除后获胜者的连线不再成立，则恢复为未结束状态
+     * @param position 位置
+     * @return 如果该位置原来有棋子返回true
+     */
+    public boolean removeStone(Position position) {
+        if (!isValidPosition(position)) {
+            return false;
+        }
+        
+        int bit = bitIndex(position.getRow(), position.getCol());
+        Player player = stoneAt(bit);
+        if (player == null) {
+            return false;
+        }
+        
+        stonesOf(player)[bit >>> 6] &= ~(1L << bit);
+        moveCount--;
+        zobristKey ^= ZobristKeys.stone(player, position.getIndex());
+        setCellState(position.getIndex(), emptyCellState(position));
+        
+        if (winner != null && !checkWin(stonesOf(winner))) {
+            winner = null;
+            isFinished = false;
+        }
+        return true;
+    }
+    
+    /**
+     * 同步指定格子井字棋的平局状态（井字棋落子或撤销之后调用）
+     * 平局的井字棋是永久空位，经过它的窗口不再计入任何一方
+     * @param position 位置
+     */
+    public void updateDrawnState(Position position) {
+        if (isValidPosition(position) && getStone(position) == null) {
+            setCellState(position.getIndex(), emptyCellState(position));
+        }
+    }
+    
+    /**
+     * 获取没有五子棋棋子的格子在窗口中的状态
+     * @param position 位置
+     * @return CELL_DRAWN或CELL_EMPTY
+     */
+    private int emptyCellState(Position position) {
+        return ticTacToeBoards[position.getRow()][position.getCol()].isDraw() ? CELL_DRAWN : CELL_EMPTY;
+    }
+    
+    /**
+     * 更新格子状态，并增量更新经过该格的所有窗口编码和分类计数
+     * @param index 格子序号
+     * @param state 新状态
+     */
+    private void setCellState(int index, int state) {
+        int old = cellStates[index];
+        if (old == state) {
+            return;
+        }
+        cellStates[index] = (byte) state;
+        if (old == CELL_DRAWN) {
+            drawnCount--;
+        } else if (state == CELL_DRAWN) {
+            drawnCount++;
+        }
+        for (int entry : CELL_WINDOWS[index]) {
+            int window = entry >>> 4;
+            int code = windowCodes[window];
+            windowCounts[WINDOW_CLASS[code]]--;
+            code ^= (old ^ state) << (entry & 0xF);
+            windowCodes[window] = (short) code;
+            windowCounts[WINDOW_CLASS[code]]++;
+        }
+    }
+    
+    /**
+     * 统计只含某玩家棋子、且不含平局井字棋的五格窗口数（增量维护，O(1)）
+     * 例如stones为4的窗口再得一子即连成五子，活四、冲四、活三等棋形都由这些计数反映
+     * @param player 玩家
+     * @param stones 窗口中该玩家的棋子数（1-5）
+     * @return 窗口数
+     */
+    public int getOpenWindowCount(Player player, int stones) {
+        if (stones <= 0 || stones > GameConstants.WIN_CONDITION) {
+            throw new IllegalArgumentException("窗口棋子数无效: " + stones);
+        }
+        return windowCounts[player == Player.BLACK ? stones : WHITE_CLASS_OFFSET + stones];
+    }
+    
     /**
      * 获取指定位置的井字棋盘
      * @param position 位置
@@ -78,7 +287,7 @@ public class GomokuBoard {
         if (!isValidPosition(position)) {
             return null;
         }
-        return board[position.getRow()][position.getCol()];
+        return stoneAt(bitIndex(position.getRow(), position.getCol()));
     }
     
     /**
@@ -101,7 +310,7 @@ public class GomokuBoard {
         }
         
         // 如果该位置已经有五子棋棋子，则不能开始井字棋
-        if (board[position.getRow()][position.getCol()] != null) {
+        if (isOccupied(bitIndex(position.getRow(), position.getCol()))) {
             return false;
         }
         
@@ -117,7 +326,7 @@ public class GomokuBoard {
         List<Position> available = new ArrayList<>();
         for (int i = 0; i < GameConstants.GOMOKU_BOARD_SIZE; i++) {
             for (int j = 0; j < GameConstants.GOMOKU_BOARD_SIZE; j++) {
-                Position pos = new Position(i, j);
+                Position pos = Position.of(i, j);
                 if (canStartTicTacToe(pos)) {
                     available.add(pos);
                 }
@@ -127,50 +336,94 @@ public class GomokuBoard {
     }
     
     /**
-     * 检查在指定位置放置棋子后是否获胜
-     * @param position 位置
-     * @param player 玩家
+     * 获取可以开始井字棋的位置数（既没有五子棋棋子、井字棋也不是平局的格子数），O(1)
+     * @return 可用位置数
+     */
+    public int getAvailableCount() {
+        return CELLS - moveCount - drawnCount;
+    }
+    
+    /**
+     * 检查位棋盘中是否存在连续WIN_CONDITION个棋子
+     * 每条轴线上反复执行 run &= run >> shift，若最终仍有非零位则说明存在足够长的连线
+     * @param stones 刚落子一方的位棋盘
      * @return 如果获胜返回true
      */
-    private boolean checkWin(Position position, Player player) {
-        int row = position.getRow();
-        int col = position.getCol();
-        
-        // 检查所有8个方向
-        for (int[] direction : GameConstants.DIRECTIONS) {
-            int count = 1; // 包括当前位置
-            
-            // 正方向检查
-            int r = row + direction[0];
-            int c = col + direction[1];
-            while (r >= 0 && r < GameConstants.GOMOKU_BOARD_SIZE && 
-                   c >= 0 && c < GameConstants.GOMOKU_BOARD_SIZE && 
-                   board[r][c] == player) {
-                count++;
-                r += direction[0];
-                c += direction[1];
-            }
-            
-            // 反方向检查
-            r = row - direction[0];
-            c = col - direction[1];
-            while (r >= 0 && r < GameConstants.GOMOKU_BOARD_SIZE && 
-                   c >= 0 && c < GameConstants.GOMOKU_BOARD_SIZE && 
-                   board[r][c] == player) {
-                count++;
-                r -= direction[0];
-                c -= direction[1];
+    private boolean checkWin(long[] stones) {
+        for (int shift : AXIS_SHIFTS) {
+            System.arraycopy(stones, 0, runScratch, 0, BITBOARD_WORDS);
+            boolean alive = true;
+            for (int k = 1; k < GameConstants.WIN_CONDITION && alive; k++) {
+                shiftRight(runScratch, shift, shiftScratch);
+                alive = false;
+                for (int w = 0; w < BITBOARD_WORDS; w++) {
+                    runScratch[w] &= shiftScratch[w];
+                    alive |= runScratch[w] != 0;
+                }
             }
-            
-            // 如果连续棋子数量达到获胜条件
-            if (count >= GameConstants.WIN_CONDITION) {
+            if (alive) {
                 return true;
             }
         }
-        
         return false;
     }
     
+    /**
+     * 将多字位棋盘整体右移（shift必须小于64）
+     * @param source 源位棋盘
+     * @param shift 移位量
+     * @param target 结果位棋盘
+     */
+    private static void shiftRight(long[] source, int shift, long[] target) {
+        for (int w = 0; w < BITBOARD_WORDS - 1; w++) {
+            target[w] = (source[w] >>> shift) | (source[w + 1] << (64 - shift));
+        }
+        target[BITBOARD_WORDS - 1] = source[BITBOARD_WORDS - 1] >>> shift;
+    }
+    
+    /**
+     * 计算行列坐标在位棋盘中的位序号
+     * @param row 行
+     * @param col 列
+     * @return 位序号
+     */
+    private static int bitIndex(int row, int col) {
+        return row * BITBOARD_STRIDE + col;
+    }
+    
+    /**
+     * 检查指定位是否已有棋子
+     * @param bit 位序号
+     * @return 如果已有棋子返回true
+     */
+    private boolean isOccupied(int bit) {
+        return (((blackStones[bit >>> 6] | whiteStones[bit >>> 6]) >>> bit) & 1L) != 0;
+    }
+    
+    /**
+     * 获取指定位上的棋子
+     * @param bit 位序号
+     * @return 该位的玩家，如果为空返回null
+     */
+    private Player stoneAt(int bit) {
+        if (((blackStones[bit >>> 6] >>> bit) & 1L) != 0) {
+            return Player.BLACK;
+        }
+        if (((whiteStones[bit >>> 6] >>> bit) & 1L) != 0) {
+            return Player.WHITE;
+        }
+        return null;
+    }
+    
+    /**
+     * 获取玩家对应的位棋盘
+     * @param player 玩家
+     * @return 位棋盘数组
+     */
+    private long[] stonesOf(Player player) {
+        return player == Player.BLACK ? blackStones : whiteStones;
+    }
+    
     /**
      * 获取获胜者
      * @return 获胜的玩家，如果没有获胜者返回null
@@ -199,7 +452,8 @@ public class GomokuBoard {
      * 重置棋盘
      */
     public void reset() {
-        board = new Player[GameConstants.GOMOKU_BOARD_SIZE][GameConstants.GOMOKU_BOARD_SIZE];
+        Arrays.fill(blackStones, 0L);
+        Arrays.fill(whiteStones, 0L);
         
         // 重置所有井字棋盘
         for (int i = 0; i < GameConstants.GOMOKU_BOARD_SIZE; i++) {
@@ -211,6 +465,28 @@ public class GomokuBoard {
         winner = null;
         isFinished = false;
         moveCount = 0;
+        zobristKey = 0L;
+        Arrays.fill(cellStates, (byte) CELL_EMPTY);
+        Arrays.fill(windowCodes, (short) 0);
+        Arrays.fill(windowCounts, 0);
+        windowCounts[0] = WINDOW_COUNT;
+        drawnCount = 0;
+    }
+    
+    /**
+     * 获取五子棋棋子的Zobrist哈希（增量维护）
+     * @return 哈希值
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+    
+    /**
+     * 创建棋盘的副本
+     * @return 棋盘的深拷贝（包括所有井字棋盘）
+     */
+    public GomokuBoard copy() {
+        return new GomokuBoard(this);
     }
     
     /**
@@ -224,8 +500,8 @@ public class GomokuBoard {
             return true;
         }
         
-        // 检查是否还有可用的井字棋位置
-        return getAvailablePositions().isEmpty() && winner == null;
+        // 检查是否还有可用的井字棋位置（增量计数，不逐格扫描）
+        return getAvailableCount() == 0 && winner == null;
     }
     
     @Override
@@ -234,10 +510,11 @@ public class GomokuBoard {
         sb.append("五子棋盘状态:\n");
         for (int i = 0; i < GameConstants.GOMOKU_BOARD_SIZE; i++) {
             for (int j = 0; j < GameConstants.GOMOKU_BOARD_SIZE; j++) {
-                if (board[i][j] == null) {
+                Player stone = stoneAt(bitIndex(i, j));
+                if (stone == null) {
                     sb.append("+ ");
                 } else {
-                    sb.append(board[i][j].getSymbol()).append(" ");
+                    sb.append(stone.getSymbol()).append(" ");
                 }
             }
             sb.append("\n");
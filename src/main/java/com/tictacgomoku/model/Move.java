@@ -0,0 +1,72 @@
+package com.tictacgomoku.model;
+
+/**
+ * 着法类
+ * 表示一步完整的落子：在哪个五子棋位置的井字棋盘上、下在井字棋的哪个格子
+ */
+public class Move {
+    private final Position gomokuPosition;
+    private final Position ticTacToePosition;
+    
+    /**
+     * 构造函数
+     * @param gomokuPosition 五子棋盘位置
+     * @param ticTacToePosition 井字棋盘位置
+     */
+    public Move(Position gomokuPosition, Position ticTacToePosition) {
+        this.gomokuPosition = gomokuPosition;
+        this.ticTacToePosition = ticTacToePosition;
+    }
+    
+    /**
+     * 根据格子序号创建着法
+     * @param gomokuIndex 五子棋格子序号（row * 15 + col）
+     * @param ticTacToeIndex 井字棋格子序号（row * 3 + col）
+     * @return 着法对象
+     */
+    public static Move of(int gomokuIndex, int ticTacToeIndex) {
+        return new Move(Position.ofIndex(gomokuIndex), Position.of(ticTacToeIndex / 3, ticTacToeIndex % 3));
+    }
+    
+    /**
+     * 获取五子棋盘位置
+     * @return 五子棋盘位置
+     */
+    public Position getGomokuPosition() {
+        return gomokuPosition;
+    }
+    
+    /**
+     * 获取井字棋盘位置
+     * @return 井字棋盘位置
+     */
+    public Position getTicTacToePosition() {
+        return ticTacToePosition;
+    }
+    
+    /**
+     * 获取井字棋格子序号
+     * @return 格子序号（row * 3 + col）
+     */
+    public int getTicTacToeIndex() {
+        return ticTacToePosition.getRow() * 3 + ticTacToePosition.getCol();
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Move move = (Move) obj;
+        return gomokuPosition.equals(move.gomokuPosition) && ticTacToePosition.equals(move.ticTacToePosition);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * gomokuPosition.hashCode() + ticTacToePosition.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return gomokuPosition + "/" + ticTacToePosition;
+    }
+}
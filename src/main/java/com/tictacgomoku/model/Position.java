@@ -1,14 +1,25 @@
 package com.tictacgomoku.model;
 
-import java.util.Objects;
+import com.tictacgomoku.util.GameConstants;
 
 /**
  * 位置坐标类
  * 表示棋盘上的一个位置坐标
+ * 15x15棋盘内（同时覆盖3x3井字棋盘）的位置通过of()共享预先创建的实例
  */
 public class Position {
+    private static final int CACHE_SIZE = GameConstants.GOMOKU_BOARD_SIZE;
+    private static final Position[] CACHE = new Position[CACHE_SIZE * CACHE_SIZE];
+    
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new Position(i / CACHE_SIZE, i % CACHE_SIZE);
+        }
+    }
+    
     private final int row;
     private final int col;
+    private final int hash;
     
     /**
      * 构造函数
@@ -18,6 +29,30 @@ public class Position {
     public Position(int row, int col) {
         this.row = row;
         this.col = col;
+        this.hash = 31 * (31 + row) + col; // 与Objects.hash(row, col)结果一致
+    }
+    
+    /**
+     * 获取指定坐标的位置对象
+     * 棋盘范围内的坐标返回共享实例，范围外的坐标才创建新对象
+     * @param row 行坐标
+     * @param col 列坐标
+     * @return 位置对象
+     */
+    public static Position of(int row, int col) {
+        if (row >= 0 && row < CACHE_SIZE && col >= 0 && col < CACHE_SIZE) {
+            return CACHE[row * CACHE_SIZE + col];
+        }
+        return new Position(row, col);
+    }
+    
+    /**
+     * 根据五子棋盘格子序号获取位置对象
+     * @param index 格子序号（row * 15 + col）
+     * @return 位置对象
+     */
+    public static Position ofIndex(int index) {
+        return CACHE[index];
     }
     
     /**
@@ -36,6 +71,14 @@ public class Position {
         return col;
     }
     
+    /**
+     * 获取位置在五子棋盘上的格子序号
+     * @return 格子序号（row * 15 + col）
+     */
+    public int getIndex() {
+        return row * CACHE_SIZE + col;
+    }
+    
     /**
      * 检查位置是否有效（在棋盘范围内）
      * @param maxRow 最大行数
@@ -53,7 +96,7 @@ public class Position {
      * @return 新的位置对象
      */
     public Position offset(int rowOffset, int colOffset) {
-        return new Position(row + rowOffset, col + colOffset);
+        return of(row + rowOffset, col + colOffset);
     }
     
     /**
@@ -75,7 +118,7 @@ public class Position {
     
     @Override
     public int hashCode() {
-        return Objects.hash(row, col);
+        return hash;
     }
     
     @Override
@@ -0,0 +1,263 @@
+package com.tictacgomoku.model;
+
+import com.tictacgomoku.util.GameConstants;
+
+/**
+ * 棋盘对称变换
+ * 正方形有8个对称变换（4个旋转和4个镜像）。五子棋盘和每个井字棋盘同时做同一个变换：
+ * 井字棋格子决定的方向（GameConstants.TICTACTOE_TO_DIRECTION）就是格子相对中心的偏移，
+ * 随格子一起变换后正好指向变换后的下一个战场，因此变换后的局面与原局面在规则上完全等价。
+ * 变换编号t（0-7）：第2位表示先转置（行列互换），第0位表示再上下翻转，第1位表示再左右翻转；0为恒等变换。
+ * 规范形式取8个变换后局面Zobrist哈希最小的那个，相同时取编号最小的变换
+ */
+public final class Symmetry {
+    public static final int COUNT = 8;
+    public static final int IDENTITY = 0;
+    
+    private static final int SIZE = GameConstants.GOMOKU_BOARD_SIZE;
+    private static final int CELLS = SIZE * SIZE;
+    private static final int TICTACTOE_SIZE = GameConstants.TICTACTOE_BOARD_SIZE;
+    private static final int TICTACTOE_CELLS = TICTACTOE_SIZE * TICTACTOE_SIZE;
+    
+    // 各变换下的格子映射表
+    private static final int[][] GOMOKU_MAP = new int[COUNT][CELLS];
+    private static final int[][] TICTACTOE_MAP = new int[COUNT][TICTACTOE_CELLS];
+    private static final int[] INVERSE = new int[COUNT];
+    // Player.values()每次调用都会复制数组，逐格计算哈希时使用这个副本
+    private static final Player[] PLAYERS = Player.values();
+    
+    static {
+        for (int t = 0; t < COUNT; t++) {
+            for (int index = 0; index < CELLS; index++) {
+                GOMOKU_MAP[t][index] = map(t, index / SIZE, index % SIZE, SIZE);
+            }
+            for (int cell = 0; cell < TICTACTOE_CELLS; cell++) {
+                TICTACTOE_MAP[t][cell] = map(t, cell / TICTACTOE_SIZE, cell % TICTACTOE_SIZE, TICTACTOE_SIZE);
+            }
+        }
+        for (int t = 0; t < COUNT; t++) {
+            for (int u = 0; u < COUNT; u++) {
+                boolean inverse = true;
+                for (int index = 0; index < CELLS && inverse; index++) {
+                    inverse = GOMOKU_MAP[u][GOMOKU_MAP[t][index]] == index;
+                }
+                if (inverse) {
+                    INVERSE[t] = u;
+                }
+            }
+        }
+    }
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private Symmetry() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    private static int map(int t, int row, int col, int size) {
+        if ((t & 4) != 0) {
+            int tmp = row;
+            row = col;
+            col = tmp;
+        }
+        if ((t & 1) != 0) {
+            row = size - 1 - row;
+        }
+        if ((t & 2) != 0) {
+            col = size - 1 - col;
+        }
+        return row * size + col;
+    }
+    
+    /**
+     * 变换五子棋格子序号
+     * @param t 变换编号
+     * @param gomokuIndex 五子棋格子序号
+     * @return 变换后的格子序号
+     */
+    public static int transformGomoku(int t, int gomokuIndex) {
+        return GOMOKU_MAP[t][gomokuIndex];
+    }
+    
+    /**
+     * 变换井字棋格子序号
+     * @param t 变换编号
+     * @param ticTacToeIndex 井字棋格子序号
+     * @return 变换后的格子序号
+     */
+    public static int transformTicTacToe(int t, int ticTacToeIndex) {
+        return TICTACTOE_MAP[t][ticTacToeIndex];
+    }
+    
+    /**
+     * 变换着法编码（五子棋格子序号 * 9 + 井字棋格子序号），两级坐标同时变换
+     * @param t 变换编号
+     * @param moveCode 着法编码
+     * @return 变换后的着法编码
+     */
+    public static int transformMove(int t, int moveCode) {
+        return GOMOKU_MAP[t][moveCode / TICTACTOE_CELLS] * TICTACTOE_CELLS
+            + TICTACTOE_MAP[t][moveCode % TICTACTOE_CELLS];
+    }
+    
+    /**
+     * 获取逆变换
+     * @param t 变换编号
+     * @return 逆变换编号
+     */
+    public static int inverse(int t) {
+        return INVERSE[t];
+    }
+    
+    /**
+     * 变换井字棋局面编号
+     * @param t 变换编号
+     * @param positionCode 局面编号（见TicTacToeBoard.getPositionCode）
+     * @return 变换后的局面编号
+     */
+    public static int transformTicTacToeCode(int t, int positionCode) {
+        int[] powers = {1, 3, 9, 27, 81, 243, 729, 2187, 6561};
+        int result = 0;
+        for (int cell = 0; cell < TICTACTOE_CELLS; cell++) {
+            int digit = positionCode % 3;
+            positionCode /= 3;
+            result += digit * powers[TICTACTOE_MAP[t][cell]];
+        }
+        return result;
+    }
+    
+    /**
+     * 一次遍历计算局面在全部8个变换下的Zobrist哈希
+     * 第0个元素等于gameLogic.getZobristKey()
+     * @param gameLogic 游戏
+     * @param keys 输出数组，长度至少为8
+     */
+    public static void zobristKeys(GameLogic gameLogic, long[] keys) {
+        GameState gameState = gameLogic.getGameState();
+        long common = ZobristKeys.sideToMove(gameState.getCurrentPlayer())
+            ^ ZobristKeys.freeChoice(gameState.canChooseFreely());
+        Position active = gameState.getActiveGomokuPosition();
+        for (int t = 0; t < COUNT; t++) {
+            keys[t] = active == null ? common : common ^ ZobristKeys.active(GOMOKU_MAP[t][active.getIndex()]);
+        }
+        
+        GomokuBoard board = gameLogic.getGomokuBoard();
+        for (int index = 0; index < CELLS; index++) {
+            Position pos = Position.ofIndex(index);
+            TicTacToeBoard ticTacToeBoard = board.getTicTacToeBoard(pos);
+            if (ticTacToeBoard.getMoveCount() == 0) {
+                continue; // 没有井字棋棋子的格子也不会有五子棋棋子
+            }
+            Player stone = board.getStone(pos);
+            for (Player player : PLAYERS) {
+                int mask = ticTacToeBoard.getPlayerMask(player);
+                while (mask != 0) {
+                    int cell = Integer.numberOfTrailingZeros(mask);
+                    mask &= mask - 1;
+                    for (int t = 0; t < COUNT; t++) {
+                        keys[t] ^= ZobristKeys.ticTacToe(player, GOMOKU_MAP[t][index], TICTACTOE_MAP[t][cell]);
+                    }
+                }
+            }
+            if (stone != null) {
+                for (int t = 0; t < COUNT; t++) {
+                    keys[t] ^= ZobristKeys.stone(stone, GOMOKU_MAP[t][index]);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 获取把局面变为规范形式的变换
+     * @param gameLogic 游戏
+     * @return 变换编号
+     */
+    public static int canonicalTransform(GameLogic gameLogic) {
+        return canonicalTransform(gameLogic, new long[COUNT]);
+    }
+    
+    /**
+     * 获取把局面变为规范形式的变换，使用调用方提供的数组，不分配对象
+     * @param gameLogic 游戏
+     * @param keys 输出全部8个变换下的哈希，长度至少为8；规范哈希为keys[返回值]
+     * @return 变换编号
+     */
+    public static int canonicalTransform(GameLogic gameLogic, long[] keys) {
+        zobristKeys(gameLogic, keys);
+        return minIndex(keys);
+    }
+    
+    /**
+     * 获取规范形式的Zobrist哈希，8个对称等价的局面得到同一个值
+     * @param gameLogic 游戏
+     * @return 规范哈希
+     */
+    public static long canonicalKey(GameLogic gameLogic) {
+        long[] keys = new long[COUNT];
+        return keys[canonicalTransform(gameLogic, keys)];
+    }
+    
+    /**
+     * 把当前局面下的着法变换到规范形式的局面中
+     * @param gameLogic 游戏
+     * @param moveCode 着法编码
+     * @return 规范局面中的对应着法编码
+     */
+    public static int canonicalMove(GameLogic gameLogic, int moveCode) {
+        return transformMove(canonicalTransform(gameLogic), moveCode);
+    }
+    
+    /**
+     * 把规范局面中的着法变换回当前局面
+     * @param gameLogic 游戏
+     * @param canonicalMoveCode 规范局面中的着法编码
+     * @return 当前局面中的对应着法编码
+     */
+    public static int fromCanonicalMove(GameLogic gameLogic, int canonicalMoveCode) {
+        return transformMove(inverse(canonicalTransform(gameLogic)), canonicalMoveCode);
+    }
+    
+    private static int minIndex(long[] keys) {
+        int best = 0;
+        for (int t = 1; t < COUNT; t++) {
+            if (keys[t] < keys[best]) {
+                best = t;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * 变换快照：棋盘、路由状态和着法栈同时变换，恢复后的局面与原局面对称等价且仍可逐步撤销
+     * @param snapshot 快照
+     * @param t 变换编号
+     * @return 变换后的快照
+     */
+    public static GameSnapshot transform(GameSnapshot snapshot, int t) {
+        char[] boardCodes = new char[CELLS];
+        for (int index = 0; index < CELLS; index++) {
+            boardCodes[GOMOKU_MAP[t][index]] = (char) transformTicTacToeCode(t, snapshot.getBoardCode(index));
+        }
+        int flags = 0;
+        if (snapshot.getCurrentPlayer() == Player.WHITE) {
+            flags |= GameSnapshot.FLAG_WHITE_TO_MOVE;
+        }
+        if (snapshot.isGameStarted()) {
+            flags |= GameSnapshot.FLAG_STARTED;
+        }
+        if (snapshot.canChooseFreely()) {
+            flags |= GameSnapshot.FLAG_FREE_CHOICE;
+        }
+        Position active = snapshot.getActiveGomokuPosition();
+        Position last = snapshot.getLastTicTacToeMove();
+        int[] history = snapshot.history().clone();
+        for (int i = 0; i < history.length; i++) {
+            history[i] = GameLogic.transformStackEntry(history[i], GOMOKU_MAP[t], TICTACTOE_MAP[t]);
+        }
+        return new GameSnapshot(boardCodes, flags,
+            active == null ? -1 : GOMOKU_MAP[t][active.getIndex()],
+            last == null ? -1 : TICTACTOE_MAP[t][last.getRow() * TICTACTOE_SIZE + last.getCol()],
+            history);
+    }
+}
@@ -5,21 +5,122 @@ import com.tictacgomoku.util.GameConstants;
 /**
  * 井字棋盘类
  * 表示一个3x3的井字棋盘
+ * 棋盘以一个int打包存储：低9位为黑方棋子，接下来9位为白方棋子；
+ * 胜负、是否结束以及可落子位置都从覆盖全部3^9个局面的静态表中查出
  */
 public class TicTacToeBoard {
-    private Player[][] board;
-    private Player winner;
-    private boolean isFinished;
-    private int moveCount;
+    private static final int CELL_COUNT = 9;
+    private static final int CELL_MASK = (1 << CELL_COUNT) - 1;
+    private static final int WHITE_SHIFT = CELL_COUNT;
+    
+    // 局面表条目编码：低9位为可落子掩码，第9位为结束标志，第10-11位为获胜者（0无，1黑，2白）
+    private static final int FINISHED_FLAG = 1 << 9;
+    private static final int WINNER_SHIFT = 10;
+    private static final int WINNER_BLACK = 1;
+    private static final int WINNER_WHITE = 2;
+    
+    // 8条获胜连线的掩码
+    private static final int[] WIN_LINES = {
+        0007, 0070, 0700,  // 三行
+        0111, 0222, 0444,  // 三列
+        0421, 0124         // 两条对角线
+    };
+    
+    // 9位掩码到三进制数位和的映射，用于把打包状态转换为3^9局面表的下标
+    private static final int[] TERNARY_DIGITS = new int[1 << CELL_COUNT];
+    // 全部3^9个局面的结果表
+    private static final short[] OUTCOMES;
+    
+    /**
+     * 局面编号的取值个数（3^9），局面编号为各格子三进制数位（0空，1黑，2白）组成的数
+     */
+    public static final int POSITION_CODE_COUNT = 19683;
+    
+    static {
+        for (int mask = 0; mask < TERNARY_DIGITS.length; mask++) {
+            int value = 0;
+            int power = 1;
+            for (int cell = 0; cell < CELL_COUNT; cell++) {
+                if ((mask & (1 << cell)) != 0) {
+                    value += power;
+                }
+                power *= 3;
+            }
+            TERNARY_DIGITS[mask] = value;
+        }
+        
+        OUTCOMES = new short[POSITION_CODE_COUNT];
+        for (int index = 0; index < POSITION_CODE_COUNT; index++) {
+            int black = 0;
+            int white = 0;
+            int rest = index;
+            for (int cell = 0; cell < CELL_COUNT; cell++) {
+                int digit = rest % 3;
+                rest /= 3;
+                if (digit == 1) {
+                    black |= 1 << cell;
+                } else if (digit == 2) {
+                    white |= 1 << cell;
+                }
+            }
+            OUTCOMES[index] = (short) computeOutcome(black, white);
+        }
+    }
+    
+    private int state;
     
     /**
      * 构造函数，创建一个空的井字棋盘
      */
     public TicTacToeBoard() {
-        board = new Player[GameConstants.TICTACTOE_BOARD_SIZE][GameConstants.TICTACTOE_BOARD_SIZE];
-        winner = null;
-        isFinished = false;
-        moveCount = 0;
+        state = 0;
+    }
+    
+    /**
+     * 计算一个局面的结果表条目
+     * 棋子一方连成一线即获胜；非法的双方同时连线局面按先检查到的一方处理，实际对局中不会出现
+     * @param black 黑方掩码
+     * @param white 白方掩码
+     * @return 结果表条目
+     */
+    private static int computeOutcome(int black, int white) {
+        int winner = 0;
+        for (int line : WIN_LINES) {
+            if ((black & line) == line) {
+                winner = WINNER_BLACK;
+                break;
+            }
+            if ((white & line) == line) {
+                winner = WINNER_WHITE;
+                break;
+            }
+        }
+        
+        int empty = CELL_MASK & ~(black | white);
+        if (winner != 0 || empty == 0) {
+            return FINISHED_FLAG | (winner << WINNER_SHIFT);
+        }
+        return empty;
+    }
+    
+    /**
+     * 查询当前局面的结果表条目
+     * @return 结果表条目
+     */
+    private int outcome() {
+        return OUTCOMES[getPositionCode()];
+    }
+    
+    /**
+     * 将位置转换为格子序号
+     * @param position 位置
+     * @return 格子序号（0-8），位置无效时返回-1
+     */
+    private static int cellIndex(Position position) {
+        if (!position.isValid(GameConstants.TICTACTOE_BOARD_SIZE, GameConstants.TICTACTOE_BOARD_SIZE)) {
+            return -1;
+        }
+        return position.getRow() * GameConstants.TICTACTOE_BOARD_SIZE + position.getCol();
     }
     
     /**
@@ -29,22 +130,31 @@ public class TicTacToeBoard {
      * @return 如果下棋成功返回true，否则返回false
      */
     public boolean makeMove(Position position, Player player) {
-        if (!isValidMove(position)) {
+        int cell = cellIndex(position);
+        if (cell < 0 || (outcome() & (1 << cell)) == 0) {
             return false;
         }
         
-        board[position.getRow()][position.getCol()] = player;
-        moveCount++;
-        
-        // 检查是否获胜
-        if (checkWin(position, player)) {
-            winner = player;
-            isFinished = true;
-        } else if (moveCount == 9) {
-            // 棋盘已满，平局
-            isFinished = true;
+        state |= 1 << (player == Player.BLACK ? cell : cell + WHITE_SHIFT);
+        return true;
+    }
+    
+    /**
+     * 撤销指定位置的棋子（用于悔棋和搜索回退）
+     * 胜负和结束状态由局面表重新得出，因此无需额外恢复
+     * @param position 要清空的位置
+     * @return 如果该位置原来有棋子返回true
+     */
+    public boolean undoMove(Position position) {
+        int cell = cellIndex(position);
+        if (cell < 0) {
+            return false;
         }
-        
+        int bits = (1 << cell) | (1 << (cell + WHITE_SHIFT));
+        if ((state & bits) == 0) {
+            return false;
+        }
+        state &= ~bits;
         return true;
     }
     
@@ -54,43 +164,80 @@ public class TicTacToeBoard {
      * @return 如果可以下棋返回true，否则返回false
      */
     public boolean isValidMove(Position position) {
-        if (!position.isValid(GameConstants.TICTACTOE_BOARD_SIZE, GameConstants.TICTACTOE_BOARD_SIZE)) {
+        int cell = cellIndex(position);
+        return cell >= 0 && (outcome() & (1 << cell)) != 0;
+    }
+    
+    /**
+     * 获取所有可以下棋的格子
+     * @return 9位掩码，第row*3+col位为1表示该格可以下棋；棋盘结束时为0
+     */
+    public int getLegalMoveMask() {
+        return outcome() & CELL_MASK;
+    }
+    
+    /**
+     * 检查在指定格子落子后该玩家是否立即赢得本井字棋
+     * @param cell 格子序号（row * 3 + col）
+     * @param player 玩家
+     * @return 如果该步合法且直接获胜返回true
+     */
+    public boolean isWinningMove(int cell, Player player) {
+        if ((outcome() & (1 << cell)) == 0) {
             return false;
         }
-        return board[position.getRow()][position.getCol()] == null && !isFinished;
+        int next = state | (1 << (player == Player.BLACK ? cell : cell + WHITE_SHIFT));
+        int winner = OUTCOMES[TERNARY_DIGITS[next & CELL_MASK] + 2 * TERNARY_DIGITS[next >>> WHITE_SHIFT]] >>> WINNER_SHIFT;
+        return winner == (player == Player.BLACK ? WINNER_BLACK : WINNER_WHITE);
     }
     
     /**
-     * 检查在指定位置下棋后是否获胜
-     * @param position 下棋位置
-     * @param player 下棋的玩家
-     * @return 如果获胜返回true，否则返回false
+     * 统计某玩家的潜在连线数量
+     * 只计算对手尚未占据、且该玩家恰好已有指定数量棋子的连线
+     * @param player 玩家
+     * @param stones 连线中该玩家的棋子数
+     * @return 满足条件的连线数量
      */
-    private boolean checkWin(Position position, Player player) {
-        int row = position.getRow();
-        int col = position.getCol();
-        
-        // 检查行
-        if (board[row][0] == player && board[row][1] == player && board[row][2] == player) {
-            return true;
-        }
-        
-        // 检查列
-        if (board[0][col] == player && board[1][col] == player && board[2][col] == player) {
-            return true;
+    public int countOpenLines(Player player, int stones) {
+        int own = getPlayerMask(player);
+        int opponent = getPlayerMask(player.getOpponent());
+        int count = 0;
+        for (int line : WIN_LINES) {
+            if ((opponent & line) == 0 && Integer.bitCount(own & line) == stones) {
+                count++;
+            }
         }
-        
-        // 检查主对角线
-        if (row == col && board[0][0] == player && board[1][1] == player && board[2][2] == player) {
-            return true;
+        return count;
+    }
+    
+    /**
+     * 计算某玩家赢下本井字棋至少还需要下几步（不考虑对手的应对）
+     * @param player 玩家
+     * @return 0表示已经获胜，1-3表示所需步数，-1表示已无法获胜（对手已占据所有连线或棋盘已结束）
+     */
+    public int movesToWin(Player player) {
+        int outcome = outcome();
+        if ((outcome & FINISHED_FLAG) != 0) {
+            return (outcome >>> WINNER_SHIFT) == (player == Player.BLACK ? WINNER_BLACK : WINNER_WHITE) ? 0 : -1;
         }
-        
-        // 检查副对角线
-        if (row + col == 2 && board[0][2] == player && board[1][1] == player && board[2][0] == player) {
-            return true;
+        int own = getPlayerMask(player);
+        int opponent = getPlayerMask(player.getOpponent());
+        int best = -1;
+        for (int line : WIN_LINES) {
+            if ((opponent & line) == 0) {
+                best = Math.max(best, Integer.bitCount(own & line));
+            }
         }
-        
-        return false;
+        return best < 0 ? -1 : 3 - best;
+    }
+    
+    /**
+     * 获取某玩家的棋子掩码
+     * @param player 玩家
+     * @return 9位掩码，第row*3+col位为1表示该格是该玩家的棋子
+     */
+    public int getPlayerMask(Player player) {
+        return player == Player.BLACK ? state & CELL_MASK : state >>> WHITE_SHIFT;
     }
     
     /**
@@ -99,10 +246,17 @@ public class TicTacToeBoard {
      * @return 该位置的玩家，如果为空返回null
      */
     public Player getPlayer(Position position) {
-        if (!position.isValid(GameConstants.TICTACTOE_BOARD_SIZE, GameConstants.TICTACTOE_BOARD_SIZE)) {
+        int cell = cellIndex(position);
+        if (cell < 0) {
             return null;
         }
-        return board[position.getRow()][position.getCol()];
+        if ((state & (1 << cell)) != 0) {
+            return Player.BLACK;
+        }
+        if ((state & (1 << (cell + WHITE_SHIFT))) != 0) {
+            return Player.WHITE;
+        }
+        return null;
     }
     
     /**
@@ -110,7 +264,14 @@ public class TicTacToeBoard {
      * @return 获胜的玩家，如果没有获胜者返回null
      */
     public Player getWinner() {
-        return winner;
+        switch (outcome() >>> WINNER_SHIFT) {
+            case WINNER_BLACK:
+                return Player.BLACK;
+            case WINNER_WHITE:
+                return Player.WHITE;
+            default:
+                return null;
+        }
     }
     
     /**
@@ -118,7 +279,7 @@ public class TicTacToeBoard {
      * @return 如果游戏结束返回true，否则返回false
      */
     public boolean isFinished() {
-        return isFinished;
+        return (outcome() & FINISHED_FLAG) != 0;
     }
     
     /**
@@ -126,7 +287,8 @@ public class TicTacToeBoard {
      * @return 如果是平局返回true，否则返回false
      */
     public boolean isDraw() {
-        return isFinished && winner == null;
+        int outcome = outcome();
+        return (outcome & FINISHED_FLAG) != 0 && (outcome >>> WINNER_SHIFT) == 0;
     }
     
     /**
@@ -134,17 +296,53 @@ public class TicTacToeBoard {
      * @return 当前已下的棋子数量
      */
     public int getMoveCount() {
-        return moveCount;
+        return Integer.bitCount(state);
+    }
+    
+    /**
+     * 获取打包后的棋盘状态
+     * @return 低9位为黑方棋子，第9-17位为白方棋子
+     */
+    public int getPackedState() {
+        return state;
+    }
+    
+    /**
+     * 获取局面编号，用于紧凑地保存棋盘（不超过16位）
+     * @return 局面编号（0 到 POSITION_CODE_COUNT - 1）
+     */
+    public int getPositionCode() {
+        return TERNARY_DIGITS[state & CELL_MASK] + 2 * TERNARY_DIGITS[state >>> WHITE_SHIFT];
+    }
+    
+    /**
+     * 按局面编号设置棋盘
+     * @param code 局面编号
+     * @throws IllegalArgumentException 如果编号超出范围
+     */
+    public void setPositionCode(int code) {
+        if (code < 0 || code >= POSITION_CODE_COUNT) {
+            throw new IllegalArgumentException("井字棋局面编号无效: " + code);
+        }
+        int black = 0;
+        int white = 0;
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            int digit = code % 3;
+            code /= 3;
+            if (digit == 1) {
+                black |= 1 << cell;
+            } else if (digit == 2) {
+                white |= 1 << cell;
+            }
+        }
+        state = black | (white << WHITE_SHIFT);
     }
     
     /**
      * 重置棋盘
      */
     public void reset() {
-        board = new Player[GameConstants.TICTACTOE_BOARD_SIZE][GameConstants.TICTACTOE_BOARD_SIZE];
-        winner = null;
-        isFinished = false;
-        moveCount = 0;
+        state = 0;
     }
     
     /**
@@ -153,14 +351,7 @@ public class TicTacToeBoard {
      */
     public TicTacToeBoard copy() {
         TicTacToeBoard copy = new TicTacToeBoard();
-        for (int i = 0; i < GameConstants.TICTACTOE_BOARD_SIZE; i++) {
-            for (int j = 0; j < GameConstants.TICTACTOE_BOARD_SIZE; j++) {
-                copy.board[i][j] = this.board[i][j];
-            }
-        }
-        copy.winner = this.winner;
-        copy.isFinished = this.isFinished;
-        copy.moveCount = this.moveCount;
+        copy.state = this.state;
         return copy;
     }
     
@@ -169,10 +360,13 @@ public class TicTacToeBoard {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < GameConstants.TICTACTOE_BOARD_SIZE; i++) {
             for (int j = 0; j < GameConstants.TICTACTOE_BOARD_SIZE; j++) {
-                if (board[i][j] == null) {
-                    sb.append("- ");
+                int cell = i * GameConstants.TICTACTOE_BOARD_SIZE + j;
+                if ((state & (1 << cell)) != 0) {
+                    sb.append(Player.BLACK.getSymbol()).append(" ");
+                } else if ((state & (1 << (cell + WHITE_SHIFT))) != 0) {
+                    sb.append(Player.WHITE.getSymbol()).append(" ");
                 } else {
-                    sb.append(board[i][j].getSymbol()).append(" ");
+                    sb.append("- ");
                 }
             }
             sb.append("\n");
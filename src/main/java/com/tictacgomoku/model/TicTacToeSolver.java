@@ -0,0 +1,159 @@
+package com.tictacgomoku.model;
+
+import java.util.Arrays;
+
+/**
+ * 井字棋精确求解表
+ * 类加载时对全部3^9个局面和两种行棋方做一次带记忆的极小极大搜索，此后查询只需读一个数组元素。
+ * 井字五子棋中同一个井字棋上的落子不一定轮流进行（由路由决定），因此行棋方是独立的参数，
+ * 结果表示从该局面起双方在这个井字棋上轮流落子时的理论结果。
+ * 表条目编码：低9位为最佳着法掩码，第9-10位为结果，第11-14位为双方最优下到结束还需的步数
+ */
+public final class TicTacToeSolver {
+    // 结果，从行棋方的角度
+    public static final int LOSS = -1;
+    public static final int DRAW = 0;
+    public static final int WIN = 1;
+    
+    private static final int CELL_COUNT = 9;
+    private static final int CELL_MASK = (1 << CELL_COUNT) - 1;
+    private static final int RESULT_SHIFT = 9;
+    private static final int PLIES_SHIFT = 11;
+    private static final int UNSOLVED = -1;
+    private static final int[] POWERS = {1, 3, 9, 27, 81, 243, 729, 2187, 6561};
+    
+    // 下标为 局面编号 * 2 + 行棋方（0黑，1白）
+    private static final short[] TABLE = new short[TicTacToeBoard.POSITION_CODE_COUNT * 2];
+    
+    static {
+        Arrays.fill(TABLE, (short) UNSOLVED);
+        TicTacToeBoard scratch = new TicTacToeBoard();
+        for (int code = 0; code < TicTacToeBoard.POSITION_CODE_COUNT; code++) {
+            solve(code, 0, scratch);
+            solve(code, 1, scratch);
+        }
+    }
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private TicTacToeSolver() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 求解一个局面（带记忆的负极大值搜索，深度不超过9）
+     * 最佳着法取结果最好的着法，胜时取最快获胜的、负时取最晚输掉的
+     * @param code 局面编号
+     * @param side 行棋方（0黑，1白）
+     * @param scratch 用于查询胜负的临时棋盘
+     * @return 表条目
+     */
+    private static int solve(int code, int side, TicTacToeBoard scratch) {
+        int index = code * 2 + side;
+        if (TABLE[index] != UNSOLVED) {
+            return TABLE[index];
+        }
+        scratch.setPositionCode(code);
+        int entry;
+        if (scratch.isFinished()) {
+            Player winner = scratch.getWinner();
+            int result = winner == null ? DRAW : (winner == Player.BLACK) == (side == 0) ? WIN : LOSS;
+            entry = encode(0, result, 0);
+        } else {
+            int empty = scratch.getLegalMoveMask();
+            int bestValue = Integer.MIN_VALUE;
+            int bestMask = 0;
+            int bestResult = LOSS;
+            int bestPlies = 0;
+            for (int cell = 0; cell < CELL_COUNT; cell++) {
+                if ((empty & (1 << cell)) == 0) {
+                    continue;
+                }
+                int child = solve(code + (side + 1) * POWERS[cell], 1 - side, scratch);
+                int result = -resultOf(child);
+                int plies = pliesOf(child) + 1;
+                // 胜得越快越好，输得越晚越好，平局不区分步数
+                int value = result * 16 - (result == DRAW ? 0 : result * plies);
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestMask = 1 << cell;
+                    bestResult = result;
+                    bestPlies = plies;
+                } else if (value == bestValue) {
+                    bestMask |= 1 << cell;
+                    bestPlies = Math.max(bestPlies, plies);
+                }
+            }
+            entry = encode(bestMask, bestResult, bestPlies);
+        }
+        TABLE[index] = (short) entry;
+        return entry;
+    }
+    
+    private static int encode(int moveMask, int result, int plies) {
+        return moveMask | ((result + 1) << RESULT_SHIFT) | (plies << PLIES_SHIFT);
+    }
+    
+    private static int resultOf(int entry) {
+        return ((entry >>> RESULT_SHIFT) & 3) - 1;
+    }
+    
+    private static int pliesOf(int entry) {
+        return entry >>> PLIES_SHIFT;
+    }
+    
+    private static int entry(int positionCode, Player toMove) {
+        return TABLE[positionCode * 2 + (toMove == Player.BLACK ? 0 : 1)];
+    }
+    
+    /**
+     * 查询理论结果
+     * @param positionCode 局面编号（见TicTacToeBoard.getPositionCode）
+     * @param toMove 行棋方
+     * @return 从行棋方角度的结果：WIN、DRAW或LOSS
+     */
+    public static int result(int positionCode, Player toMove) {
+        return resultOf(entry(positionCode, toMove));
+    }
+    
+    /**
+     * 查询井字棋盘的理论结果
+     * @param board 井字棋盘
+     * @param toMove 行棋方
+     * @return 从行棋方角度的结果：WIN、DRAW或LOSS
+     */
+    public static int result(TicTacToeBoard board, Player toMove) {
+        return result(board.getPositionCode(), toMove);
+    }
+    
+    /**
+     * 查询所有最佳着法
+     * @param positionCode 局面编号
+     * @param toMove 行棋方
+     * @return 9位掩码，第row*3+col位为1表示该格是最佳着法；棋盘已结束时为0
+     */
+    public static int bestMoveMask(int positionCode, Player toMove) {
+        return entry(positionCode, toMove) & CELL_MASK;
+    }
+    
+    /**
+     * 查询井字棋盘上的所有最佳着法
+     * @param board 井字棋盘
+     * @param toMove 行棋方
+     * @return 9位掩码；棋盘已结束时为0
+     */
+    public static int bestMoveMask(TicTacToeBoard board, Player toMove) {
+        return bestMoveMask(board.getPositionCode(), toMove);
+    }
+    
+    /**
+     * 查询双方都按最佳着法轮流落子时下到结束还需的步数
+     * @param positionCode 局面编号
+     * @param toMove 行棋方
+     * @return 步数（0-9），棋盘已结束时为0
+     */
+    public static int pliesToEnd(int positionCode, Player toMove) {
+        return pliesOf(entry(positionCode, toMove));
+    }
+}
@@ -0,0 +1,94 @@
+package com.tictacgomoku.model;
+
+import com.tictacgomoku.util.GameConstants;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist哈希键表
+ * 为局面中的每个组成部分分配一个固定的64位随机数，局面的哈希值为所有存在部分的异或。
+ * 随机数使用固定种子生成，保证不同运行之间哈希值一致（可用于持久化的缓存和开局库）
+ */
+public final class ZobristKeys {
+    private static final long SEED = 0x7A6F62726973744CL;
+    private static final int CELLS = GameConstants.GOMOKU_BOARD_SIZE * GameConstants.GOMOKU_BOARD_SIZE;
+    private static final int TICTACTOE_CELLS = GameConstants.TICTACTOE_BOARD_SIZE * GameConstants.TICTACTOE_BOARD_SIZE;
+    
+    private static final long[][] STONE_KEYS = new long[2][CELLS];
+    private static final long[][] TICTACTOE_KEYS = new long[2][CELLS * TICTACTOE_CELLS];
+    private static final long[] ACTIVE_KEYS = new long[CELLS];
+    private static final long WHITE_TO_MOVE_KEY;
+    private static final long FREE_CHOICE_KEY;
+    
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int p = 0; p < 2; p++) {
+            for (int i = 0; i < CELLS; i++) {
+                STONE_KEYS[p][i] = random.nextLong();
+            }
+            for (int i = 0; i < CELLS * TICTACTOE_CELLS; i++) {
+                TICTACTOE_KEYS[p][i] = random.nextLong();
+            }
+        }
+        for (int i = 0; i < CELLS; i++) {
+            ACTIVE_KEYS[i] = random.nextLong();
+        }
+        WHITE_TO_MOVE_KEY = random.nextLong();
+        FREE_CHOICE_KEY = random.nextLong();
+    }
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ZobristKeys() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 五子棋棋子的键
+     * @param player 棋子所属玩家
+     * @param gomokuIndex 五子棋格子序号
+     * @return 键值
+     */
+    public static long stone(Player player, int gomokuIndex) {
+        return STONE_KEYS[player.ordinal()][gomokuIndex];
+    }
+    
+    /**
+     * 井字棋格子中棋子的键
+     * @param player 棋子所属玩家
+     * @param gomokuIndex 井字棋所在的五子棋格子序号
+     * @param ticTacToeIndex 井字棋格子序号
+     * @return 键值
+     */
+    public static long ticTacToe(Player player, int gomokuIndex, int ticTacToeIndex) {
+        return TICTACTOE_KEYS[player.ordinal()][gomokuIndex * TICTACTOE_CELLS + ticTacToeIndex];
+    }
+    
+    /**
+     * 活跃五子棋位置的键
+     * @param gomokuIndex 活跃位置的格子序号
+     * @return 键值
+     */
+    public static long active(int gomokuIndex) {
+        return ACTIVE_KEYS[gomokuIndex];
+    }
+    
+    /**
+     * 当前玩家的键（黑方为0，白方为固定随机数）
+     * @param player 当前玩家
+     * @return 键值
+     */
+    public static long sideToMove(Player player) {
+        return player == Player.WHITE ? WHITE_TO_MOVE_KEY : 0L;
+    }
+    
+    /**
+     * 可自由选择标志的键
+     * @param canChooseFreely 是否可自由选择
+     * @return 键值
+     */
+    public static long freeChoice(boolean canChooseFreely) {
+        return canChooseFreely ? FREE_CHOICE_KEY : 0L;
+    }
+}
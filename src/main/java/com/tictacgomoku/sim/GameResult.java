@@ -0,0 +1,45 @@
+package com.tictacgomoku.sim;
+
+import com.tictacgomoku.model.Player;
+
+/**
+ * 对局结果
+ */
+public class GameResult {
+    private final Player winner;
+    private final int moveCount;
+    private final int stoneCount;
+    
+    /**
+     * 构造函数
+     * @param winner 获胜者，平局为null
+     * @param moveCount 井字棋着法总数
+     * @param stoneCount 五子棋棋子数
+     */
+    public GameResult(Player winner, int moveCount, int stoneCount) {
+        this.winner = winner;
+        this.moveCount = moveCount;
+        this.stoneCount = stoneCount;
+    }
+    
+    public Player getWinner() {
+        return winner;
+    }
+    
+    public boolean isDraw() {
+        return winner == null;
+    }
+    
+    public int getMoveCount() {
+        return moveCount;
+    }
+    
+    public int getStoneCount() {
+        return stoneCount;
+    }
+    
+    @Override
+    public String toString() {
+        return (winner == null ? "平局" : winner.getDisplayName() + "获胜") + ", " + moveCount + " 步";
+    }
+}
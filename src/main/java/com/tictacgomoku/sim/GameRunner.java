@@ -0,0 +1,72 @@
+package com.tictacgomoku.sim;
+
+import com.tictacgomoku.ai.PlayerStrategy;
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.Move;
+import com.tictacgomoku.model.Player;
+
+/**
+ * 对局执行器
+ * 在GameLogic上让两个策略交替落子直到游戏结束
+ */
+public class GameRunner {
+    
+    /**
+     * 着法监听器，每执行一步后回调
+     */
+    public interface MoveListener {
+        /**
+         * @param gameLogic 执行着法后的游戏
+         * @param move 刚执行的着法
+         * @param player 走这步棋的玩家
+         */
+        void onMove(GameLogic gameLogic, Move move, Player player);
+    }
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private GameRunner() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 从新游戏开始进行一局对弈
+     * @param black 黑方策略
+     * @param white 白方策略
+     * @return 对局结果
+     */
+    public static GameResult play(PlayerStrategy black, PlayerStrategy white) {
+        return play(new GameLogic(), black, white, null);
+    }
+    
+    /**
+     * 在给定游戏上继续对弈直到结束
+     * @param gameLogic 游戏（会被修改）
+     * @param black 黑方策略
+     * @param white 白方策略
+     * @param listener 着法监听器，可以为null
+     * @return 对局结果
+     * @throws IllegalStateException 如果策略返回了非法着法
+     */
+    public static GameResult play(GameLogic gameLogic, PlayerStrategy black, PlayerStrategy white,
+                                  MoveListener listener) {
+        int moves = 0;
+        while (!gameLogic.isGameOver()) {
+            Player player = gameLogic.getGameState().getCurrentPlayer();
+            PlayerStrategy strategy = player == Player.BLACK ? black : white;
+            Move move = strategy.chooseMove(gameLogic);
+            if (move == null) {
+                break; // 无处可下，平局
+            }
+            if (!gameLogic.makeMove(move.getGomokuPosition(), move.getTicTacToePosition())) {
+                throw new IllegalStateException(strategy.getName() + " 返回了非法着法: " + move);
+            }
+            moves++;
+            if (listener != null) {
+                listener.onMove(gameLogic, move, player);
+            }
+        }
+        return new GameResult(gameLogic.getWinner(), moves, gameLogic.getGomokuBoard().getMoveCount());
+    }
+}
@@ -0,0 +1,246 @@
+package com.tictacgomoku.sim;
+
+import com.tictacgomoku.ai.PlayerStrategy;
+import com.tictacgomoku.ai.StrategyFactory;
+import com.tictacgomoku.io.GameRecord;
+import com.tictacgomoku.io.GameRecordWriter;
+import com.tictacgomoku.model.GameLogic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 无界面自对弈模拟器
+ * 在多个线程上并行进行大量对局并输出统计。不加载任何AWT/Swing类，可在无图形环境运行。
+ * 用法：
+ * java -cp out com.tictacgomoku.sim.SelfPlaySimulator --games 1000 --threads 4
+ *      --black random --white alphabeta:50 [--csv 文件] [--json 文件] [--record 文件]
+ */
+public class SelfPlaySimulator {
+    private static final long PROGRESS_INTERVAL_MILLIS = 5000;
+    
+    private final String blackSpec;
+    private final String whiteSpec;
+    private final Supplier<PlayerStrategy> blackFactory;
+    private final Supplier<PlayerStrategy> whiteFactory;
+    private final long games;
+    private final int threads;
+    private final SimulationStats stats;
+    private GameRecordWriter recordWriter;
+    
+    /**
+     * 构造函数
+     * @param blackSpec 黑方策略描述
+     * @param whiteSpec 白方策略描述
+     * @param games 对局数
+     * @param threads 线程数
+     */
+    public SelfPlaySimulator(String blackSpec, String whiteSpec, long games, int threads) {
+        if (games <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("对局数和线程数必须为正数");
+        }
+        this.blackSpec = blackSpec;
+        this.whiteSpec = whiteSpec;
+        this.blackFactory = StrategyFactory.parse(blackSpec);
+        this.whiteFactory = StrategyFactory.parse(whiteSpec);
+        this.games = games;
+        this.threads = threads;
+        this.stats = new SimulationStats(blackSpec, whiteSpec, threads);
+    }
+    
+    /**
+     * 设置对局记录写入器，每局结束后把着法写入其中（写入时对写入器加锁）
+     * @param recordWriter 写入器，为null时不记录
+     */
+    public void setRecordWriter(GameRecordWriter recordWriter) {
+        this.recordWriter = recordWriter;
+    }
+    
+    /**
+     * 运行全部对局，阻塞直到完成
+     * @return 统计结果
+     * @throws InterruptedException 如果等待时被中断
+     */
+    public SimulationStats run() throws InterruptedException {
+        AtomicLong remaining = new AtomicLong(games);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                futures[i] = executor.submit(() -> playGames(remaining));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("模拟线程失败", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        stats.finish();
+        return stats;
+    }
+    
+    /**
+     * 单个线程的工作循环：每个线程拥有自己的策略实例和游戏对象
+     */
+    private void playGames(AtomicLong remaining) {
+        PlayerStrategy black = blackFactory.get();
+        PlayerStrategy white = whiteFactory.get();
+        GameLogic game = new GameLogic();
+        try {
+            while (remaining.getAndDecrement() > 0 && !Thread.currentThread().isInterrupted()) {
+                game.newGame();
+                stats.record(GameRunner.play(game, black, white, null));
+                if (recordWriter != null) {
+                    writeRecord(GameRecord.of(game, blackSpec, whiteSpec));
+                }
+            }
+        } finally {
+            black.close();
+            white.close();
+        }
+    }
+    
+    private void writeRecord(GameRecord record) {
+        synchronized (recordWriter) {
+            try {
+                recordWriter.write(record);
+            } catch (IOException e) {
+                throw new UncheckedIOException("写入对局记录失败", e);
+            }
+        }
+    }
+    
+    public SimulationStats getStats() {
+        return stats;
+    }
+    
+    /**
+     * 命令行入口
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) throws Exception {
+        long games = 100;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String black = "random";
+        String white = "random";
+        String csvFile = null;
+        String jsonFile = null;
+        String recordFile = null;
+        boolean quiet = false;
+        
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games":
+                    games = Long.parseLong(requireValue(args, ++i));
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(requireValue(args, ++i));
+                    break;
+                case "--black":
+                    black = requireValue(args, ++i);
+                    break;
+                case "--white":
+                    white = requireValue(args, ++i);
+                    break;
+                case "--csv":
+                    csvFile = requireValue(args, ++i);
+                    break;
+                case "--json":
+                    jsonFile = requireValue(args, ++i);
+                    break;
+                case "--record":
+                    recordFile = requireValue(args, ++i);
+                    break;
+                case "--quiet":
+                    quiet = true;
+                    break;
+                case "--help":
+                    printUsage();
+                    return;
+                default:
+                    System.err.println("未知参数: " + args[i]);
+                    printUsage();
+                    System.exit(2);
+            }
+        }
+        
+        SelfPlaySimulator simulator = new SelfPlaySimulator(black, white, games, threads);
+        Thread progress = null;
+        if (!quiet) {
+            progress = new Thread(() -> reportProgress(simulator.getStats()), "sim-progress");
+            progress.setDaemon(true);
+            progress.start();
+        }
+        SimulationStats stats;
+        if (recordFile != null) {
+            try (GameRecordWriter writer = GameRecordWriter.create(new File(recordFile))) {
+                simulator.setRecordWriter(writer);
+                stats = simulator.run();
+            }
+        } else {
+            stats = simulator.run();
+        }
+        if (progress != null) {
+            progress.interrupt();
+        }
+        
+        System.out.println(stats);
+        if (csvFile != null) {
+            write(csvFile, stats.toCsv());
+        }
+        if (jsonFile != null) {
+            write(jsonFile, stats.toJson());
+        }
+    }
+    
+    private static void reportProgress(SimulationStats stats) {
+        try {
+            while (true) {
+                Thread.sleep(PROGRESS_INTERVAL_MILLIS);
+                System.err.printf("已完成 %d 局, %.1f 局/秒%n", stats.getGames(), stats.getGamesPerSecond());
+            }
+        } catch (InterruptedException e) {
+            // 模拟结束
+        }
+    }
+    
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("参数缺少值: " + args[index - 1]);
+        }
+        return args[index];
+    }
+    
+    private static void write(String file, String content) throws IOException {
+        if ("-".equals(file)) {
+            System.out.print(content);
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8)) {
+            writer.write(content);
+        }
+    }
+    
+    private static void printUsage() {
+        System.err.println("用法: SelfPlaySimulator [--games N] [--threads N] [--black 策略] [--white 策略]"
+                + " [--csv 文件|-] [--json 文件|-] [--record 文件] [--quiet]");
+        System.err.println("策略: random | alphabeta[:毫秒[:开局库]] | mcts[:毫秒[:线程数]]");
+    }
+}
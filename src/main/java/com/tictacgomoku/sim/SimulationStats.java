@@ -0,0 +1,207 @@
+package com.tictacgomoku.sim;
+
+import com.tictacgomoku.model.Player;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自对弈统计
+ * 由多个模拟线程并发累加，计数器使用LongAdder避免争用
+ */
+public class SimulationStats {
+    private final String blackSpec;
+    private final String whiteSpec;
+    private final int threads;
+    private final long startNanos;
+    private volatile long endNanos;
+    
+    private final LongAdder games = new LongAdder();
+    private final LongAdder blackWins = new LongAdder();
+    private final LongAdder whiteWins = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder stones = new LongAdder();
+    
+    /**
+     * 构造函数，从此刻开始计时
+     * @param blackSpec 黑方策略描述
+     * @param whiteSpec 白方策略描述
+     * @param threads 模拟线程数
+     */
+    public SimulationStats(String blackSpec, String whiteSpec, int threads) {
+        this.blackSpec = blackSpec;
+        this.whiteSpec = whiteSpec;
+        this.threads = threads;
+        this.startNanos = System.nanoTime();
+    }
+    
+    /**
+     * 记录一局结果
+     * @param result 对局结果
+     */
+    public void record(GameResult result) {
+        if (result.getWinner() == Player.BLACK) {
+            blackWins.increment();
+        } else if (result.getWinner() == Player.WHITE) {
+            whiteWins.increment();
+        } else {
+            draws.increment();
+        }
+        moves.add(result.getMoveCount());
+        stones.add(result.getStoneCount());
+        games.increment();
+    }
+    
+    /**
+     * 停止计时
+     */
+    public void finish() {
+        endNanos = System.nanoTime();
+    }
+    
+    public long getGames() {
+        return games.sum();
+    }
+    
+    public long getBlackWins() {
+        return blackWins.sum();
+    }
+    
+    public long getWhiteWins() {
+        return whiteWins.sum();
+    }
+    
+    public long getDraws() {
+        return draws.sum();
+    }
+    
+    public long getMoves() {
+        return moves.sum();
+    }
+    
+    /**
+     * 获取已用时间，未调用finish时计算到当前时刻
+     * @return 已用秒数
+     */
+    public double getElapsedSeconds() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+    
+    public double getGamesPerSecond() {
+        return perSecond(getGames());
+    }
+    
+    public double getMovesPerSecond() {
+        return perSecond(getMoves());
+    }
+    
+    public double getBlackWinRate() {
+        return ratio(getBlackWins());
+    }
+    
+    public double getWhiteWinRate() {
+        return ratio(getWhiteWins());
+    }
+    
+    public double getDrawRate() {
+        return ratio(getDraws());
+    }
+    
+    /**
+     * 获取平均对局长度（井字棋着法数）
+     * @return 平均步数
+     */
+    public double getAverageLength() {
+        return ratio(getMoves());
+    }
+    
+    /**
+     * 获取每局平均五子棋棋子数
+     * @return 平均棋子数
+     */
+    public double getAverageStones() {
+        return ratio(stones.sum());
+    }
+    
+    private double perSecond(long count) {
+        double seconds = getElapsedSeconds();
+        return seconds > 0 ? count / seconds : 0.0;
+    }
+    
+    private double ratio(long count) {
+        long total = getGames();
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+    
+    /**
+     * 生成CSV格式（表头加一行数据）
+     * @return CSV文本
+     */
+    public String toCsv() {
+        return "black,white,threads,games,black_wins,white_wins,draws,black_win_rate,white_win_rate,"
+                + "draw_rate,avg_length,avg_stones,elapsed_s,games_per_s,moves_per_s\n"
+                + String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%d,%.4f,%.4f,%.4f,%.2f,%.2f,%.3f,%.2f,%.1f%n",
+                    csvField(blackSpec), csvField(whiteSpec), threads, getGames(), getBlackWins(), getWhiteWins(),
+                    getDraws(), getBlackWinRate(), getWhiteWinRate(), getDrawRate(), getAverageLength(),
+                    getAverageStones(), getElapsedSeconds(), getGamesPerSecond(), getMovesPerSecond());
+    }
+    
+    /**
+     * 生成JSON格式
+     * @return JSON文本
+     */
+    public String toJson() {
+        return String.format(Locale.ROOT,
+                "{\"black\":%s,\"white\":%s,\"threads\":%d,\"games\":%d,\"blackWins\":%d,"
+                + "\"whiteWins\":%d,\"draws\":%d,\"blackWinRate\":%.4f,\"whiteWinRate\":%.4f,"
+                + "\"drawRate\":%.4f,\"averageLength\":%.2f,\"averageStones\":%.2f,\"elapsedSeconds\":%.3f,"
+                + "\"gamesPerSecond\":%.2f,\"movesPerSecond\":%.1f}%n",
+                jsonString(blackSpec), jsonString(whiteSpec), threads, getGames(), getBlackWins(), getWhiteWins(),
+                getDraws(), getBlackWinRate(), getWhiteWinRate(), getDrawRate(), getAverageLength(),
+                getAverageStones(), getElapsedSeconds(), getGamesPerSecond(), getMovesPerSecond());
+    }
+    
+    /**
+     * 生成CSV字段：总是加双引号，字段中的双引号写两次（策略描述中的开局库路径可能含有逗号或引号）
+     * @param value 字段值
+     * @return 带引号的字段
+     */
+    private static String csvField(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    
+    /**
+     * 生成JSON字符串字面量，转义反斜杠、双引号和控制字符
+     * @param value 字符串
+     * @return 带引号的JSON字符串
+     */
+    private static String jsonString(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "黑方 %s vs 白方 %s, %d 线程%n"
+                + "对局: %d (黑胜 %.1f%%, 白胜 %.1f%%, 平局 %.1f%%)%n"
+                + "平均长度: %.1f 步, 平均棋子: %.1f%n"
+                + "用时: %.2f 秒, %.1f 局/秒, %.0f 步/秒",
+                blackSpec, whiteSpec, threads, getGames(),
+                getBlackWinRate() * 100, getWhiteWinRate() * 100, getDrawRate() * 100,
+                getAverageLength(), getAverageStones(),
+                getElapsedSeconds(), getGamesPerSecond(), getMovesPerSecond());
+    }
+}
@@ -0,0 +1,136 @@
+package com.tictacgomoku.tournament;
+
+import java.util.Locale;
+
+/**
+ * Elo差估计
+ * 由胜、平、负局数按逻辑斯谛模型换算Elo差，置信区间由得分率的正态近似得到：
+ * 每局得分（1、0.5、0）的样本方差除以局数即为平均得分的方差
+ */
+public final class EloEstimate {
+    private static final double Z_95 = 1.959964;
+    // 得分率为0或1时Elo差为无穷，截断到这个范围内
+    private static final double MIN_SCORE = 1e-6;
+    
+    private final long wins;
+    private final long draws;
+    private final long losses;
+    private final double elo;
+    private final double lower;
+    private final double upper;
+    
+    /**
+     * 构造函数，计算95%置信区间
+     * @param wins 胜局数
+     * @param draws 平局数
+     * @param losses 负局数
+     */
+    public EloEstimate(long wins, long draws, long losses) {
+        if (wins < 0 || draws < 0 || losses < 0) {
+            throw new IllegalArgumentException("局数不能为负数");
+        }
+        this.wins = wins;
+        this.draws = draws;
+        this.losses = losses;
+        long games = wins + draws + losses;
+        if (games == 0) {
+            this.elo = 0.0;
+            this.lower = Double.NEGATIVE_INFINITY;
+            this.upper = Double.POSITIVE_INFINITY;
+            return;
+        }
+        double score = getScore();
+        double margin = Z_95 * Math.sqrt(regularizedVariance(wins, draws, losses) / games);
+        this.elo = scoreToElo(score);
+        this.lower = scoreToElo(score - margin);
+        this.upper = scoreToElo(score + margin);
+    }
+    
+    /**
+     * 把得分率换算为Elo差
+     * @param score 得分率（0到1）
+     * @return Elo差
+     */
+    public static double scoreToElo(double score) {
+        double clamped = Math.min(1 - MIN_SCORE, Math.max(MIN_SCORE, score));
+        return -400.0 * Math.log10(1.0 / clamped - 1.0);
+    }
+    
+    /**
+     * 把Elo差换算为期望得分率
+     * @param elo Elo差
+     * @return 得分率
+     */
+    public static double eloToScore(double elo) {
+        return 1.0 / (1.0 + Math.pow(10.0, -elo / 400.0));
+    }
+    
+    /**
+     * 计算每局得分的方差
+     * @param wins 胜局数
+     * @param draws 平局数
+     * @param losses 负局数
+     * @return 方差，没有对局时为0
+     */
+    static double scoreVariance(long wins, long draws, long losses) {
+        long games = wins + draws + losses;
+        if (games == 0) {
+            return 0.0;
+        }
+        double score = (wins + 0.5 * draws) / games;
+        double winDeviation = 1.0 - score;
+        double drawDeviation = 0.5 - score;
+        return (wins * winDeviation * winDeviation + draws * drawDeviation * drawDeviation
+                + losses * score * score) / games;
+    }
+    
+    /**
+     * 计算胜、平、负各加一局先验后的每局得分方差
+     * 一方全胜或全负时样本方差为0，直接使用会得到零宽的置信区间，SPRT也永远无法结束
+     * @param wins 胜局数
+     * @param draws 平局数
+     * @param losses 负局数
+     * @return 方差
+     */
+    static double regularizedVariance(long wins, long draws, long losses) {
+        return scoreVariance(wins + 1, draws + 1, losses + 1);
+    }
+    
+    public long getGames() {
+        return wins + draws + losses;
+    }
+    
+    /**
+     * 获取得分率（平局计半分）
+     * @return 得分率，没有对局时为0.5
+     */
+    public double getScore() {
+        long games = getGames();
+        return games == 0 ? 0.5 : (wins + 0.5 * draws) / games;
+    }
+    
+    public double getElo() {
+        return elo;
+    }
+    
+    public double getLower() {
+        return lower;
+    }
+    
+    public double getUpper() {
+        return upper;
+    }
+    
+    /**
+     * 获取置信区间的半宽（上下界不对称时取较大的一侧）
+     * @return 误差范围
+     */
+    public double getMargin() {
+        return Math.max(upper - elo, elo - lower);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%+.1f ± %.1f (+%d =%d -%d)", elo, getMargin(), wins, draws, losses);
+    }
+}
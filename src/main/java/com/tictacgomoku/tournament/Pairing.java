@@ -0,0 +1,123 @@
+package com.tictacgomoku.tournament;
+
+import com.tictacgomoku.model.Player;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一对参赛者之间的对局序列
+ * 第偶数局由第一个参赛者执黑，第奇数局交换，因此先手优势在两者之间平分。
+ * 多个线程通过claimGame()领取局号，结果按第一个参赛者的视角累计；启用SPRT时得出结论后不再分配新局
+ */
+public final class Pairing {
+    private final int first;
+    private final int second;
+    private final int maxGames;
+    private final AtomicInteger nextGame = new AtomicInteger();
+    
+    // 以下计数由this保护
+    private long wins;
+    private long draws;
+    private long losses;
+    private double llr;
+    private volatile Sprt.Decision decision = Sprt.Decision.CONTINUE;
+    
+    /**
+     * 构造函数
+     * @param first 第一个参赛者的序号
+     * @param second 第二个参赛者的序号
+     * @param maxGames 最多对局数
+     */
+    Pairing(int first, int second, int maxGames) {
+        this.first = first;
+        this.second = second;
+        this.maxGames = maxGames;
+    }
+    
+    /**
+     * 领取下一局的局号
+     * @return 局号，已下满或SPRT已得出结论时返回-1
+     */
+    int claimGame() {
+        if (decision != Sprt.Decision.CONTINUE) {
+            return -1;
+        }
+        int game = nextGame.getAndIncrement();
+        return game < maxGames ? game : -1;
+    }
+    
+    /**
+     * 第game局中第一个参赛者执哪一方
+     * @param game 局号
+     * @return 第一个参赛者执的一方
+     */
+    static Player firstPlayerColor(int game) {
+        return (game & 1) == 0 ? Player.BLACK : Player.WHITE;
+    }
+    
+    /**
+     * 记录一局结果
+     * @param game 局号
+     * @param winner 获胜方，平局为null
+     * @param sprt 序贯检验，为null时不检验
+     */
+    synchronized void record(int game, Player winner, Sprt sprt) {
+        if (winner == null) {
+            draws++;
+        } else if (winner == firstPlayerColor(game)) {
+            wins++;
+        } else {
+            losses++;
+        }
+        if (sprt != null) {
+            llr = sprt.logLikelihoodRatio(wins, draws, losses);
+            if (decision == Sprt.Decision.CONTINUE) {
+                decision = sprt.evaluate(wins, draws, losses);
+            }
+        }
+    }
+    
+    public int getFirst() {
+        return first;
+    }
+    
+    public int getSecond() {
+        return second;
+    }
+    
+    public synchronized long getWins() {
+        return wins;
+    }
+    
+    public synchronized long getDraws() {
+        return draws;
+    }
+    
+    public synchronized long getLosses() {
+        return losses;
+    }
+    
+    public synchronized long getGames() {
+        return wins + draws + losses;
+    }
+    
+    /**
+     * 获取第一个参赛者相对第二个参赛者的Elo差估计
+     * @return Elo差估计
+     */
+    public synchronized EloEstimate getEstimate() {
+        return new EloEstimate(wins, draws, losses);
+    }
+    
+    /**
+     * 获取最近一次计算的对数似然比（未启用SPRT时为0）
+     * @return 对数似然比
+     */
+    public synchronized double getLogLikelihoodRatio() {
+        return llr;
+    }
+    
+    public Sprt.Decision getDecision() {
+        return decision;
+    }
+}
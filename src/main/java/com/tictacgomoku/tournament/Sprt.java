@@ -0,0 +1,121 @@
+package com.tictacgomoku.tournament;
+
+import java.util.Locale;
+
+/**
+ * 序贯概率比检验（SPRT）
+ * 检验H0：Elo差为elo0，对H1：Elo差为elo1。对数似然比按得分的正态近似计算：
+ * LLR = n * (s1 - s0) * (2s - s0 - s1) / (2 * 方差)，其中s0、s1为两个假设下的期望得分率，s为实际得分率。
+ * LLR越过上界接受H1，越过下界接受H0，两类错误率分别不超过alpha和beta
+ */
+public final class Sprt {
+    
+    /**
+     * 检验结论
+     */
+    public enum Decision {
+        CONTINUE,   // 证据不足，继续对局
+        ACCEPT_H0,  // 接受H0（不强于elo0）
+        ACCEPT_H1   // 接受H1（至少强于elo1）
+    }
+    
+    private final double elo0;
+    private final double elo1;
+    private final double alpha;
+    private final double beta;
+    private final double lowerBound;
+    private final double upperBound;
+    
+    /**
+     * 构造函数
+     * @param elo0 H0的Elo差
+     * @param elo1 H1的Elo差，必须大于elo0
+     * @param alpha 第一类错误率（错误接受H1）
+     * @param beta 第二类错误率（错误接受H0）
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        if (!(elo1 > elo0)) {
+            throw new IllegalArgumentException("elo1必须大于elo0");
+        }
+        if (!(alpha > 0 && alpha < 1 && beta > 0 && beta < 1)) {
+            throw new IllegalArgumentException("错误率必须在0和1之间");
+        }
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+    
+    /**
+     * 解析命令行参数格式 "elo0,elo1[,alpha,beta]"，错误率默认都为0.05
+     * @param text 参数文本
+     * @return 检验
+     * @throws IllegalArgumentException 如果格式不正确
+     */
+    public static Sprt parse(String text) {
+        String[] parts = text.split(",");
+        if (parts.length != 2 && parts.length != 4) {
+            throw new IllegalArgumentException("SPRT参数格式应为 elo0,elo1[,alpha,beta]: " + text);
+        }
+        try {
+            double alpha = parts.length == 4 ? Double.parseDouble(parts[2]) : 0.05;
+            double beta = parts.length == 4 ? Double.parseDouble(parts[3]) : 0.05;
+            return new Sprt(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]), alpha, beta);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("SPRT参数不是数字: " + text, e);
+        }
+    }
+    
+    /**
+     * 计算对数似然比
+     * @param wins 胜局数
+     * @param draws 平局数
+     * @param losses 负局数
+     * @return 对数似然比，没有对局时为0
+     */
+    public double logLikelihoodRatio(long wins, long draws, long losses) {
+        long games = wins + draws + losses;
+        if (games == 0) {
+            return 0.0;
+        }
+        double variance = EloEstimate.regularizedVariance(wins, draws, losses);
+        double score = (wins + 0.5 * draws) / games;
+        double s0 = EloEstimate.eloToScore(elo0);
+        double s1 = EloEstimate.eloToScore(elo1);
+        return games * (s1 - s0) * (2 * score - s0 - s1) / (2 * variance);
+    }
+    
+    /**
+     * 根据当前结果给出结论
+     * @param wins 胜局数
+     * @param draws 平局数
+     * @param losses 负局数
+     * @return 结论
+     */
+    public Decision evaluate(long wins, long draws, long losses) {
+        double llr = logLikelihoodRatio(wins, draws, losses);
+        if (llr >= upperBound) {
+            return Decision.ACCEPT_H1;
+        }
+        if (llr <= lowerBound) {
+            return Decision.ACCEPT_H0;
+        }
+        return Decision.CONTINUE;
+    }
+    
+    public double getLowerBound() {
+        return lowerBound;
+    }
+    
+    public double getUpperBound() {
+        return upperBound;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "SPRT[%.1f, %.1f] alpha=%.3f beta=%.3f (%.2f, %.2f)",
+                             elo0, elo1, alpha, beta, lowerBound, upperBound);
+    }
+}
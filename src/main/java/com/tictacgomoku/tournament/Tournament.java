@@ -0,0 +1,322 @@
+package com.tictacgomoku.tournament;
+
+import com.tictacgomoku.ai.PlayerStrategy;
+import com.tictacgomoku.ai.StrategyFactory;
+import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.Player;
+import com.tictacgomoku.sim.GameResult;
+import com.tictacgomoku.sim.GameRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 电脑玩家锦标赛
+ * 循环赛中每两个参赛者之间下一组对局；挑战赛中第一个参赛者分别与其余参赛者对局。
+ * 所有组的对局交错分配给多个线程并行进行，每个线程为每个参赛者持有自己的策略实例。
+ * 用法：
+ * java -cp out com.tictacgomoku.tournament.Tournament [--format roundrobin|gauntlet] [--games N]
+ *      [--threads N] [--sprt elo0,elo1[,alpha,beta]] 策略1 策略2 [策略3 ...]
+ */
+public class Tournament {
+    private static final long PROGRESS_INTERVAL_MILLIS = 5000;
+    
+    /**
+     * 赛制
+     */
+    public enum Format {
+        ROUND_ROBIN,  // 循环赛
+        GAUNTLET      // 挑战赛：第一个参赛者对其余每个参赛者
+    }
+    
+    private final List<String> specs;
+    private final List<Supplier<PlayerStrategy>> factories;
+    private final List<Pairing> pairings;
+    private final int threads;
+    private final Sprt sprt;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final LongAdder gamesPlayed = new LongAdder();
+    
+    /**
+     * 构造函数
+     * @param specs 参赛策略描述（见StrategyFactory），至少两个
+     * @param format 赛制
+     * @param gamesPerPairing 每组最多对局数，应为偶数以平分先手
+     * @param threads 线程数
+     * @param sprt 序贯检验，为null时每组下满对局数
+     * @throws IllegalArgumentException 如果参数无效或策略描述无法识别
+     */
+    public Tournament(List<String> specs, Format format, int gamesPerPairing, int threads, Sprt sprt) {
+        if (specs.size() < 2) {
+            throw new IllegalArgumentException("至少需要两个参赛者");
+        }
+        if (gamesPerPairing <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("对局数和线程数必须为正数");
+        }
+        this.specs = new ArrayList<>(specs);
+        this.factories = new ArrayList<>(specs.size());
+        for (String spec : specs) {
+            factories.add(StrategyFactory.parse(spec));
+        }
+        this.pairings = new ArrayList<>();
+        for (int i = 0; i < specs.size(); i++) {
+            for (int j = i + 1; j < specs.size(); j++) {
+                if (format == Format.ROUND_ROBIN || i == 0) {
+                    pairings.add(new Pairing(i, j, gamesPerPairing));
+                }
+            }
+        }
+        this.threads = threads;
+        this.sprt = sprt;
+    }
+    
+    /**
+     * 运行锦标赛，阻塞直到所有组下满或得出SPRT结论
+     * @throws InterruptedException 如果等待时被中断
+     */
+    public void run() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                futures[i] = executor.submit(this::playGames);
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("锦标赛线程失败", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+    
+    /**
+     * 单个线程的工作循环：轮流从各组领取对局，直到所有组都不再分配
+     */
+    private void playGames() {
+        PlayerStrategy[] strategies = new PlayerStrategy[specs.size()];
+        GameLogic game = new GameLogic();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Pairing pairing = pairings.get(Math.floorMod(cursor.getAndIncrement(), pairings.size()));
+                int number = pairing.claimGame();
+                if (number < 0) {
+                    // 这一组已结束，查找其他还能分配的组；一组停止分配后不会恢复，找不到即全部结束
+                    pairing = null;
+                    for (Pairing candidate : pairings) {
+                        number = candidate.claimGame();
+                        if (number >= 0) {
+                            pairing = candidate;
+                            break;
+                        }
+                    }
+                    if (pairing == null) {
+                        return;
+                    }
+                }
+                PlayerStrategy first = strategy(strategies, pairing.getFirst());
+                PlayerStrategy second = strategy(strategies, pairing.getSecond());
+                boolean firstIsBlack = Pairing.firstPlayerColor(number) == Player.BLACK;
+                
+                game.newGame();
+                GameResult result = GameRunner.play(game, firstIsBlack ? first : second,
+                                                    firstIsBlack ? second : first, null);
+                pairing.record(number, result.getWinner(), sprt);
+                gamesPlayed.increment();
+            }
+        } finally {
+            for (PlayerStrategy strategy : strategies) {
+                if (strategy != null) {
+                    strategy.close();
+                }
+            }
+        }
+    }
+    
+    private PlayerStrategy strategy(PlayerStrategy[] strategies, int entrant) {
+        if (strategies[entrant] == null) {
+            strategies[entrant] = factories.get(entrant).get();
+        }
+        return strategies[entrant];
+    }
+    
+    public List<Pairing> getPairings() {
+        return Collections.unmodifiableList(pairings);
+    }
+    
+    public long getGamesPlayed() {
+        return gamesPlayed.sum();
+    }
+    
+    /**
+     * 计算参赛者相对其全部对手的Elo估计
+     * @param entrant 参赛者序号
+     * @return Elo差估计
+     */
+    public EloEstimate getStanding(int entrant) {
+        long wins = 0;
+        long draws = 0;
+        long losses = 0;
+        for (Pairing pairing : pairings) {
+            if (pairing.getFirst() == entrant) {
+                wins += pairing.getWins();
+                losses += pairing.getLosses();
+                draws += pairing.getDraws();
+            } else if (pairing.getSecond() == entrant) {
+                wins += pairing.getLosses();
+                losses += pairing.getWins();
+                draws += pairing.getDraws();
+            }
+        }
+        return new EloEstimate(wins, draws, losses);
+    }
+    
+    /**
+     * 生成结果报告：各组的Elo差和SPRT结论，以及按Elo排序的总排名
+     * @return 报告文本
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("对局组:\n");
+        for (Pairing pairing : pairings) {
+            sb.append(String.format(Locale.ROOT, "  %s vs %s: %s",
+                specs.get(pairing.getFirst()), specs.get(pairing.getSecond()), pairing.getEstimate()));
+            if (sprt != null) {
+                sb.append(String.format(Locale.ROOT, ", LLR %.2f [%.2f, %.2f] %s", pairing.getLogLikelihoodRatio(),
+                    sprt.getLowerBound(), sprt.getUpperBound(), pairing.getDecision()));
+            }
+            sb.append('\n');
+        }
+        
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < specs.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble((Integer i) -> getStanding(i).getElo()).reversed());
+        sb.append("排名（相对全部对手）:\n");
+        for (int rank = 0; rank < order.size(); rank++) {
+            int entrant = order.get(rank);
+            sb.append(String.format(Locale.ROOT, "  %d. %s: %s%n", rank + 1, specs.get(entrant), getStanding(entrant)));
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * 命令行入口
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) throws Exception {
+        Format format = Format.ROUND_ROBIN;
+        int games = 100;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Sprt sprt = null;
+        boolean quiet = false;
+        List<String> specs = new ArrayList<>();
+        
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--format":
+                    format = parseFormat(requireValue(args, ++i));
+                    break;
+                case "--games":
+                    games = Integer.parseInt(requireValue(args, ++i));
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(requireValue(args, ++i));
+                    break;
+                case "--sprt":
+                    sprt = Sprt.parse(requireValue(args, ++i));
+                    break;
+                case "--quiet":
+                    quiet = true;
+                    break;
+                case "--help":
+                    printUsage();
+                    return;
+                default:
+                    if (args[i].startsWith("--")) {
+                        System.err.println("未知参数: " + args[i]);
+                        printUsage();
+                        System.exit(2);
+                    }
+                    specs.add(args[i]);
+            }
+        }
+        if (specs.size() < 2) {
+            printUsage();
+            System.exit(2);
+        }
+        
+        Tournament tournament = new Tournament(specs, format, games, threads, sprt);
+        Thread progress = null;
+        if (!quiet) {
+            progress = new Thread(() -> reportProgress(tournament), "tournament-progress");
+            progress.setDaemon(true);
+            progress.start();
+        }
+        long start = System.nanoTime();
+        tournament.run();
+        if (progress != null) {
+            progress.interrupt();
+        }
+        
+        System.out.printf(Locale.ROOT, "%s, %d 线程, %d 局, 用时 %.1f 秒%n", format, threads,
+                          tournament.getGamesPlayed(), (System.nanoTime() - start) / 1e9);
+        if (sprt != null) {
+            System.out.println(sprt);
+        }
+        System.out.print(tournament.report());
+    }
+    
+    private static Format parseFormat(String text) {
+        switch (text.toLowerCase(Locale.ROOT)) {
+            case "roundrobin":
+            case "round-robin":
+                return Format.ROUND_ROBIN;
+            case "gauntlet":
+                return Format.GAUNTLET;
+            default:
+                throw new IllegalArgumentException("未知的赛制: " + text);
+        }
+    }
+    
+    private static void reportProgress(Tournament tournament) {
+        try {
+            while (true) {
+                Thread.sleep(PROGRESS_INTERVAL_MILLIS);
+                System.err.printf("已完成 %d 局%n", tournament.getGamesPlayed());
+                System.err.print(tournament.report());
+            }
+        } catch (InterruptedException e) {
+            // 锦标赛结束
+        }
+    }
+    
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("参数缺少值: " + args[index - 1]);
+        }
+        return args[index];
+    }
+    
+    private static void printUsage() {
+        System.err.println("用法: Tournament [--format roundrobin|gauntlet] [--games 每组局数] [--threads N]"
+                + " [--sprt elo0,elo1[,alpha,beta]] [--quiet] 策略1 策略2 [策略3 ...]");
+        System.err.println("策略: random | alphabeta[:毫秒[:开局库]] | mcts[:毫秒[:线程数]]");
+    }
+}
@@ -44,6 +44,8 @@ public class GameConstants {
     public static final String GAME_TITLE = "井字五子棋 (Tic-Tac-Gomoku)";
     public static final String NEW_GAME_TEXT = "新游戏";
     public static final String RESET_TEXT = "重置";
+    public static final String UNDO_TEXT = "悔棋";
+    public static final String REDO_TEXT = "重做";
     public static final String EXIT_TEXT = "退出";
     
     // 游戏结果消息
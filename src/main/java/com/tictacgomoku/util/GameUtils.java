@@ -29,7 +29,7 @@ public class GameUtils {
         int col = (x - margin) / cellSize;
         int row = (y - margin) / cellSize;
         
-        Position pos = new Position(row, col);
+        Position pos = Position.of(row, col);
         if (pos.isValid(boardSize, boardSize)) {
             return pos;
         }
@@ -172,7 +172,7 @@ public class GameUtils {
         if (directionIndex < 0 || directionIndex >= 9) {
             return null;
         }
-        return new Position(directionIndex / 3, directionIndex % 3);
+        return Position.of(directionIndex / 3, directionIndex % 3);
     }
     
     /**
@@ -0,0 +1,257 @@
+package com.tictacgomoku.view;
+
+import com.tictacgomoku.model.*;
+import com.tictacgomoku.util.GameConstants;
+import com.tictacgomoku.util.GameUtils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * 单画布棋盘
+ * 在一个组件的paintComponent中绘制全部225个井字棋盘，点击位置通过算术换算，
+ * 没有子组件和布局管理器，窗口缩放时只需重新计算格子尺寸
+ */
+public class BoardCanvas extends JComponent implements BoardView {
+    private static final int PANEL_SPACING = BoardMetrics.PANEL_SPACING;
+    private static final int MIN_MARGIN = 10;
+    private static final int CELLS = GameConstants.GOMOKU_BOARD_SIZE * GameConstants.GOMOKU_BOARD_SIZE;
+    private static final Color BACKGROUND_COLOR = new Color(GameConstants.BOARD_COLOR);
+    private static final BasicStroke BORDER_STROKE = new BasicStroke(1);
+    
+    private final GameLogic gameLogic;
+    private final PaintStats paintStats = new PaintStats("BoardCanvas");
+    private Position displayedActivePosition;   // 界面上当前显示为活跃的位置
+    private boolean displayedFreeChoice;        // 界面上当前是否显示为自由选择
+    
+    // 当前布局，由组件尺寸计算得到
+    private int layoutWidth = -1;
+    private int layoutHeight = -1;
+    private int tileSize;
+    private int originX;
+    private int originY;
+    
+    /**
+     * 构造函数
+     * @param gameLogic 游戏逻辑
+     */
+    public BoardCanvas(GameLogic gameLogic) {
+        this.gameLogic = gameLogic;
+        setOpaque(true);
+        setPreferredSizeFromScreen();
+        setupMouseListener();
+        gameLogic.addGameEventListener(this::handleGameEvent);
+        updatePanelStates();
+    }
+    
+    /**
+     * 按屏幕尺寸计算首选大小，与BoardPanel保持一致
+     */
+    private void setPreferredSizeFromScreen() {
+        int panelSize = BoardMetrics.optimalPanelSize();
+        int margin = Math.max(MIN_MARGIN, panelSize / 8);
+        int size = GameConstants.GOMOKU_BOARD_SIZE * panelSize
+                 + (GameConstants.GOMOKU_BOARD_SIZE - 1) * PANEL_SPACING + 2 * margin;
+        setPreferredSize(new Dimension(size, size));
+        setMinimumSize(new Dimension(size / 2, size / 2));
+    }
+    
+    /**
+     * 组件尺寸改变时重新计算格子尺寸和棋盘原点（棋盘在组件内居中）
+     */
+    private void updateLayout() {
+        if (layoutWidth == getWidth() && layoutHeight == getHeight()) {
+            return;
+        }
+        layoutWidth = getWidth();
+        layoutHeight = getHeight();
+        int side = Math.min(layoutWidth, layoutHeight) - 2 * MIN_MARGIN;
+        int newTileSize = Math.max(6, (side - (GameConstants.GOMOKU_BOARD_SIZE - 1) * PANEL_SPACING) / GameConstants.GOMOKU_BOARD_SIZE);
+        if (newTileSize != tileSize) {
+            // 精灵按格子尺寸缓存，尺寸变化后旧尺寸的精灵不会再用到
+            SpriteCache.invalidate();
+            tileSize = newTileSize;
+        }
+        int extent = GameConstants.GOMOKU_BOARD_SIZE * tileSize + (GameConstants.GOMOKU_BOARD_SIZE - 1) * PANEL_SPACING;
+        originX = (layoutWidth - extent) / 2;
+        originY = (layoutHeight - extent) / 2;
+    }
+    
+    /**
+     * 设置鼠标监听器
+     */
+    private void setupMouseListener() {
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                handleClick(e.getX(), e.getY());
+            }
+        });
+    }
+    
+    /**
+     * 处理点击：先换算出五子棋格子，再换算出格子内的井字棋位置
+     * @param x 鼠标x坐标
+     * @param y 鼠标y坐标
+     */
+    private void handleClick(int x, int y) {
+        if (gameLogic.isGameOver()) {
+            return;
+        }
+        updateLayout();
+        int pitch = tileSize + PANEL_SPACING;
+        int dx = x - originX;
+        int dy = y - originY;
+        if (dx < 0 || dy < 0 || dx % pitch >= tileSize || dy % pitch >= tileSize) {
+            return; // 点在棋盘外或格子间隙上
+        }
+        Position gomokuPosition = Position.of(dy / pitch, dx / pitch);
+        if (!gomokuPosition.isValid(GameConstants.GOMOKU_BOARD_SIZE, GameConstants.GOMOKU_BOARD_SIZE)) {
+            return;
+        }
+        
+        // 可以自由选择时，点击选择战场
+        if (gameLogic.getGameState().canChooseFreely()) {
+            if (gameLogic.canMakeTicTacToeMove(gomokuPosition)) {
+                gameLogic.selectGomokuPosition(gomokuPosition);
+            }
+            return;
+        }
+        
+        if (!gameLogic.isActivePosition(gomokuPosition)) {
+            return;
+        }
+        Position ticTacToePos = GameUtils.pixelToPosition(dx % pitch, dy % pitch,
+            GameConstants.TICTACTOE_BOARD_SIZE, TicTacToeRenderer.cellSize(tileSize), TicTacToeRenderer.margin(tileSize));
+        if (ticTacToePos != null) {
+            // 界面由游戏事件驱动刷新
+            gameLogic.makeMove(gomokuPosition, ticTacToePos);
+        }
+    }
+    
+    /**
+     * 处理游戏事件，只重绘受影响的格子
+     * @param event 游戏事件
+     */
+    private void handleGameEvent(GameEvent event) {
+        switch (event.getType()) {
+            case MOVE_MADE:
+            case MOVE_UNDONE:
+            case STONE_PLACED:
+                repaintTile(event.getGomokuPosition());
+                break;
+            case ACTIVE_BOARD_CHANGED:
+            case GAME_OVER:
+                refreshActiveState();
+                break;
+            case GAME_RESET:
+                updatePanelStates();
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * 根据活跃位置的变化重绘格子
+     * 前后都不是自由选择时只重绘原活跃格子和新活跃格子，否则高亮范围改变，重绘整个棋盘
+     */
+    private void refreshActiveState() {
+        GameState gameState = gameLogic.getGameState();
+        boolean gameOver = gameLogic.isGameOver();
+        boolean freeChoice = gameState.canChooseFreely() && !gameOver;
+        Position activePosition = gameOver || freeChoice ? null : gameState.getActiveGomokuPosition();
+        if (freeChoice || displayedFreeChoice) {
+            repaint();
+        } else if (activePosition == null || !activePosition.equals(displayedActivePosition)) {
+            repaintTile(displayedActivePosition);
+            repaintTile(activePosition);
+        }
+        displayedFreeChoice = freeChoice;
+        displayedActivePosition = activePosition;
+    }
+    
+    /**
+     * 重绘单个格子所在的区域
+     * @param position 五子棋位置
+     */
+    private void repaintTile(Position position) {
+        if (position == null) {
+            return;
+        }
+        updateLayout();
+        int pitch = tileSize + PANEL_SPACING;
+        repaint(originX + position.getCol() * pitch, originY + position.getRow() * pitch, tileSize, tileSize);
+    }
+    
+    @Override
+    public JComponent getComponent() {
+        return this;
+    }
+    
+    /**
+     * 布局在绘制时根据组件尺寸计算，这里只需重绘
+     */
+    @Override
+    public void adjustPanelSize() {
+        repaint();
+    }
+    
+    @Override
+    public void updatePanelStates() {
+        GameState gameState = gameLogic.getGameState();
+        boolean gameOver = gameLogic.isGameOver();
+        displayedFreeChoice = gameState.canChooseFreely() && !gameOver;
+        displayedActivePosition = gameOver || displayedFreeChoice ? null : gameState.getActiveGomokuPosition();
+        repaint();
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        long start = PaintStats.ENABLED ? System.nanoTime() : 0L;
+        updateLayout();
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g2d.setColor(BACKGROUND_COLOR);
+        g2d.fillRect(clip.x, clip.y, clip.width, clip.height);
+        
+        // 只绘制与裁剪区域相交的格子
+        int pitch = tileSize + PANEL_SPACING;
+        int firstCol = Math.max(0, (clip.x - originX) / pitch);
+        int firstRow = Math.max(0, (clip.y - originY) / pitch);
+        int lastCol = Math.min(GameConstants.GOMOKU_BOARD_SIZE - 1, (clip.x + clip.width - originX) / pitch);
+        int lastRow = Math.min(GameConstants.GOMOKU_BOARD_SIZE - 1, (clip.y + clip.height - originY) / pitch);
+        
+        GameState gameState = gameLogic.getGameState();
+        boolean gameOver = gameLogic.isGameOver();
+        boolean freeChoice = gameState.canChooseFreely() && !gameOver;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                Position pos = Position.of(row, col);
+                boolean available = freeChoice && gameLogic.canMakeTicTacToeMove(pos);
+                boolean active = freeChoice ? available : !gameOver && gameLogic.isActivePosition(pos);
+                
+                Graphics2D tile = (Graphics2D) g2d.create(originX + col * pitch, originY + row * pitch, tileSize, tileSize);
+                TicTacToeRenderer.paint(tile, gameLogic.getTicTacToeBoard(pos), active, available,
+                    tileSize, tileSize, tileSize);
+                // 与TicTacToePanel的边框一致
+                tile.setColor(Color.GRAY);
+                tile.setStroke(BORDER_STROKE);
+                tile.drawRect(0, 0, tileSize - 1, tileSize - 1);
+                tile.dispose();
+            }
+        }
+        
+        g2d.dispose();
+        if (PaintStats.ENABLED) {
+            paintStats.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.tictacgomoku.view;
+
+import java.awt.*;
+
+/**
+ * 棋盘尺寸计算
+ * 根据屏幕尺寸和DPI缩放计算井字棋格子的最优尺寸，BoardPanel和BoardCanvas共用。
+ * 屏幕参数只读取一次并缓存，窗口移到其他显示器时调用invalidate重新读取；只在事件分发线程中使用
+ */
+final class BoardMetrics {
+    static final int PANEL_SPACING = 2;
+    static final int BOARD_MARGIN = 20;
+    private static final Dimension DEFAULT_SCREEN_SIZE = new Dimension(1920, 1080);
+    
+    private static int cachedPanelSize = -1;
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private BoardMetrics() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 获取最优的井字棋面板尺寸，首次调用时根据屏幕参数计算
+     * @return 面板尺寸（偶数像素）
+     */
+    static int optimalPanelSize() {
+        if (cachedPanelSize < 0) {
+            cachedPanelSize = computePanelSize();
+        }
+        return cachedPanelSize;
+    }
+    
+    /**
+     * 清除缓存的屏幕参数，下次获取尺寸时重新计算
+     */
+    static void invalidate() {
+        cachedPanelSize = -1;
+    }
+    
+    /**
+     * 根据屏幕尺寸和DPI缩放计算井字棋面板尺寸
+     * @return 面板尺寸（偶数像素）
+     */
+    private static int computePanelSize() {
+        // 无图形环境（如离屏渲染）时使用默认屏幕参数
+        Dimension screenSize = DEFAULT_SCREEN_SIZE;
+        double dpiScale = 1.0;
+        if (!GraphicsEnvironment.isHeadless()) {
+            // 获取屏幕尺寸和DPI信息
+            Toolkit toolkit = Toolkit.getDefaultToolkit();
+            screenSize = toolkit.getScreenSize();
+            
+            // 获取系统DPI缩放因子
+            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
+            GraphicsDevice gd = ge.getDefaultScreenDevice();
+            GraphicsConfiguration gc = gd.getDefaultConfiguration();
+            
+            // 计算DPI缩放因子
+            dpiScale = gc.getDefaultTransform().getScaleX();
+        }
+        
+        // 更保守的尺寸计算，确保在小屏幕上也能完整显示
+        // 基础尺寸改为屏幕最小边的1/25，减小面板尺寸
+        int baseSize = Math.min(screenSize.width, screenSize.height) / 25;
+        
+        // 考虑游戏信息面板的宽度（约200-300px）和窗口边距
+        int availableWidth = (int)(screenSize.width * 0.8) - 300; // 80%屏幕宽度减去信息面板
+        int availableHeight = (int)(screenSize.height * 0.8) - 100; // 80%屏幕高度减去菜单和状态栏
+        
+        // 根据15x15网格计算每个井字棋面板的最大允许尺寸
+        int maxPanelSizeByWidth = (availableWidth - 2 * BOARD_MARGIN - 14 * PANEL_SPACING) / 15;
+        int maxPanelSizeByHeight = (availableHeight - 2 * BOARD_MARGIN - 14 * PANEL_SPACING) / 15;
+        
+        // 确保五子棋格子是严格的正方形：取宽度和高度限制的最小值
+        int maxPanelSize = Math.min(maxPanelSizeByWidth, maxPanelSizeByHeight);
+        
+        // 选择较小的尺寸以确保在小屏幕上正常显示
+        int panelSize = Math.min(baseSize, maxPanelSize);
+        
+        // 设置最小和最大尺寸限制（增大10%）
+        panelSize = Math.max(55, Math.min(panelSize, 132)); // 最小55px，最大132px
+        
+        // 应用DPI缩放
+        panelSize = (int)(panelSize * dpiScale);
+        
+        // 确保尺寸为正的偶数，便于居中对齐
+        panelSize = Math.max(1, panelSize);
+        if (panelSize % 2 != 0) {
+            panelSize++;
+        }
+        return panelSize;
+    }
+}
@@ -9,19 +9,26 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
  * 棋盘面板
  * 显示整个游戏棋盘的主要可视化组件
  */
-public class BoardPanel extends JPanel {
+public class BoardPanel extends JPanel implements BoardView {
     private GameLogic gameLogic;
     private Map<Position, TicTacToePanel> ticTacToePanels;
     private Position selectedPosition;
-      private static final int PANEL_SPACING = 2;
-    private static final int BOARD_MARGIN = 20;
+    private Position displayedActivePosition;   // 界面上当前显示为活跃的位置
+    private boolean displayedFreeChoice;        // 界面上当前是否显示为自由选择
+    private final boolean[] dirty = new boolean[GameConstants.GOMOKU_BOARD_SIZE * GameConstants.GOMOKU_BOARD_SIZE];
+    private final int[] dirtyIndices = new int[GameConstants.GOMOKU_BOARD_SIZE * GameConstants.GOMOKU_BOARD_SIZE];
+    private int dirtyCount;
+    private boolean flushScheduled;
+    private final PaintStats paintStats = new PaintStats("BoardPanel");
+    private static final int PANEL_SPACING = BoardMetrics.PANEL_SPACING;
+    private static final int BOARD_MARGIN = BoardMetrics.BOARD_MARGIN;
+    private static final BasicStroke WINNING_LINE_STROKE = new BasicStroke(5);
     private int ticTacToePanelSize;
     
     /**
@@ -37,47 +44,14 @@ public class BoardPanel extends JPanel {
         initializeLayout();
         createTicTacToePanels();
         setupMouseListener();
+        gameLogic.addGameEventListener(this::handleGameEvent);
+        updatePanelStates();
     }
       /**
      * 计算最优的面板尺寸
      */
     private void calculateOptimalSizes() {
-        // 获取屏幕尺寸和DPI信息
-        Toolkit toolkit = Toolkit.getDefaultToolkit();
-        Dimension screenSize = toolkit.getScreenSize();
-        
-        // 获取系统DPI缩放因子
-        GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-        GraphicsDevice gd = ge.getDefaultScreenDevice();
-        GraphicsConfiguration gc = gd.getDefaultConfiguration();
-        
-        // 计算DPI缩放因子
-        double dpiScale = gc.getDefaultTransform().getScaleX();
-          // 更保守的尺寸计算，确保在小屏幕上也能完整显示
-        // 基础尺寸改为屏幕最小边的1/25，减小面板尺寸
-        int baseSize = Math.min(screenSize.width, screenSize.height) / 25;
-        
-        // 考虑游戏信息面板的宽度（约200-300px）和窗口边距
-        int availableWidth = (int)(screenSize.width * 0.8) - 300; // 80%屏幕宽度减去信息面板
-        int availableHeight = (int)(screenSize.height * 0.8) - 100; // 80%屏幕高度减去菜单和状态栏
-        
-        // 根据15x15网格计算每个井字棋面板的最大允许尺寸
-        int maxPanelSizeByWidth = (availableWidth - 2 * BOARD_MARGIN - 14 * PANEL_SPACING) / 15;
-        int maxPanelSizeByHeight = (availableHeight - 2 * BOARD_MARGIN - 14 * PANEL_SPACING) / 15;
-        
-        // 确保五子棋格子是严格的正方形：取宽度和高度限制的最小值
-        int maxPanelSize = Math.min(maxPanelSizeByWidth, maxPanelSizeByHeight);
-          // 选择较小的尺寸以确保在小屏幕上正常显示
-        ticTacToePanelSize = Math.min(baseSize, maxPanelSize);
-        
-        // 设置最小和最大尺寸限制（增大10%）
-        ticTacToePanelSize = Math.max(55, Math.min(ticTacToePanelSize, 132)); // 最小55px，最大132px
-        
-        // 应用DPI缩放
-        ticTacToePanelSize = (int)(ticTacToePanelSize * dpiScale);
-        
-        // 强制确保正方形约束，确保每个五子棋格子都是正方形
-        ticTacToePanelSize = ensureSquareSize(ticTacToePanelSize);
+        ticTacToePanelSize = BoardMetrics.optimalPanelSize();
         
         System.out.println("计算的井字棋面板尺寸: " + ticTacToePanelSize + "px (正方形: " + ticTacToePanelSize + "x" + ticTacToePanelSize + ")");
     }
@@ -110,7 +84,7 @@ public class BoardPanel extends JPanel {
     private void createTicTacToePanels() {
         for (int row = 0; row < GameConstants.GOMOKU_BOARD_SIZE; row++) {
             for (int col = 0; col < GameConstants.GOMOKU_BOARD_SIZE; col++) {
-                Position pos = new Position(row, col);
+                Position pos = Position.of(row, col);
                 TicTacToeBoard board = gameLogic.getTicTacToeBoard(pos);
                 
                 TicTacToePanel panel = new TicTacToePanel(board, pos, gameLogic, ticTacToePanelSize);
@@ -169,7 +143,7 @@ public class BoardPanel extends JPanel {
         int col = adjustedX / panelSize;
         int row = adjustedY / panelSize;
         
-        Position pos = new Position(row, col);
+        Position pos = Position.of(row, col);
         if (pos.isValid(GameConstants.GOMOKU_BOARD_SIZE, GameConstants.GOMOKU_BOARD_SIZE)) {
             return pos;
         }
@@ -183,51 +157,133 @@ public class BoardPanel extends JPanel {
     private void selectGomokuPosition(Position position) {
         if (gameLogic.selectGomokuPosition(position)) {
             selectedPosition = position;
+        }
+    }
+    
+    /**
+     * 处理游戏事件，只刷新受影响的面板
+     * @param event 游戏事件
+     */
+    private void handleGameEvent(GameEvent event) {
+        switch (event.getType()) {
+            case MOVE_MADE:
+            case MOVE_UNDONE:
+            case STONE_PLACED:
+                // 同一井字棋盘对象的内容变化面板自身无法感知，由这里标记重绘
+                markDirty(event.getGomokuPosition());
+                break;
+            case ACTIVE_BOARD_CHANGED:
+            case GAME_OVER:
+                refreshActiveState();
+                break;
+            case GAME_RESET:
+                resetBoard();
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * 标记指定位置的面板需要重绘
+     * 同一次操作产生的多个事件只安排一次刷新，每个面板最多重绘一次
+     * @param position 五子棋位置
+     */
+    private void markDirty(Position position) {
+        if (position == null) {
+            return;
+        }
+        int index = position.getIndex();
+        if (!dirty[index]) {
+            dirty[index] = true;
+            dirtyIndices[dirtyCount++] = index;
+        }
+        if (!flushScheduled) {
+            flushScheduled = true;
+            SwingUtilities.invokeLater(this::flushDirtyRegions);
+        }
+    }
+    
+    /**
+     * 重绘所有被标记的面板
+     * 只对子面板调用repaint：RepaintManager会把同一组件上的多个脏区域合并为它们的外接矩形，
+     * 直接重绘棋盘面板会把相距很远的两个格子扩大成一大片区域
+     */
+    private void flushDirtyRegions() {
+        for (int i = 0; i < dirtyCount; i++) {
+            int index = dirtyIndices[i];
+            dirty[index] = false;
+            ticTacToePanels.get(Position.ofIndex(index)).repaint();
+        }
+        dirtyCount = 0;
+        flushScheduled = false;
+    }
+    
+    /**
+     * 根据活跃位置的变化更新面板状态
+     * 前后都不是自由选择时只需更新原活跃面板和新活跃面板，否则高亮范围改变，需要检查全部面板
+     * （面板的setter只在状态真正改变时重绘）
+     */
+    private void refreshActiveState() {
+        GameState gameState = gameLogic.getGameState();
+        boolean freeChoice = gameState.canChooseFreely() && !gameLogic.isGameOver();
+        if (freeChoice || displayedFreeChoice) {
             updatePanelStates();
+            return;
         }
+        
+        Position activePosition = gameLogic.isGameOver() ? null : gameState.getActiveGomokuPosition();
+        if (displayedActivePosition != null && !displayedActivePosition.equals(activePosition)) {
+            TicTacToePanel previous = ticTacToePanels.get(displayedActivePosition);
+            previous.setActive(false);
+            previous.setHighlighted(false);
+        }
+        if (activePosition != null) {
+            TicTacToePanel current = ticTacToePanels.get(activePosition);
+            current.setActive(true);
+            current.setHighlighted(false);
+        }
+        displayedActivePosition = activePosition;
     }
     
     /**
      * 更新所有面板的状态
+     * 只有状态改变的面板会重绘
      */
+    @Override
     public void updatePanelStates() {
         GameState gameState = gameLogic.getGameState();
-        List<Position> availablePositions = gameLogic.getAvailableGomokuPositions();
         Position activePosition = gameState.getActiveGomokuPosition();
-          for (Map.Entry<Position, TicTacToePanel> entry : ticTacToePanels.entrySet()) {
+        boolean gameOver = gameLogic.isGameOver();
+        boolean freeChoice = gameState.canChooseFreely() && !gameOver;
+        
+        for (Map.Entry<Position, TicTacToePanel> entry : ticTacToePanels.entrySet()) {
             Position pos = entry.getKey();
             TicTacToePanel panel = entry.getValue();
             
             // 更新井字棋盘数据
-            TicTacToeBoard board = gameLogic.getTicTacToeBoard(pos);
-            panel.updateBoard(board);
+            panel.updateBoard(gameLogic.getTicTacToeBoard(pos));
             
-            // 设置活跃状态
-            boolean isActive;
-            if (gameState.canChooseFreely()) {
-                // 如果可以自由选择，所有可用位置都应该是活跃的
-                isActive = availablePositions.contains(pos) && !gameLogic.isGameOver();
-            } else {
-                // 否则只有指定的活跃位置才是活跃的
-                isActive = pos.equals(activePosition) && !gameLogic.isGameOver();
-            }
+            // 可以自由选择时，所有可用位置都是活跃且高亮的；否则只有指定的活跃位置是活跃的
+            boolean available = freeChoice && gameLogic.canMakeTicTacToeMove(pos);
+            boolean isActive = freeChoice ? available : !gameOver && pos.equals(activePosition);
             panel.setActive(isActive);
-            
-            // 设置高亮状态（可选择的位置）
-            boolean isHighlighted = availablePositions.contains(pos) && 
-                                   gameState.canChooseFreely() && 
-                                   !gameLogic.isGameOver();
-            panel.setHighlighted(isHighlighted);
+            panel.setHighlighted(available);
         }
         
-        repaint();
+        displayedFreeChoice = freeChoice;
+        displayedActivePosition = gameOver ? null : activePosition;
     }
     
     /**
      * 重置棋盘显示
+     * 所有井字棋盘都被清空，因此全部面板都需要重绘
      */
     public void resetBoard() {
         selectedPosition = null;
+        for (int index = 0; index < GameConstants.GOMOKU_BOARD_SIZE * GameConstants.GOMOKU_BOARD_SIZE; index++) {
+            markDirty(Position.ofIndex(index));
+        }
         updatePanelStates();
     }
     
@@ -240,6 +296,25 @@ public class BoardPanel extends JPanel {
         return ticTacToePanels.get(position);
     }
     
+    @Override
+    public JComponent getComponent() {
+        return this;
+    }
+    
+    /**
+     * 统计整个棋盘（含全部子面板）的绘制耗时；只重绘单个子面板时不经过这里
+     */
+    @Override
+    public void paint(Graphics g) {
+        if (!PaintStats.ENABLED) {
+            super.paint(g);
+            return;
+        }
+        long start = System.nanoTime();
+        super.paint(g);
+        paintStats.record(System.nanoTime() - start);
+    }
+    
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
@@ -261,7 +336,7 @@ public class BoardPanel extends JPanel {
         
         for (int row = 0; row < GameConstants.GOMOKU_BOARD_SIZE; row++) {
             for (int col = 0; col < GameConstants.GOMOKU_BOARD_SIZE; col++) {
-                Position pos = new Position(row, col);
+                Position pos = Position.of(row, col);
                 Player player = gomokuBoard.getStone(pos);
                 
                 if (player != null) {
@@ -270,8 +345,8 @@ public class BoardPanel extends JPanel {
             }
         }
     }
-      /**
-     * 绘制单个五子棋棋子
+    /**
+     * 绘制单个五子棋棋子，棋子图像由SpriteCache缓存
      * @param g2d 图形对象
      * @param position 位置
      * @param player 玩家
@@ -280,38 +355,8 @@ public class BoardPanel extends JPanel {
         // 计算棋子在面板上的位置，使用动态的面板尺寸
         int panelSizeWithSpacing = ticTacToePanelSize + PANEL_SPACING;
         int centerX = BOARD_MARGIN + position.getCol() * panelSizeWithSpacing + ticTacToePanelSize / 2;
-        int centerY = BOARD_MARGIN + position.getRow() * panelSizeWithSpacing + ticTacToePanelSize / 2;        // 动态计算五子棋棋子尺寸，进一步减小尺寸确保不截断井字棋盘
-        // 改为面板尺寸的30%，确保有足够空间显示井字棋
-        int maxStoneSize = (int)(ticTacToePanelSize * 0.3);
-        int stoneSize = Math.max(12, Math.min(maxStoneSize, 25)); // 最小12px，最大25px，不超过面板30%
-        
-        // 绘制棋子阴影
-        g2d.setColor(new Color(0, 0, 0, 50));
-        g2d.fillOval(centerX - stoneSize/2 + 2, centerY - stoneSize/2 + 2, stoneSize, stoneSize);
-        
-        // 绘制棋子
-        if (player == Player.BLACK) {
-            g2d.setColor(Color.BLACK);
-            g2d.fillOval(centerX - stoneSize/2, centerY - stoneSize/2, stoneSize, stoneSize);
-            // 添加高光效果，尺寸按比例调整
-            g2d.setColor(new Color(255, 255, 255, 100));
-            int highlightSize = Math.max(8, stoneSize / 4);
-            int highlightOffset = Math.max(5, stoneSize / 8);
-            g2d.fillOval(centerX - stoneSize/2 + highlightOffset, centerY - stoneSize/2 + highlightOffset, 
-                        highlightSize, highlightSize);
-        } else {
-            g2d.setColor(Color.WHITE);
-            g2d.fillOval(centerX - stoneSize/2, centerY - stoneSize/2, stoneSize, stoneSize);
-            g2d.setColor(Color.BLACK);
-            g2d.setStroke(new BasicStroke(Math.max(2, stoneSize / 20)));
-            g2d.drawOval(centerX - stoneSize/2, centerY - stoneSize/2, stoneSize, stoneSize);
-            // 添加高光效果，尺寸按比例调整
-            g2d.setColor(new Color(255, 255, 255, 150));
-            int highlightSize = Math.max(8, stoneSize / 4);
-            int highlightOffset = Math.max(5, stoneSize / 8);
-            g2d.fillOval(centerX - stoneSize/2 + highlightOffset, centerY - stoneSize/2 + highlightOffset, 
-                        highlightSize, highlightSize);
-        }
+        int centerY = BOARD_MARGIN + position.getRow() * panelSizeWithSpacing + ticTacToePanelSize / 2;
+        SpriteCache.drawGomokuStone(g2d, player, ticTacToePanelSize, centerX, centerY);
     }
     
     /**
@@ -323,7 +368,7 @@ public class BoardPanel extends JPanel {
             // 这里可以添加获胜连线的绘制逻辑
             // 由于需要检测具体的获胜位置，暂时省略实现
             g2d.setColor(Color.RED);
-            g2d.setStroke(new BasicStroke(5));
+            g2d.setStroke(WINNING_LINE_STROKE);
             // TODO: 实现获胜连线的绘制
         }
     }
@@ -332,8 +377,13 @@ public class BoardPanel extends JPanel {
      * 动态调整面板尺寸
      * 当窗口大小改变时调用此方法
      */
+    @Override
     public void adjustPanelSize() {
+        if (BoardMetrics.optimalPanelSize() == ticTacToePanelSize) {
+            return; // 尺寸未变，GridLayout会自行完成布局
+        }
         calculateOptimalSizes();
+        SpriteCache.invalidate();
         updatePanelSizes();
         revalidate();
         repaint();
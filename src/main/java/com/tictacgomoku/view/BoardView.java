@@ -0,0 +1,56 @@
+package com.tictacgomoku.view;
+
+import javax.swing.JComponent;
+import java.util.Locale;
+
+/**
+ * 棋盘视图
+ * 棋盘的两种渲染方式（每格一个组件的BoardPanel和单画布的BoardCanvas）的公共接口
+ */
+public interface BoardView {
+    /**
+     * 选择渲染方式的系统属性，取值为panels或canvas
+     */
+    String RENDERER_PROPERTY = "tictacgomoku.renderer";
+    
+    /**
+     * 渲染方式
+     */
+    enum Mode {
+        PANELS,  // 225个TicTacToePanel组件
+        CANVAS;  // 单个组件绘制整个棋盘
+        
+        /**
+         * 从系统属性读取渲染方式，未设置或无法识别时使用PANELS（无法识别时输出警告，与其他错误参数一样不中止启动）
+         * @return 渲染方式
+         */
+        public static Mode fromSystemProperty() {
+            String value = System.getProperty(RENDERER_PROPERTY);
+            if (value == null) {
+                return PANELS;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                System.err.println("未知的渲染方式: " + value + "，使用panels");
+                return PANELS;
+            }
+        }
+    }
+    
+    /**
+     * 获取用于加入界面的组件
+     * @return 组件
+     */
+    JComponent getComponent();
+    
+    /**
+     * 窗口大小改变时调整棋盘尺寸
+     */
+    void adjustPanelSize();
+    
+    /**
+     * 根据游戏状态刷新整个棋盘
+     */
+    void updatePanelStates();
+}
@@ -1,17 +1,23 @@
 package com.tictacgomoku.view;
 
+import com.tictacgomoku.io.AutoSaver;
+import com.tictacgomoku.io.SnapshotFile;
+import com.tictacgomoku.model.GameEvent;
 import com.tictacgomoku.model.GameLogic;
+import com.tictacgomoku.model.GameSnapshot;
 import com.tictacgomoku.model.GameState;
 import com.tictacgomoku.model.Player;
 import com.tictacgomoku.util.GameConstants;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
 
 /**
  * 主游戏窗口
@@ -19,21 +25,42 @@ import java.awt.image.BufferedImage;
  */
 public class GameWindow extends JFrame {
     private GameLogic gameLogic;
-    private BoardPanel boardPanel;
+    private final BoardView.Mode renderMode;
+    private BoardView boardView;
     private GameInfoPanel infoPanel;
     private JMenuBar menuBar;
     private JToolBar toolBar;
     private JLabel statusBar;
-      /**
-     * 构造函数
+    private Timer resizeTimer;
+    private static final int RESIZE_DEBOUNCE_MILLIS = 80;
+    private static final String SNAPSHOT_EXTENSION = "ttgs";
+    private static final long AUTOSAVE_FLUSH_MILLIS = 1000;
+    private AutoSaver autoSaver;
+    private Action undoAction;
+    private Action redoAction;
+    private JFileChooser fileChooser;
+    
+    /**
+     * 构造函数，渲染方式由系统属性 tictacgomoku.renderer 决定
      */
     public GameWindow() {
+        this(BoardView.Mode.fromSystemProperty());
+    }
+    
+    /**
+     * 构造函数
+     * @param renderMode 棋盘渲染方式
+     */
+    public GameWindow(BoardView.Mode renderMode) {
+        this.renderMode = renderMode;
         gameLogic = new GameLogic();
         initializeComponents();
         setupLayout();
         setupMenuAndToolbar();
         setupEventHandlers();
-        startGameUpdateTimer();
+        setupGameEventListener();
+        autoSaver = new AutoSaver(gameLogic, AutoSaver.defaultFile());
+        autoSaver.start();
         
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         setTitle(GameConstants.GAME_TITLE);
@@ -82,7 +109,8 @@ public class GameWindow extends JFrame {
      * 初始化组件
      */
     private void initializeComponents() {
-        boardPanel = new BoardPanel(gameLogic);
+        boardView = renderMode == BoardView.Mode.CANVAS ? new BoardCanvas(gameLogic) : new BoardPanel(gameLogic);
+        System.out.println("棋盘渲染方式: " + renderMode);
         infoPanel = new GameInfoPanel(gameLogic);
         statusBar = new JLabel("准备开始游戏");
         statusBar.setBorder(BorderFactory.createLoweredBevelBorder());
@@ -97,7 +125,7 @@ public class GameWindow extends JFrame {
         
         // 主游戏区域
         JPanel mainPanel = new JPanel(new BorderLayout());
-        mainPanel.add(boardPanel, BorderLayout.CENTER);
+        mainPanel.add(boardView.getComponent(), BorderLayout.CENTER);
         mainPanel.add(infoPanel, BorderLayout.EAST);
         
         // 整体布局
@@ -116,10 +144,44 @@ public class GameWindow extends JFrame {
      * 设置菜单栏和工具栏
      */
     private void setupMenuAndToolbar() {
+        setupUndoRedoActions();
         setupMenuBar();
         setupToolBar();
     }
     
+    /**
+     * 创建悔棋和重做动作，菜单项和工具栏按钮共用同一动作，启用状态随着法历史更新
+     */
+    private void setupUndoRedoActions() {
+        undoAction = new AbstractAction(GameConstants.UNDO_TEXT) {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameLogic.undoMove();
+            }
+        };
+        undoAction.putValue(Action.ACCELERATOR_KEY, KeyStroke.getKeyStroke("ctrl Z"));
+        undoAction.putValue(Action.SHORT_DESCRIPTION, "撤销上一步 (Ctrl+Z)");
+        
+        redoAction = new AbstractAction(GameConstants.REDO_TEXT) {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameLogic.redoMove();
+            }
+        };
+        redoAction.putValue(Action.ACCELERATOR_KEY, KeyStroke.getKeyStroke("ctrl Y"));
+        redoAction.putValue(Action.SHORT_DESCRIPTION, "重做撤销的一步 (Ctrl+Y)");
+        
+        updateUndoRedoActions();
+    }
+    
+    /**
+     * 按着法历史更新悔棋和重做的启用状态
+     */
+    private void updateUndoRedoActions() {
+        undoAction.setEnabled(gameLogic.getMoveHistorySize() > 0);
+        redoAction.setEnabled(gameLogic.getRedoCount() > 0);
+    }
+    
     /**
      * 设置菜单栏
      */
@@ -138,7 +200,13 @@ public class GameWindow extends JFrame {
         resetItem.setAccelerator(KeyStroke.getKeyStroke("ctrl R"));
         resetItem.addActionListener(e -> resetGame());
         
-        gameMenu.addSeparator();
+        JMenuItem saveItem = new JMenuItem("保存游戏...");
+        saveItem.setAccelerator(KeyStroke.getKeyStroke("ctrl S"));
+        saveItem.addActionListener(e -> saveGame());
+        
+        JMenuItem loadItem = new JMenuItem("载入游戏...");
+        loadItem.setAccelerator(KeyStroke.getKeyStroke("ctrl O"));
+        loadItem.addActionListener(e -> loadGame());
         
         JMenuItem exitItem = new JMenuItem(GameConstants.EXIT_TEXT);
         exitItem.setAccelerator(KeyStroke.getKeyStroke("ctrl Q"));
@@ -147,6 +215,12 @@ public class GameWindow extends JFrame {
         gameMenu.add(newGameItem);
         gameMenu.add(resetItem);
         gameMenu.addSeparator();
+        gameMenu.add(new JMenuItem(undoAction));
+        gameMenu.add(new JMenuItem(redoAction));
+        gameMenu.addSeparator();
+        gameMenu.add(saveItem);
+        gameMenu.add(loadItem);
+        gameMenu.addSeparator();
         gameMenu.add(exitItem);
         
         // 帮助菜单
@@ -187,6 +261,9 @@ public class GameWindow extends JFrame {
         toolBar.add(newGameButton);
         toolBar.add(resetButton);
         toolBar.addSeparator();
+        toolBar.add(undoAction);
+        toolBar.add(redoAction);
+        toolBar.addSeparator();
         
         // 添加当前玩家指示器
         JLabel playerIndicator = new JLabel("当前玩家: ");
@@ -203,44 +280,68 @@ public class GameWindow extends JFrame {
             public void windowClosing(WindowEvent e) {
                 exitApplication();
             }
+            
+            @Override
+            public void windowOpened(WindowEvent e) {
+                offerToResumeAutosave();
+            }
         });
         
         // 添加组件大小改变监听器，用于响应式布局
+        // 拖动窗口边缘时会连续产生大量事件，合并为停止拖动后的一次调整
+        resizeTimer = new Timer(RESIZE_DEBOUNCE_MILLIS, e -> applyResize());
+        resizeTimer.setRepeats(false);
         addComponentListener(new java.awt.event.ComponentAdapter() {
             @Override
             public void componentResized(java.awt.event.ComponentEvent e) {
-                // 当窗口大小改变时，动态调整棋盘面板尺寸
-                SwingUtilities.invokeLater(() -> {
-                    if (boardPanel != null) {
-                        boardPanel.adjustPanelSize();
-                    }
-                });
+                resizeTimer.restart();
             }
         });
+        
+        // 窗口移到其他显示器时，屏幕尺寸和DPI缩放可能改变
+        addPropertyChangeListener("graphicsConfiguration", e -> {
+            BoardMetrics.invalidate();
+            resizeTimer.restart();
+        });
     }
     
     /**
-     * 启动游戏更新定时器
+     * 按当前窗口尺寸一次性调整棋盘
      */
-    private void startGameUpdateTimer() {
-        Timer updateTimer = new Timer(100, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                updateGameDisplay();
-            }
-        });
-        updateTimer.start();
+    private void applyResize() {
+        if (boardView != null) {
+            boardView.adjustPanelSize();
+        }
     }
     
     /**
-     * 更新游戏显示
+     * 监听游戏事件，只在游戏状态改变时刷新信息面板和状态栏
+     * 棋盘面板自行监听事件并只重绘受影响的井字棋面板
      */
-    private void updateGameDisplay() {
-        boardPanel.updatePanelStates();
-        infoPanel.updateDisplay();
+    private void setupGameEventListener() {
+        gameLogic.addGameEventListener(this::handleGameEvent);
         updateStatusBar();
     }
     
+    /**
+     * 处理游戏事件
+     * 每步棋和每次撤销都以ACTIVE_BOARD_CHANGED结束，因此信息面板和状态栏无需响应每个事件
+     * @param event 游戏事件
+     */
+    private void handleGameEvent(GameEvent event) {
+        switch (event.getType()) {
+            case ACTIVE_BOARD_CHANGED:
+            case GAME_OVER:
+            case GAME_RESET:
+                infoPanel.updateDisplay();
+                updateStatusBar();
+                updateUndoRedoActions();
+                break;
+            default:
+                break;
+        }
+    }
+    
     /**
      * 更新状态栏
      */
@@ -282,7 +383,6 @@ public class GameWindow extends JFrame {
         
         if (result == JOptionPane.YES_OPTION) {
             gameLogic.newGame();
-            boardPanel.resetBoard();
             infoPanel.resetDisplay();
             infoPanel.addHistoryMessage("开始新游戏");
         }
@@ -302,12 +402,104 @@ public class GameWindow extends JFrame {
         
         if (result == JOptionPane.YES_OPTION) {
             gameLogic.newGame();
-            boardPanel.resetBoard();
             infoPanel.resetDisplay();
             infoPanel.addHistoryMessage("游戏已重置");
         }
     }
     
+    /**
+     * 把当前游戏保存到用户选择的文件
+     */
+    private void saveGame() {
+        JFileChooser chooser = getFileChooser();
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        if (!file.getName().toLowerCase().endsWith("." + SNAPSHOT_EXTENSION)) {
+            file = new File(file.getParentFile(), file.getName() + "." + SNAPSHOT_EXTENSION);
+        }
+        try {
+            SnapshotFile.save(file, gameLogic.snapshot());
+            infoPanel.addHistoryMessage("游戏已保存: " + file.getName());
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "保存失败: " + e.getMessage(), "保存游戏", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
+    /**
+     * 从用户选择的文件载入游戏
+     */
+    private void loadGame() {
+        JFileChooser chooser = getFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        try {
+            restoreGame(SnapshotFile.load(file), "已载入存档: " + file.getName());
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "载入失败: " + e.getMessage(), "载入游戏", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
+    /**
+     * 启动时如果自动存档中有未结束的游戏，询问是否继续
+     */
+    private void offerToResumeAutosave() {
+        File file = autoSaver.getFile();
+        if (!file.isFile()) {
+            return;
+        }
+        GameSnapshot snapshot;
+        try {
+            snapshot = SnapshotFile.load(file);
+        } catch (IOException e) {
+            System.err.println("忽略无法读取的自动存档: " + e.getMessage());
+            return;
+        }
+        GameLogic preview = new GameLogic();
+        preview.restore(snapshot);
+        if (preview.getMoveHistorySize() == 0 || preview.isGameOver()) {
+            return;
+        }
+        
+        int result = JOptionPane.showConfirmDialog(
+            this,
+            String.format("发现上次未完成的游戏（已走 %d 步），是否继续？", snapshot.getMoveHistorySize()),
+            "继续游戏",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.QUESTION_MESSAGE
+        );
+        
+        if (result == JOptionPane.YES_OPTION) {
+            restoreGame(snapshot, "已恢复上次未完成的游戏");
+        }
+    }
+    
+    /**
+     * 恢复快照并刷新信息面板
+     * @param snapshot 快照
+     * @param message 写入历史记录的消息
+     */
+    private void restoreGame(GameSnapshot snapshot, String message) {
+        gameLogic.restore(snapshot);
+        infoPanel.resetDisplay();
+        infoPanel.addHistoryMessage(message);
+    }
+    
+    /**
+     * 获取存档文件选择器，首次使用时创建，之后保留上次所在的目录
+     * @return 文件选择器
+     */
+    private JFileChooser getFileChooser() {
+        if (fileChooser == null) {
+            fileChooser = new JFileChooser();
+            fileChooser.setFileFilter(new FileNameExtensionFilter("井字五子棋存档 (*.ttgs)", SNAPSHOT_EXTENSION));
+        }
+        return fileChooser;
+    }
+    
     /**
      * 显示关于对话框
      */
@@ -378,6 +570,11 @@ public class GameWindow extends JFrame {
         );
         
         if (result == JOptionPane.YES_OPTION) {
+            try {
+                autoSaver.close(AUTOSAVE_FLUSH_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
             System.exit(0);
         }
     }
@@ -0,0 +1,40 @@
+package com.tictacgomoku.view;
+
+/**
+ * 绘制耗时统计
+ * 通过 -Dtictacgomoku.paintStats=true 开启，每绘制一定帧数输出一次平均和最大耗时，用于比较不同渲染方式
+ */
+final class PaintStats {
+    static final boolean ENABLED = Boolean.getBoolean("tictacgomoku.paintStats");
+    private static final int REPORT_INTERVAL = 60;
+    
+    private final String name;
+    private int frames;
+    private long totalNanos;
+    private long maxNanos;
+    
+    /**
+     * 构造函数
+     * @param name 输出时显示的名称
+     */
+    PaintStats(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * 记录一帧的绘制耗时
+     * @param nanos 耗时（纳秒）
+     */
+    void record(long nanos) {
+        frames++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+        if (frames == REPORT_INTERVAL) {
+            System.out.printf("%s 绘制: %d 帧, 平均 %.2f ms, 最大 %.2f ms%n",
+                name, frames, totalNanos / 1e6 / frames, maxNanos / 1e6);
+            frames = 0;
+            totalNanos = 0;
+            maxNanos = 0;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.tictacgomoku.view;
+
+import com.tictacgomoku.model.Player;
+import com.tictacgomoku.util.GameConstants;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 精灵缓存
+ * 把网格、井字棋棋子、已完成棋盘的巨大结果标记和五子棋棋子按面板尺寸和DPI缩放各光栅化一次，
+ * 之后的重绘只是贴图。只在事件分发线程中使用
+ */
+final class SpriteCache {
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 50);
+    private static final Color BLACK_STONE_HIGHLIGHT = new Color(255, 255, 255, 100);
+    private static final Color WHITE_STONE_HIGHLIGHT = new Color(255, 255, 255, 150);
+    private static final Color BLACK_RESULT_HIGHLIGHT = new Color(255, 255, 255, 120);
+    private static final Color WHITE_RESULT_HIGHLIGHT = new Color(200, 200, 200, 150);
+    private static final BasicStroke THIN_STROKE = new BasicStroke(1);
+    private static final BasicStroke MEDIUM_STROKE = new BasicStroke(2);
+    private static final BasicStroke THICK_STROKE = new BasicStroke(3);
+    private static final int STONE_PADDING = 2;       // 井字棋棋子贴图四周留白，容纳抗锯齿边缘
+    private static final int GOMOKU_PADDING = 4;      // 五子棋棋子贴图四周留白，容纳描边
+    private static final int SHADOW_OFFSET = 2;
+    
+    // 以面板尺寸和DPI缩放为键的精灵集合
+    private static final Map<Long, Sprites> CACHE = new HashMap<>();
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private SpriteCache() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 清空缓存，面板尺寸改变时调用；之后按新尺寸重新光栅化
+     */
+    static void invalidate() {
+        CACHE.clear();
+    }
+    
+    /**
+     * 绘制井字棋网格
+     * @param g2d 图形对象
+     * @param panelSize 面板尺寸
+     */
+    static void drawGrid(Graphics2D g2d, int panelSize) {
+        Sprites sprites = sprites(g2d, panelSize);
+        if (sprites.grid == null) {
+            sprites.grid = rasterize(g2d, sprites.scale, panelSize, panelSize, g -> renderGrid(g, panelSize));
+        }
+        blit(g2d, sprites.grid, 0, 0, panelSize, panelSize);
+    }
+    
+    /**
+     * 绘制井字棋棋子
+     * @param g2d 图形对象
+     * @param player 玩家
+     * @param panelSize 面板尺寸
+     * @param centerX 棋子中心x坐标
+     * @param centerY 棋子中心y坐标
+     */
+    static void drawStone(Graphics2D g2d, Player player, int panelSize, int centerX, int centerY) {
+        Sprites sprites = sprites(g2d, panelSize);
+        int stoneSize = TicTacToeRenderer.stoneSize(panelSize);
+        int spriteSize = stoneSize + 2 * STONE_PADDING;
+        int index = player.ordinal();
+        if (sprites.stones[index] == null) {
+            sprites.stones[index] = rasterize(g2d, sprites.scale, spriteSize, spriteSize,
+                g -> renderStone(g, player, stoneSize));
+        }
+        blit(g2d, sprites.stones[index], centerX - stoneSize / 2 - STONE_PADDING,
+            centerY - stoneSize / 2 - STONE_PADDING, spriteSize, spriteSize);
+    }
+    
+    /**
+     * 绘制已完成井字棋的巨大结果标记
+     * @param g2d 图形对象
+     * @param winner 赢家，平局时为null
+     * @param panelSize 面板尺寸
+     */
+    static void drawLargeResult(Graphics2D g2d, Player winner, int panelSize) {
+        Sprites sprites = sprites(g2d, panelSize);
+        int index = winner == null ? sprites.results.length - 1 : winner.ordinal();
+        if (sprites.results[index] == null) {
+            sprites.results[index] = rasterize(g2d, sprites.scale, panelSize, panelSize,
+                g -> renderLargeResult(g, winner, panelSize));
+        }
+        blit(g2d, sprites.results[index], 0, 0, panelSize, panelSize);
+    }
+    
+    /**
+     * 绘制五子棋棋子（含阴影和高光）
+     * @param g2d 图形对象
+     * @param player 玩家
+     * @param panelSize 井字棋面板尺寸
+     * @param centerX 棋子中心x坐标
+     * @param centerY 棋子中心y坐标
+     */
+    static void drawGomokuStone(Graphics2D g2d, Player player, int panelSize, int centerX, int centerY) {
+        Sprites sprites = sprites(g2d, panelSize);
+        int stoneSize = gomokuStoneSize(panelSize);
+        int spriteSize = stoneSize + SHADOW_OFFSET + 2 * GOMOKU_PADDING;
+        int index = player.ordinal();
+        if (sprites.gomokuStones[index] == null) {
+            sprites.gomokuStones[index] = rasterize(g2d, sprites.scale, spriteSize, spriteSize,
+                g -> renderGomokuStone(g, player, stoneSize));
+        }
+        blit(g2d, sprites.gomokuStones[index], centerX - stoneSize / 2 - GOMOKU_PADDING,
+            centerY - stoneSize / 2 - GOMOKU_PADDING, spriteSize, spriteSize);
+    }
+    
+    /**
+     * 获取状态标记使用的字体
+     * @param g2d 图形对象
+     * @param panelSize 面板尺寸
+     * @return 字体
+     */
+    static Font statusFont(Graphics2D g2d, int panelSize) {
+        Sprites sprites = sprites(g2d, panelSize);
+        if (sprites.statusFont == null) {
+            sprites.statusFont = new Font("微软雅黑", Font.BOLD, Math.max(8, panelSize / 12));
+        }
+        return sprites.statusFont;
+    }
+    
+    /**
+     * 计算五子棋棋子尺寸：面板尺寸的30%，限制在12~25px之间，确保不遮挡井字棋网格
+     * @param panelSize 井字棋面板尺寸
+     * @return 棋子尺寸
+     */
+    static int gomokuStoneSize(int panelSize) {
+        int maxStoneSize = (int) (panelSize * 0.3);
+        return Math.max(12, Math.min(maxStoneSize, 25));
+    }
+    
+    /**
+     * 获取当前面板尺寸和DPI缩放对应的精灵集合
+     */
+    private static Sprites sprites(Graphics2D g2d, int panelSize) {
+        double scale = g2d.getTransform().getScaleX();
+        if (scale <= 0) {
+            scale = 1.0;
+        }
+        long key = ((long) Float.floatToIntBits((float) scale) << 32) | panelSize;
+        Sprites sprites = CACHE.get(key);
+        if (sprites == null) {
+            sprites = new Sprites(scale);
+            CACHE.put(key, sprites);
+        }
+        return sprites;
+    }
+    
+    /**
+     * 按设备像素创建透明的兼容图像，并在逻辑坐标下绘制
+     */
+    private static BufferedImage rasterize(Graphics2D target, double scale, int width, int height, Renderer renderer) {
+        int pixelWidth = Math.max(1, (int) Math.ceil(width * scale));
+        int pixelHeight = Math.max(1, (int) Math.ceil(height * scale));
+        BufferedImage image = target.getDeviceConfiguration()
+            .createCompatibleImage(pixelWidth, pixelHeight, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        g.scale(scale, scale);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        renderer.render(g);
+        g.dispose();
+        return image;
+    }
+    
+    /**
+     * 把精灵贴到逻辑坐标区域，在缩放后的图形对象上按设备像素一比一绘制
+     */
+    private static void blit(Graphics2D g2d, BufferedImage image, int x, int y, int width, int height) {
+        g2d.drawImage(image, x, y, width, height, null);
+    }
+    
+    /**
+     * 绘制网格线
+     */
+    private static void renderGrid(Graphics2D g2d, int panelSize) {
+        int margin = TicTacToeRenderer.margin(panelSize);
+        int cellSize = TicTacToeRenderer.cellSize(panelSize);
+        int extent = GameConstants.TICTACTOE_BOARD_SIZE * cellSize;
+        g2d.setColor(Color.BLACK);
+        g2d.setStroke(THIN_STROKE);
+        
+        // 绘制垂直线和水平线
+        for (int i = 1; i < GameConstants.TICTACTOE_BOARD_SIZE; i++) {
+            int offset = margin + i * cellSize;
+            g2d.drawLine(offset, margin, offset, margin + extent);
+            g2d.drawLine(margin, offset, margin + extent, offset);
+        }
+        
+        // 绘制边框
+        g2d.drawRect(margin, margin, extent, extent);
+    }
+    
+    /**
+     * 绘制井字棋棋子，棋子左上角位于留白处
+     */
+    private static void renderStone(Graphics2D g2d, Player player, int stoneSize) {
+        if (player == Player.BLACK) {
+            g2d.setColor(Color.BLACK);
+            g2d.fillOval(STONE_PADDING, STONE_PADDING, stoneSize, stoneSize);
+        } else {
+            g2d.setColor(Color.WHITE);
+            g2d.fillOval(STONE_PADDING, STONE_PADDING, stoneSize, stoneSize);
+            g2d.setColor(Color.BLACK);
+            g2d.setStroke(THIN_STROKE);
+            g2d.drawOval(STONE_PADDING, STONE_PADDING, stoneSize, stoneSize);
+        }
+    }
+    
+    /**
+     * 绘制巨大的结果标记（当井字棋完成时）
+     */
+    private static void renderLargeResult(Graphics2D g2d, Player winner, int panelSize) {
+        int margin = TicTacToeRenderer.margin(panelSize);
+        
+        // 计算巨大棋子的尺寸和位置
+        int resultSize = (panelSize - 2 * margin) * 4 / 5; // 占据面板的80%
+        int centerX = panelSize / 2;
+        int centerY = panelSize / 2;
+        int highlightSize = resultSize / 4;
+        
+        if (winner == Player.BLACK) {
+            // 黑棋获胜 - 绘制巨大黑子和高光
+            g2d.setColor(Color.BLACK);
+            g2d.fillOval(centerX - resultSize/2, centerY - resultSize/2, resultSize, resultSize);
+            g2d.setColor(BLACK_RESULT_HIGHLIGHT);
+            g2d.fillOval(centerX - resultSize/3, centerY - resultSize/3, highlightSize, highlightSize);
+        } else if (winner == Player.WHITE) {
+            // 白棋获胜 - 绘制巨大白子、黑色边框和高光
+            g2d.setColor(Color.WHITE);
+            g2d.fillOval(centerX - resultSize/2, centerY - resultSize/2, resultSize, resultSize);
+            g2d.setColor(Color.BLACK);
+            g2d.setStroke(THICK_STROKE);
+            g2d.drawOval(centerX - resultSize/2, centerY - resultSize/2, resultSize, resultSize);
+            g2d.setColor(WHITE_RESULT_HIGHLIGHT);
+            g2d.fillOval(centerX - resultSize/3, centerY - resultSize/3, highlightSize, highlightSize);
+        } else {
+            renderDrawResult(g2d, centerX, centerY, resultSize);
+        }
+    }
+    
+    /**
+     * 绘制平局结果标记：半黑半白的圆形，中央写"平"字
+     */
+    private static void renderDrawResult(Graphics2D g2d, int centerX, int centerY, int size) {
+        int radius = size / 2;
+        
+        // 左白右黑两个半圆
+        g2d.setColor(Color.WHITE);
+        g2d.fillArc(centerX - radius, centerY - radius, size, size, 90, 180);
+        g2d.setColor(Color.BLACK);
+        g2d.fillArc(centerX - radius, centerY - radius, size, size, 270, 180);
+        
+        // 分割线和外边框
+        g2d.setColor(Color.GRAY);
+        g2d.setStroke(MEDIUM_STROKE);
+        g2d.drawLine(centerX, centerY - radius, centerX, centerY + radius);
+        g2d.setColor(Color.BLACK);
+        g2d.setStroke(THICK_STROKE);
+        g2d.drawOval(centerX - radius, centerY - radius, size, size);
+        
+        g2d.setColor(Color.RED);
+        g2d.setFont(new Font("微软雅黑", Font.BOLD, Math.max(12, size / 6)));
+        FontMetrics fm = g2d.getFontMetrics();
+        String drawText = "平";
+        g2d.drawString(drawText, centerX - fm.stringWidth(drawText)/2, centerY + fm.getHeight()/4);
+    }
+    
+    /**
+     * 绘制五子棋棋子，棋子左上角位于留白处
+     */
+    private static void renderGomokuStone(Graphics2D g2d, Player player, int stoneSize) {
+        int origin = GOMOKU_PADDING;
+        int highlightSize = Math.max(8, stoneSize / 4);
+        int highlightOffset = Math.max(5, stoneSize / 8);
+        
+        // 绘制棋子阴影
+        g2d.setColor(SHADOW_COLOR);
+        g2d.fillOval(origin + SHADOW_OFFSET, origin + SHADOW_OFFSET, stoneSize, stoneSize);
+        
+        if (player == Player.BLACK) {
+            g2d.setColor(Color.BLACK);
+            g2d.fillOval(origin, origin, stoneSize, stoneSize);
+            g2d.setColor(BLACK_STONE_HIGHLIGHT);
+        } else {
+            g2d.setColor(Color.WHITE);
+            g2d.fillOval(origin, origin, stoneSize, stoneSize);
+            g2d.setColor(Color.BLACK);
+            g2d.setStroke(new BasicStroke(Math.max(2, stoneSize / 20)));
+            g2d.drawOval(origin, origin, stoneSize, stoneSize);
+            g2d.setColor(WHITE_STONE_HIGHLIGHT);
+        }
+        g2d.fillOval(origin + highlightOffset, origin + highlightOffset, highlightSize, highlightSize);
+    }
+    
+    /**
+     * 在逻辑坐标下绘制单个精灵
+     */
+    private interface Renderer {
+        void render(Graphics2D g2d);
+    }
+    
+    /**
+     * 某一面板尺寸和DPI缩放下的全部精灵，按需光栅化
+     */
+    private static final class Sprites {
+        final double scale;
+        final BufferedImage[] stones = new BufferedImage[Player.values().length];
+        final BufferedImage[] gomokuStones = new BufferedImage[Player.values().length];
+        final BufferedImage[] results = new BufferedImage[Player.values().length + 1]; // 最后一个为平局
+        BufferedImage grid;
+        Font statusFont;
+        
+        Sprites(double scale) {
+            this.scale = scale;
+        }
+    }
+}
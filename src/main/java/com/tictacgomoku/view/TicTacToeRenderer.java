@@ -0,0 +1,146 @@
+package com.tictacgomoku.view;
+
+import com.tictacgomoku.model.Player;
+import com.tictacgomoku.model.Position;
+import com.tictacgomoku.model.TicTacToeBoard;
+import com.tictacgomoku.util.GameConstants;
+
+import java.awt.*;
+
+/**
+ * 井字棋盘绘制器
+ * 在给定尺寸的区域内绘制单个井字棋盘，TicTacToePanel和BoardCanvas共用，保证两种渲染方式外观一致
+ */
+final class TicTacToeRenderer {
+    private static final Color FINISHED_WIN_BACKGROUND = new Color(255, 248, 220);   // 浅金色
+    private static final Color FINISHED_DRAW_BACKGROUND = new Color(240, 240, 240);  // 浅银色
+    private static final Color ACTIVE_BACKGROUND = new Color(200, 255, 200);         // 浅绿色表示活跃
+    private static final Color HIGHLIGHT_BACKGROUND = new Color(255, 255, 200);      // 浅黄色表示高亮
+    private static final Color FINISHED_BORDER = new Color(200, 150, 50);            // 金褐色边框
+    private static final BasicStroke FINISHED_BORDER_STROKE = new BasicStroke(3);
+    
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private TicTacToeRenderer() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+    
+    /**
+     * 计算井字棋网格的边距
+     * @param panelSize 面板尺寸
+     * @return 边距
+     */
+    static int margin(int panelSize) {
+        return Math.max(2, panelSize / 15); // 减小边距，最小2px
+    }
+    
+    /**
+     * 计算井字棋格子尺寸
+     * @param panelSize 面板尺寸
+     * @return 格子尺寸
+     */
+    static int cellSize(int panelSize) {
+        return (panelSize - 2 * margin(panelSize)) / GameConstants.TICTACTOE_BOARD_SIZE;
+    }
+    
+    /**
+     * 计算井字棋棋子尺寸
+     * @param panelSize 面板尺寸
+     * @return 棋子尺寸
+     */
+    static int stoneSize(int panelSize) {
+        return Math.max(cellSize(panelSize) * 3 / 4, 6); // 调整棋子大小，最小6px
+    }
+    
+    /**
+     * 绘制完整的井字棋盘（从原点开始）
+     * 网格、棋子和结果标记都从SpriteCache贴图，只有背景和状态标记每次绘制
+     * @param g2d 图形对象
+     * @param board 井字棋盘
+     * @param active 是否活跃
+     * @param highlighted 是否高亮
+     * @param panelSize 面板尺寸
+     * @param width 绘制区域宽度
+     * @param height 绘制区域高度
+     */
+    static void paint(Graphics2D g2d, TicTacToeBoard board, boolean active, boolean highlighted,
+                      int panelSize, int width, int height) {
+        drawBackground(g2d, board, active, highlighted, width, height);
+        
+        // 如果井字棋已完成，显示巨大的结果标记，否则显示正常的网格和棋子
+        if (board.isFinished()) {
+            SpriteCache.drawLargeResult(g2d, board.getWinner(), panelSize);
+        } else {
+            SpriteCache.drawGrid(g2d, panelSize);
+            drawStones(g2d, board, panelSize);
+        }
+        
+        drawStatus(g2d, board, panelSize, width, height);
+    }
+    
+    /**
+     * 绘制背景
+     */
+    private static void drawBackground(Graphics2D g2d, TicTacToeBoard board, boolean active, boolean highlighted,
+                                       int width, int height) {
+        Color bgColor = Color.WHITE;
+        
+        if (board.isFinished()) {
+            // 已完成的井字棋使用更醒目的背景：有赢家时金色，平局时银色
+            bgColor = board.getWinner() != null ? FINISHED_WIN_BACKGROUND : FINISHED_DRAW_BACKGROUND;
+        } else if (active) {
+            bgColor = ACTIVE_BACKGROUND;
+        } else if (highlighted) {
+            bgColor = HIGHLIGHT_BACKGROUND;
+        }
+        
+        g2d.setColor(bgColor);
+        g2d.fillRect(0, 0, width, height);
+        
+        // 为已完成的井字棋添加特殊边框
+        if (board.isFinished()) {
+            g2d.setColor(FINISHED_BORDER);
+            g2d.setStroke(FINISHED_BORDER_STROKE);
+            g2d.drawRect(1, 1, width - 2, height - 2);
+        }
+    }
+    
+    /**
+     * 绘制棋子
+     */
+    private static void drawStones(Graphics2D g2d, TicTacToeBoard board, int panelSize) {
+        int margin = margin(panelSize);
+        int cellSize = cellSize(panelSize);
+        for (int row = 0; row < GameConstants.TICTACTOE_BOARD_SIZE; row++) {
+            for (int col = 0; col < GameConstants.TICTACTOE_BOARD_SIZE; col++) {
+                Player player = board.getPlayer(Position.of(row, col));
+                if (player != null) {
+                    int centerX = margin + col * cellSize + cellSize / 2;
+                    int centerY = margin + row * cellSize + cellSize / 2;
+                    SpriteCache.drawStone(g2d, player, panelSize, centerX, centerY);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 绘制状态信息
+     * 完成时的状态主要由巨大标记本身表示，底部只显示简洁的标记
+     */
+    private static void drawStatus(Graphics2D g2d, TicTacToeBoard board, int panelSize, int width, int height) {
+        if (board.isFinished()) {
+            g2d.setColor(Color.DARK_GRAY);
+            g2d.setFont(SpriteCache.statusFont(g2d, panelSize));
+            FontMetrics fm = g2d.getFontMetrics();
+            
+            // 简洁的完成标记或平局标记
+            String statusText = board.getWinner() != null ? "✓" : "=";
+            
+            int textX = (width - fm.stringWidth(statusText)) / 2;
+            int textY = height - 3;
+            
+            g2d.drawString(statusText, textX, textY);
+        }
+    }
+}
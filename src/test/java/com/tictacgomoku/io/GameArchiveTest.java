@@ -0,0 +1,142 @@
+package com.tictacgomoku.io;
+
+import com.tictacgomoku.ai.MoveGenerator;
+import com.tictacgomoku.model.GameLogic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对局档案与顺序读取的对局记录流的一致性，使用很小的映射块以覆盖跨块的记录
+ */
+class GameArchiveTest {
+    // 相邻块起点相距4096字节，一局几百字节，因此有大量记录跨越块边界
+    private static final long STRIDE = 4096;
+    private static final long CHUNK_SIZE = GameRecordFormat.MAX_RECORD_SIZE + STRIDE;
+    private static final String[] NAMES = {"random", "黑𠀀", "a\u0000b", "alphabeta:100:C:\\books\\a,\"b\".bin"};
+    
+    @TempDir
+    File directory;
+    
+    @Test
+    void archiveMatchesRecordReaderForEveryGame() throws IOException {
+        File path = new File(directory, "games.tga");
+        List<GameRecord> written = writeArchive(path, 200, new Random(17L));
+        
+        List<GameRecord> expected = new ArrayList<>();
+        try (GameRecordReader reader = GameRecordReader.open(recordStream(path))) {
+            GameRecord record;
+            while ((record = reader.read()) != null) {
+                expected.add(record);
+            }
+        }
+        assertEquals(written, expected);
+        
+        int straddling = 0;
+        try (GameArchive archive = new GameArchive(path, CHUNK_SIZE)) {
+            assertEquals(expected.size(), archive.size());
+            GameLogic replayed = new GameLogic();
+            GameLogic reference = new GameLogic();
+            for (int n = 0; n < expected.size(); n++) {
+                GameRecord record = expected.get(n);
+                assertEquals(record, archive.read(n), "第" + n + "局");
+                assertEquals(record.getOutcome(), archive.getOutcome(n));
+                assertTrue(archive.verify(n), "第" + n + "局校验");
+                
+                List<Integer> moves = new ArrayList<>();
+                GameRecord.Outcome[] outcome = new GameRecord.Outcome[1];
+                archive.visit(n, new MoveVisitor() {
+                    @Override
+                    public void beginGame(long gameIndex, GameRecord.Outcome gameOutcome, int moveCount) {
+                        outcome[0] = gameOutcome;
+                    }
+                    
+                    @Override
+                    public void visitMove(int ply, int moveCode) {
+                        assertEquals(moves.size(), ply);
+                        moves.add(moveCode);
+                    }
+                });
+                assertEquals(record.getOutcome(), outcome[0]);
+                assertArrayEquals(record.getMoves(), moves.stream().mapToInt(Integer::intValue).toArray());
+                
+                archive.replay(n, replayed);
+                reference.newGame();
+                record.replay(reference);
+                assertEquals(reference.snapshot(), replayed.snapshot());
+                
+                long start = archive.getOffset(n);
+                long end = n + 1 < expected.size() ? archive.getOffset(n + 1) : start + 1;
+                if (start / STRIDE != (end - 1) / STRIDE) {
+                    straddling++;
+                }
+            }
+        }
+        assertTrue(straddling > 0, "应有跨越映射块边界的记录");
+    }
+    
+    @Test
+    void rejectsArchiveWhoseWriterWasNotClosed() throws IOException {
+        File path = new File(directory, "unclosed.tga");
+        GameArchiveWriter writer = new GameArchiveWriter(path);
+        writer.append(new GameLogic(), "black", "white");
+        try {
+            assertThrows(IOException.class, () -> new GameArchive(path, CHUNK_SIZE).close());
+        } finally {
+            writer.close();
+        }
+        try (GameArchive archive = new GameArchive(path, CHUNK_SIZE)) {
+            assertEquals(1, archive.size());
+        }
+    }
+    
+    /**
+     * 写出随机对局档案，部分对局中途停止（结果为未结束）
+     */
+    private static List<GameRecord> writeArchive(File path, int games, Random random) throws IOException {
+        List<GameRecord> records = new ArrayList<>();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        try (GameArchiveWriter writer = new GameArchiveWriter(path)) {
+            for (int game = 0; game < games; game++) {
+                GameLogic logic = new GameLogic();
+                int limit = random.nextInt(4) == 0 ? random.nextInt(40) : Integer.MAX_VALUE;
+                for (int ply = 0; ply < limit && !logic.isGameOver(); ply++) {
+                    int count = MoveGenerator.generate(logic, moves);
+                    if (count == 0) {
+                        break;
+                    }
+                    MoveGenerator.apply(logic, moves[random.nextInt(count)]);
+                }
+                GameRecord record = GameRecord.of(logic, NAMES[random.nextInt(NAMES.length)],
+                                                  NAMES[random.nextInt(NAMES.length)]);
+                writer.append(record);
+                records.add(record);
+            }
+        }
+        return records;
+    }
+    
+    /**
+     * 截取档案中的记录数据部分（档案头之后、索引之前），得到GameRecordReader可读的文件
+     */
+    private File recordStream(File archive) throws IOException {
+        byte[] bytes = Files.readAllBytes(archive.toPath());
+        long indexOffset = ByteBuffer.wrap(bytes).getLong(16);
+        File records = new File(directory, "records.tgr");
+        Files.write(records.toPath(), Arrays.copyOfRange(bytes, GameArchive.HEADER_SIZE, (int) indexOffset));
+        return records;
+    }
+}
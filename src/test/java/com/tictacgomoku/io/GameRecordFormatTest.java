@@ -0,0 +1,128 @@
+package com.tictacgomoku.io;
+
+import com.tictacgomoku.ai.MoveGenerator;
+import com.tictacgomoku.model.GameLogic;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 二进制对局记录格式的写入、读取和损坏检测
+ */
+class GameRecordFormatTest {
+    
+    @Test
+    void writeReadReplayRoundTrip() throws IOException {
+        Random random = new Random(16L);
+        List<GameLogic> games = new ArrayList<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+            for (int i = 0; i < 50; i++) {
+                GameLogic game = playRandomGame(random, i % 5 == 0 ? 30 : Integer.MAX_VALUE);
+                writer.write(game, "black" + i, "白方" + i);
+                games.add(game);
+            }
+            assertEquals(games.size(), writer.getGamesWritten());
+        }
+        
+        try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            GameLogic replayed = new GameLogic();
+            for (int i = 0; i < games.size(); i++) {
+                GameLogic original = games.get(i);
+                GameRecord record = reader.replayNext(replayed);
+                assertEquals("black" + i, record.getBlackName());
+                assertEquals("白方" + i, record.getWhiteName());
+                assertEquals(GameRecord.Outcome.of(original), record.getOutcome());
+                assertEquals(GameRecord.Outcome.of(original), GameRecord.Outcome.of(replayed));
+                assertEquals(original.getMoveHistorySize(), record.getMoveCount());
+                assertEquals(original.snapshot(), replayed.snapshot());
+            }
+            assertNull(reader.read());
+            assertEquals(games.size(), reader.getGamesRead());
+        }
+    }
+    
+    @Test
+    void flippedByteFailsChecksum() throws IOException {
+        byte[] data = writeGames(new Random(1L), 3);
+        int recordEnd = data.length - 4;  // 最后一局的校验值之前
+        for (int position = GameRecordFormat.HEADER_SIZE; position < recordEnd; position += 7) {
+            byte[] corrupted = data.clone();
+            corrupted[position] ^= 0x10;
+            assertThrows(IOException.class, () -> readAll(corrupted), "第" + position + "字节");
+        }
+    }
+    
+    @Test
+    void truncatedRecordThrows() throws IOException {
+        byte[] data = writeGames(new Random(2L), 2);
+        for (int cut : new int[] {1, 4, 5, 20}) {
+            byte[] truncated = Arrays.copyOf(data, data.length - cut);
+            assertThrows(IOException.class, () -> readAll(truncated), "截去" + cut + "字节");
+        }
+    }
+    
+    @Test
+    void rejectsWrongMagicOrBoardParameters() throws IOException {
+        byte[] data = writeGames(new Random(3L), 1);
+        for (int position : new int[] {0, 5, 6, 7}) {
+            byte[] header = data.clone();
+            header[position]++;
+            assertThrows(IOException.class, () -> new GameRecordReader(new ByteArrayInputStream(header)),
+                "文件头第" + position + "字节");
+        }
+    }
+    
+    @Test
+    void rejectsOverLongNames() {
+        char[] name = new char[GameRecordFormat.MAX_NAME_BYTES / 3];
+        Arrays.fill(name, '黑');  // 每个字符编码为3字节，恰好达到上限
+        String longest = new String(name);
+        new GameRecord(longest, longest, GameRecord.Outcome.UNFINISHED, new int[0]);
+        assertThrows(IllegalArgumentException.class,
+            () -> new GameRecord(longest + "a", "white", GameRecord.Outcome.UNFINISHED, new int[0]));
+        assertThrows(IllegalArgumentException.class,
+            () -> new GameRecord("black", longest + "\u0000", GameRecord.Outcome.UNFINISHED, new int[0]));
+    }
+    
+    private static GameLogic playRandomGame(Random random, int maxPlies) {
+        GameLogic game = new GameLogic();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int ply = 0; ply < maxPlies && !game.isGameOver(); ply++) {
+            int count = MoveGenerator.generate(game, moves);
+            if (count == 0) {
+                break;
+            }
+            MoveGenerator.apply(game, moves[random.nextInt(count)]);
+        }
+        return game;
+    }
+    
+    private static byte[] writeGames(Random random, int count) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(playRandomGame(random, Integer.MAX_VALUE), "black", "white");
+            }
+        }
+        return bytes.toByteArray();
+    }
+    
+    private static void readAll(byte[] data) throws IOException {
+        try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(data))) {
+            while (reader.read() != null) {
+                // 读到末尾或抛出异常
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.tictacgomoku.model;
+
+import com.tictacgomoku.ai.MoveGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 着法栈的撤销和重做
+ */
+class MoveStackTest {
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    
+    @Test
+    void undoingWholeGameRestoresEveryPly() {
+        Random random = new Random(8L);
+        for (int game = 0; game < 10; game++) {
+            GameLogic logic = new GameLogic();
+            List<GameSnapshot> snapshots = new ArrayList<>();
+            List<Long> keys = new ArrayList<>();
+            while (!logic.isGameOver()) {
+                int count = MoveGenerator.generate(logic, moves);
+                if (count == 0) {
+                    break;
+                }
+                snapshots.add(logic.snapshot());
+                keys.add(logic.getZobristKey());
+                assertTrue(MoveGenerator.apply(logic, moves[random.nextInt(count)]));
+            }
+            
+            for (int ply = snapshots.size() - 1; ply >= 0; ply--) {
+                assertTrue(logic.undoMove());
+                assertEquals(ply, logic.getMoveHistorySize());
+                assertEquals((long) keys.get(ply), logic.getZobristKey(), "第" + ply + "步的哈希");
+                assertEquals(snapshots.get(ply), logic.snapshot(), "第" + ply + "步的局面");
+            }
+            assertFalse(logic.undoMove());
+            assertEquals(new GameLogic().snapshot(), logic.snapshot());
+        }
+    }
+    
+    @Test
+    void redoReplaysUndoneMovesInOrder() {
+        GameLogic logic = playRandomMoves(new Random(1L), 30);
+        GameSnapshot end = logic.snapshot();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(logic.undoMove());
+        }
+        assertEquals(10, logic.getRedoCount());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(logic.redoMove());
+        }
+        assertFalse(logic.redoMove());
+        assertEquals(end, logic.snapshot());
+    }
+    
+    @Test
+    void differentMoveInvalidatesRedo() {
+        GameLogic logic = playRandomMoves(new Random(2L), 20);
+        int nextRedo = logic.getHistoryMove(logic.getMoveHistorySize() - 2);
+        assertTrue(logic.undoMove());
+        assertTrue(logic.undoMove());
+        assertEquals(2, logic.getRedoCount());
+        
+        int count = MoveGenerator.generate(logic, moves);
+        int other = -1;
+        for (int i = 0; i < count && other < 0; i++) {
+            if (moves[i] != nextRedo) {
+                other = moves[i];
+            }
+        }
+        assertTrue(other >= 0, "需要至少两个合法着法");
+        assertTrue(MoveGenerator.apply(logic, other));
+        assertEquals(0, logic.getRedoCount());
+        assertFalse(logic.redoMove());
+        assertNotEquals(nextRedo, logic.getHistoryMove(logic.getMoveHistorySize() - 1));
+    }
+    
+    @Test
+    void replayingTheUndoneMoveKeepsRedo() {
+        GameLogic logic = playRandomMoves(new Random(3L), 20);
+        int first = logic.getHistoryMove(logic.getMoveHistorySize() - 2);
+        assertTrue(logic.undoMove());
+        assertTrue(logic.undoMove());
+        assertTrue(MoveGenerator.apply(logic, first));
+        assertEquals(1, logic.getRedoCount());
+        assertTrue(logic.redoMove());
+    }
+    
+    @Test
+    void undoAfterManualSelectionRestoresFreeChoice() {
+        GameLogic logic = new GameLogic();
+        assertTrue(logic.getGameState().canChooseFreely());
+        long key = logic.getZobristKey();
+        GameSnapshot before = logic.snapshot();
+        
+        assertTrue(logic.selectGomokuPosition(Position.of(3, 3)));
+        assertFalse(logic.getGameState().canChooseFreely());
+        assertTrue(logic.makeMove(Position.of(3, 3), Position.of(1, 1)));
+        assertTrue(logic.undoMove());
+        
+        assertTrue(logic.getGameState().canChooseFreely());
+        assertNull(logic.getGameState().getActiveGomokuPosition());
+        assertEquals(key, logic.getZobristKey());
+        assertEquals(logic.computeZobristKey(), logic.getZobristKey());
+        assertEquals(before, logic.snapshot());
+        
+        // 重做之后再撤销也应回到自由选择
+        assertTrue(logic.redoMove());
+        assertTrue(logic.undoMove());
+        assertTrue(logic.getGameState().canChooseFreely());
+        assertEquals(key, logic.getZobristKey());
+    }
+    
+    private GameLogic playRandomMoves(Random random, int plies) {
+        GameLogic logic = new GameLogic();
+        for (int ply = 0; ply < plies; ply++) {
+            int count = MoveGenerator.generate(logic, moves);
+            assertTrue(count > 0);
+            assertTrue(MoveGenerator.apply(logic, moves[random.nextInt(count)]));
+        }
+        return logic;
+    }
+}
@@ -0,0 +1,95 @@
+package com.tictacgomoku.model;
+
+import com.tictacgomoku.ai.MoveGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对称变换的不变量：规范化的开局库依赖这些性质把库中的着法正确地变换回当前局面
+ */
+class SymmetryTest {
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private final int[] transformedMoves = new int[MoveGenerator.MAX_MOVES];
+    private final long[] keys = new long[Symmetry.COUNT];
+    
+    @Test
+    void transformedPositionsMatchKeysMovesAndHistory() {
+        Random random = new Random(22L);
+        for (int game = 0; game < 30; game++) {
+            GameLogic logic = new GameLogic();
+            int plies = 1 + random.nextInt(120);
+            for (int ply = 0; ply < plies && !logic.isGameOver(); ply++) {
+                int count = MoveGenerator.generate(logic, moves);
+                if (count == 0) {
+                    break;
+                }
+                assertTrue(MoveGenerator.apply(logic, moves[random.nextInt(count)]));
+            }
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                checkTransform(logic, t);
+            }
+        }
+    }
+    
+    @Test
+    void canonicalKeyIsSharedBySymmetricPositions() {
+        Random random = new Random(23L);
+        GameLogic logic = new GameLogic();
+        for (int ply = 0; ply < 40; ply++) {
+            int count = MoveGenerator.generate(logic, moves);
+            assertTrue(MoveGenerator.apply(logic, moves[random.nextInt(count)]));
+        }
+        long canonical = Symmetry.canonicalKey(logic);
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            GameLogic transformed = new GameLogic();
+            transformed.restore(Symmetry.transform(logic.snapshot(), t));
+            assertEquals(canonical, Symmetry.canonicalKey(transformed), "变换" + t);
+            
+            // 在规范局面中的着法变换回来之后必须与原着法一致
+            int count = MoveGenerator.generate(transformed, moves);
+            for (int i = 0; i < count; i++) {
+                int canonicalMove = Symmetry.canonicalMove(transformed, moves[i]);
+                assertEquals(moves[i], Symmetry.fromCanonicalMove(transformed, canonicalMove));
+            }
+        }
+    }
+    
+    /**
+     * 检查一个变换：哈希、合法着法、以及撤销整个着法栈的每一步都与原局面对应
+     */
+    private void checkTransform(GameLogic logic, int t) {
+        GameLogic original = logic.copy();
+        GameLogic transformed = new GameLogic();
+        transformed.restore(Symmetry.transform(original.snapshot(), t));
+        
+        while (true) {
+            Symmetry.zobristKeys(original, keys);
+            assertEquals(original.getZobristKey(), keys[0]);
+            assertEquals(keys[t], transformed.getZobristKey(), "变换" + t + "的哈希");
+            assertEquals(transformed.computeZobristKey(), transformed.getZobristKey());
+            
+            int count = MoveGenerator.generate(original, moves);
+            assertEquals(count, MoveGenerator.generate(transformed, transformedMoves), "变换" + t + "的着法数");
+            for (int i = 0; i < count; i++) {
+                moves[i] = Symmetry.transformMove(t, moves[i]);
+            }
+            Arrays.sort(moves, 0, count);
+            Arrays.sort(transformedMoves, 0, count);
+            assertArrayEquals(Arrays.copyOf(moves, count), Arrays.copyOf(transformedMoves, count), "变换" + t + "的着法");
+            
+            boolean undone = original.undoMove();
+            assertEquals(undone, transformed.undoMove());
+            if (!undone) {
+                break;
+            }
+        }
+        assertEquals(new GameLogic().snapshot(), transformed.snapshot());
+        assertEquals(new GameLogic().getZobristKey(), transformed.getZobristKey());
+    }
+}
@@ -0,0 +1,107 @@
+package com.tictacgomoku.model;
+
+import com.tictacgomoku.ai.MoveGenerator;
+import com.tictacgomoku.util.GameConstants;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 增量维护的五格窗口计数与逐窗口重新扫描的结果一致（BoardEvaluator.evaluateMacro只依赖这些计数）
+ */
+class WindowCountTest {
+    private static final int SIZE = GameConstants.GOMOKU_BOARD_SIZE;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private int positionsWithDrawnBoards;
+    
+    @Test
+    void incrementalCountsMatchFullRescan() {
+        Random random = new Random(25L);
+        for (int game = 0; game < 20; game++) {
+            GameLogic logic = new GameLogic();
+            assertCountsMatch(logic.getGomokuBoard());
+            while (!logic.isGameOver()) {
+                int count = MoveGenerator.generate(logic, moves);
+                if (count == 0) {
+                    break;
+                }
+                assertTrue(MoveGenerator.apply(logic, moves[random.nextInt(count)]));
+                assertCountsMatch(logic.getGomokuBoard());
+                
+                if (random.nextInt(5) == 0) {
+                    int steps = 1 + random.nextInt(Math.min(4, logic.getMoveHistorySize()));
+                    for (int i = 0; i < steps; i++) {
+                        assertTrue(logic.undoMove());
+                        assertCountsMatch(logic.getGomokuBoard());
+                    }
+                    for (int i = 0; i < steps; i++) {
+                        assertTrue(logic.redoMove());
+                    }
+                }
+            }
+            assertCountsMatch(logic.copy().getGomokuBoard());
+            GameLogic restored = new GameLogic();
+            restored.restore(logic.snapshot());
+            assertCountsMatch(restored.getGomokuBoard());
+            while (logic.undoMove()) {
+                assertCountsMatch(logic.getGomokuBoard());
+            }
+        }
+        assertTrue(positionsWithDrawnBoards > 0, "应覆盖含平局井字棋的局面");
+    }
+    
+    /**
+     * 逐个扫描全部五格窗口，统计只含一方棋子且不含平局井字棋的窗口，与增量计数比较
+     */
+    private void assertCountsMatch(GomokuBoard board) {
+        int[][] expected = new int[2][GameConstants.WIN_CONDITION + 1];
+        boolean anyDrawn = false;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                anyDrawn |= isDrawn(board, Position.of(row, col));
+                for (int[] direction : DIRECTIONS) {
+                    int endRow = row + (GameConstants.WIN_CONDITION - 1) * direction[0];
+                    int endCol = col + (GameConstants.WIN_CONDITION - 1) * direction[1];
+                    if (endRow >= SIZE || endCol < 0 || endCol >= SIZE) {
+                        continue;
+                    }
+                    int black = 0;
+                    int white = 0;
+                    boolean drawn = false;
+                    for (int k = 0; k < GameConstants.WIN_CONDITION; k++) {
+                        Position pos = Position.of(row + k * direction[0], col + k * direction[1]);
+                        Player stone = board.getStone(pos);
+                        if (stone == Player.BLACK) {
+                            black++;
+                        } else if (stone == Player.WHITE) {
+                            white++;
+                        } else {
+                            drawn |= isDrawn(board, pos);
+                        }
+                    }
+                    if (!drawn && black > 0 && white == 0) {
+                        expected[0][black]++;
+                    } else if (!drawn && white > 0 && black == 0) {
+                        expected[1][white]++;
+                    }
+                }
+            }
+        }
+        if (anyDrawn) {
+            positionsWithDrawnBoards++;
+        }
+        for (int stones = 1; stones <= GameConstants.WIN_CONDITION; stones++) {
+            assertEquals(expected[0][stones], board.getOpenWindowCount(Player.BLACK, stones), "黑方" + stones + "子窗口");
+            assertEquals(expected[1][stones], board.getOpenWindowCount(Player.WHITE, stones), "白方" + stones + "子窗口");
+        }
+    }
+    
+    private static boolean isDrawn(GomokuBoard board, Position pos) {
+        return board.getStone(pos) == null && board.getTicTacToeBoard(pos).isDraw();
+    }
+}
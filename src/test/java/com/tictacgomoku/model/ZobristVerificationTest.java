@@ -0,0 +1,68 @@
+package com.tictacgomoku.model;
+
+import com.tictacgomoku.ai.MoveGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 在Zobrist校验模式下下随机对局，检查每次下棋、撤销、重做之后增量哈希都与重算结果一致
+ */
+class ZobristVerificationTest {
+    private boolean previous;
+    
+    @BeforeEach
+    void enableVerification() {
+        previous = GameLogic.isZobristVerification();
+        GameLogic.setZobristVerification(true);
+    }
+    
+    @AfterEach
+    void restoreVerification() {
+        GameLogic.setZobristVerification(previous);
+    }
+    
+    @Test
+    void incrementalKeyMatchesRecomputedKeyThroughRandomGames() {
+        Random random = new Random(20261017L);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int game = 0; game < 20; game++) {
+            GameLogic logic = new GameLogic();
+            assertKeyConsistent(logic);
+            while (!logic.isGameOver()) {
+                int count = MoveGenerator.generate(logic, moves);
+                if (count == 0) {
+                    break;
+                }
+                assertTrue(MoveGenerator.apply(logic, moves[random.nextInt(count)]));
+                assertKeyConsistent(logic);
+                
+                if (random.nextInt(4) == 0) {
+                    int steps = 1 + random.nextInt(Math.min(3, logic.getMoveHistorySize()));
+                    for (int i = 0; i < steps; i++) {
+                        assertTrue(logic.undoMove());
+                        assertKeyConsistent(logic);
+                    }
+                    for (int i = 0; i < steps; i++) {
+                        assertTrue(logic.redoMove());
+                        assertKeyConsistent(logic);
+                    }
+                }
+            }
+            while (logic.undoMove()) {
+                assertKeyConsistent(logic);
+            }
+            assertEquals(new GameLogic().getZobristKey(), logic.getZobristKey());
+        }
+    }
+    
+    private static void assertKeyConsistent(GameLogic logic) {
+        assertEquals(logic.computeZobristKey(), logic.getZobristKey());
+        logic.verifyZobristKey();
+    }
+}